@@ -0,0 +1,93 @@
+package com.boostclient.config;
+
+import com.boostclient.domain.Employee;
+import com.boostclient.domain.Employer;
+import com.boostclient.domain.Quote;
+import com.boostclient.service.dto.EmployeeSummaryDTO;
+import com.boostclient.service.dto.QuoteSummaryDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Benchmarks of the serialization of quote and employee lists, with the modules of {@link JacksonConfiguration}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonBenchmark {
+
+    /**
+     * 20 is the default page size of the REST API.
+     */
+    @Param({ "20", "1000" })
+    public int size;
+
+    private ObjectMapper objectMapper;
+
+    private List<Quote> quotes;
+
+    private List<QuoteSummaryDTO> quoteSummaries;
+
+    private List<Employee> employees;
+
+    private List<EmployeeSummaryDTO> employeeSummaries;
+
+    @Setup
+    public void setup() {
+        JacksonConfiguration jacksonConfiguration = new JacksonConfiguration();
+        objectMapper =
+            Jackson2ObjectMapperBuilder
+                .json()
+                .modules(
+                    jacksonConfiguration.javaTimeModule(),
+                    jacksonConfiguration.jdk8TimeModule(),
+                    jacksonConfiguration.hibernate5Module(),
+                    jacksonConfiguration.problemModule(),
+                    jacksonConfiguration.constraintViolationProblemModule()
+                )
+                .build();
+
+        quotes = new ArrayList<>(size);
+        quoteSummaries = new ArrayList<>(size);
+        employees = new ArrayList<>(size);
+        employeeSummaries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            long id = i + 1L;
+            Employer employer = new Employer().id(id % 50 + 1).name("Employer " + (id % 50 + 1));
+            LocalDate date = LocalDate.ofEpochDay(18000 + i);
+            quotes.add(new Quote().id(id).name("Quote " + id).quoteDate(date).employer(employer));
+            quoteSummaries.add(new QuoteSummaryDTO(id, "Quote " + id, date, employer.getId(), employer.getName()));
+            employees.add(new Employee().id(id).name("Employee " + id).dateOfBirth(date.minusYears(30)).employer(employer));
+            employeeSummaries.add(new EmployeeSummaryDTO(id, "Employee " + id, date.minusYears(30), employer.getId(), employer.getName()));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeQuotes() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(quotes);
+    }
+
+    @Benchmark
+    public byte[] serializeQuoteSummaries() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(quoteSummaries);
+    }
+
+    @Benchmark
+    public byte[] serializeEmployees() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public byte[] serializeEmployeeSummaries() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(employeeSummaries);
+    }
+}
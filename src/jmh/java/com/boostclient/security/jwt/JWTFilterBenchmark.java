@@ -0,0 +1,43 @@
+package com.boostclient.security.jwt;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Benchmark of the extraction of the token from the {@code Authorization} header.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JWTFilterBenchmark {
+
+    private JWTFilter jwtFilter;
+
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setup() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties
+            .getSecurity()
+            .getAuthentication()
+            .getJwt()
+            .setBase64Secret("fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8");
+        jwtFilter = new JWTFilter(new TokenProvider(jHipsterProperties));
+        request = new MockHttpServletRequest();
+        request.addHeader(
+            JWTFilter.AUTHORIZATION_HEADER,
+            "Bearer eyJhbGciOiJIUzUxMiJ9.eyJzdWIiOiJ1c2VyIiwiYXV0aCI6IlJPTEVfVVNFUiIsImV4cCI6NDEwMjQ0NDgwMH0.signature"
+        );
+    }
+
+    @Benchmark
+    public String resolveToken() {
+        return jwtFilter.resolveToken(request);
+    }
+}
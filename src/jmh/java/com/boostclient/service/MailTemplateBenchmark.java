@@ -0,0 +1,112 @@
+package com.boostclient.service;
+
+import com.boostclient.domain.User;
+import com.boostclient.service.MailTemplateRenderer.RenderedMail;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafProperties;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Benchmark of the rendering of the mail templates, in templates per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MailTemplateBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Param({ "mail/activationEmail", "mail/creationEmail", "mail/passwordResetEmail" })
+    public String templateName;
+
+    private JHipsterProperties jHipsterProperties;
+
+    private ResourceBundleMessageSource messageSource;
+
+    private SpringTemplateEngine templateEngine;
+
+    private MailTemplateRenderer renderer;
+
+    private List<User> users;
+
+    private int next;
+
+    @Setup
+    public void setup() {
+        jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getMail().setBaseUrl("http://127.0.0.1:8080");
+
+        messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("i18n/messages");
+        messageSource.setDefaultEncoding(StandardCharsets.UTF_8.name());
+
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        templateResolver.setCacheable(true);
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        templateEngine.setTemplateEngineMessageSource(messageSource);
+
+        renderer = new MailTemplateRenderer(jHipsterProperties, messageSource, templateEngine, new ThymeleafProperties());
+        renderer.parseTemplates();
+
+        users = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            User user = new User();
+            user.setLogin("user" + i);
+            user.setFirstName("First" + i);
+            user.setLastName("Last" + i);
+            user.setEmail("user" + i + "@localhost");
+            user.setLangKey("en");
+            user.setActivationKey("activation" + i);
+            user.setResetKey("reset" + i);
+            users.add(user);
+        }
+    }
+
+    /**
+     * One mail, the way {@code MailService} rendered them before {@link MailTemplateRenderer}.
+     */
+    @Benchmark
+    public String renderWithoutRenderer() {
+        User user = nextUser();
+        Locale locale = Locale.forLanguageTag(user.getLangKey());
+        Context context = new Context(locale);
+        context.setVariable(MailTemplateRenderer.USER, user);
+        context.setVariable(MailTemplateRenderer.BASE_URL, jHipsterProperties.getMail().getBaseUrl());
+        String content = templateEngine.process(templateName, context);
+        return messageSource.getMessage("email.activation.title", null, locale) + content;
+    }
+
+    @Benchmark
+    public RenderedMail render() {
+        return renderer.render(nextUser(), templateName, "email.activation.title");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<RenderedMail> renderAll() {
+        return renderer.renderAll(users, templateName, "email.activation.title");
+    }
+
+    private User nextUser() {
+        next = (next + 1) % BATCH_SIZE;
+        return users.get(next);
+    }
+}
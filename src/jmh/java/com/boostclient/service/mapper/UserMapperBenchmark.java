@@ -0,0 +1,58 @@
+package com.boostclient.service.mapper;
+
+import com.boostclient.domain.Authority;
+import com.boostclient.domain.User;
+import com.boostclient.security.AuthoritiesConstants;
+import com.boostclient.service.dto.UserDTO;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmark of the mapping of user pages to DTOs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserMapperBenchmark {
+
+    @Param({ "20", "1000" })
+    public int size;
+
+    private UserMapper userMapper;
+
+    private List<User> users;
+
+    @Setup
+    public void setup() {
+        userMapper = new UserMapper();
+        Authority user = new Authority();
+        user.setName(AuthoritiesConstants.USER);
+        Authority admin = new Authority();
+        admin.setName(AuthoritiesConstants.ADMIN);
+
+        users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            User u = new User();
+            u.setId((long) i);
+            u.setLogin("user" + i);
+            u.setFirstName("First" + i);
+            u.setLastName("Last" + i);
+            u.setEmail("user" + i + "@localhost");
+            u.setActivated(true);
+            u.setLangKey("en");
+            u.setAuthorities(i % 10 == 0 ? Set.of(user, admin) : Set.of(user));
+            users.add(u);
+        }
+    }
+
+    @Benchmark
+    public List<UserDTO> usersToUserDTOs() {
+        return userMapper.usersToUserDTOs(users);
+    }
+}
@@ -0,0 +1,86 @@
+package com.boostclient.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency percentiles and throughput measured on one endpoint.
+ */
+public class EndpointReport {
+
+    private final String endpoint;
+
+    private final long requests;
+
+    private final long errors;
+
+    private final double requestsPerSecond;
+
+    private final double p50Millis;
+
+    private final double p90Millis;
+
+    private final double p99Millis;
+
+    private final double maxMillis;
+
+    EndpointReport(String endpoint, long[] latenciesNanos, long errors, long elapsedNanos) {
+        long[] sorted = latenciesNanos.clone();
+        Arrays.sort(sorted);
+        this.endpoint = endpoint;
+        this.requests = sorted.length;
+        this.errors = errors;
+        this.requestsPerSecond = elapsedNanos == 0 ? 0 : sorted.length * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        this.p50Millis = toMillis(percentile(sorted, 0.50));
+        this.p90Millis = toMillis(percentile(sorted, 0.90));
+        this.p99Millis = toMillis(percentile(sorted, 0.99));
+        this.maxMillis = toMillis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]);
+    }
+
+    /**
+     * Nearest-rank percentile of sorted values.
+     */
+    static long percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(fraction * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000d;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public double getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    public double getP50Millis() {
+        return p50Millis;
+    }
+
+    public double getP90Millis() {
+        return p90Millis;
+    }
+
+    public double getP99Millis() {
+        return p99Millis;
+    }
+
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+}
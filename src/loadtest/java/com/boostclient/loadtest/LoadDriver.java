@@ -0,0 +1,117 @@
+package com.boostclient.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Closed-loop load driver: each thread sends a request, waits for the whole response, and sends the next one.
+ * <p>
+ * Requests sent during the warmup are not recorded. A request fails when it gets a status outside of 2xx or no
+ * response at all; failed requests are counted but their latencies are not recorded.
+ */
+public class LoadDriver {
+
+    private final HttpClient httpClient;
+
+    private final int threads;
+
+    private final Duration warmup;
+
+    private final Duration duration;
+
+    public LoadDriver(HttpClient httpClient, int threads, Duration warmup, Duration duration) {
+        this.httpClient = httpClient;
+        this.threads = threads;
+        this.warmup = warmup;
+        this.duration = duration;
+    }
+
+    /**
+     * Drive one endpoint.
+     *
+     * @param endpoint the name of the endpoint in the report.
+     * @param requests the requests to send, called by each thread before each request.
+     * @return the measures.
+     * @throws InterruptedException if interrupted while waiting for the threads.
+     */
+    public EndpointReport run(String endpoint, Supplier<HttpRequest> requests) throws InterruptedException {
+        long measureStart = System.nanoTime() + warmup.toNanos();
+        long measureEnd = measureStart + duration.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Worker>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> new Worker().run(requests, measureStart, measureEnd)));
+            }
+            long[] latencies = new long[0];
+            long errors = 0;
+            for (Future<Worker> future : futures) {
+                Worker worker = future.get();
+                int offset = latencies.length;
+                latencies = Arrays.copyOf(latencies, offset + worker.count);
+                System.arraycopy(worker.latencies, 0, latencies, offset, worker.count);
+                errors += worker.errors;
+            }
+            return new EndpointReport(endpoint, latencies, errors, measureEnd - measureStart);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Load driver thread failed on " + endpoint, e.getCause());
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    private final class Worker {
+
+        private long[] latencies = new long[1024];
+
+        private int count;
+
+        private long errors;
+
+        private Worker run(Supplier<HttpRequest> requests, long measureStart, long measureEnd) {
+            long now;
+            while ((now = System.nanoTime()) < measureEnd) {
+                HttpRequest request = requests.get();
+                boolean ok;
+                try {
+                    HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                    ok = response.statusCode() / 100 == 2;
+                } catch (IOException e) {
+                    ok = false;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                long latency = System.nanoTime() - now;
+                if (now >= measureStart) {
+                    if (ok) {
+                        record(latency);
+                    } else {
+                        errors++;
+                    }
+                }
+            }
+            return this;
+        }
+
+        private void record(long latency) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.boostclient.loadtest;
+
+import com.boostclient.BoostclientApp;
+import com.boostclient.config.Constants;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Runs the load test of the REST API and reports the latency percentiles and throughput of each endpoint.
+ * <p>
+ * Unless {@code loadtest.base-url} is set, the application is started in this JVM with the {@code loadtest} profile,
+ * on an in-memory database seeded by {@code LoadTestDataGenerator}. The endpoints are then driven one after the other:
+ * <ul>
+ *     <li>{@code quotes}: {@code GET /api/quotes} on random pages;</li>
+ *     <li>{@code employees}: {@code GET /api/employees} on random pages;</li>
+ *     <li>{@code search}: {@code GET /api/_search/employees} with random name prefixes;</li>
+ *     <li>{@code authenticate}: {@code POST /api/authenticate}.</li>
+ * </ul>
+ * Settings are read from system properties:
+ * <ul>
+ *     <li>{@code loadtest.base-url}: the URL of an already running application;</li>
+ *     <li>{@code loadtest.endpoints}: comma-separated endpoints to drive, all by default;</li>
+ *     <li>{@code loadtest.threads}: number of concurrent clients, 16 by default;</li>
+ *     <li>{@code loadtest.warmup} and {@code loadtest.duration}: seconds of warmup and of measure for each endpoint,
+ *     10 and 30 by default;</li>
+ *     <li>{@code loadtest.page-size}: size of the requested pages, 20 by default;</li>
+ *     <li>{@code loadtest.username} and {@code loadtest.password}: the account used, {@code user} by default;</li>
+ *     <li>{@code loadtest.report}: where the JSON report is written, {@code target/loadtest-report.json} by default;</li>
+ *     <li>{@code loadtest.max-p99-ms}: when set, the run fails if the p99 latency of an endpoint exceeds it.</li>
+ * </ul>
+ * The run fails, with exit status 1, when a request failed or a p99 latency exceeded its limit.
+ */
+public final class LoadTestRunner {
+
+    private static final List<String> ENDPOINTS = List.of("quotes", "employees", "search", "authenticate");
+
+    /**
+     * Random pages are picked among the first ones, as deep offsets are not what the UI requests.
+     */
+    private static final int MAX_PAGE = 500;
+
+    /**
+     * Searched words: prefixes and full words of the employee names written by {@code LoadTestDataGenerator}.
+     */
+    private static final List<String> SEARCH_QUERIES = List.of(
+        "al",
+        "bob",
+        "carol martin",
+        "d",
+        "emma sm",
+        "gr",
+        "hugo rossi",
+        "jun",
+        "ka ta",
+        "liam",
+        "ok",
+        "pablo si"
+    );
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+    private final String baseUrl;
+
+    private final int pageSize = Integer.getInteger("loadtest.page-size", 20);
+
+    private final String username = System.getProperty("loadtest.username", "user");
+
+    private final String password = System.getProperty("loadtest.password", "user");
+
+    private LoadTestRunner(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("loadtest.base-url", "");
+        ConfigurableApplicationContext context = null;
+        if (baseUrl.isEmpty()) {
+            context = startApplication();
+            baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        }
+        boolean passed;
+        try {
+            passed = new LoadTestRunner(baseUrl).run();
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static ConfigurableApplicationContext startApplication() {
+        SpringApplication app = new SpringApplication(BoostclientApp.class);
+        return app.run("--spring.profiles.active=" + Constants.SPRING_PROFILE_LOADTEST, "--server.port=0");
+    }
+
+    private boolean run() throws IOException, InterruptedException {
+        LoadDriver driver = new LoadDriver(
+            httpClient,
+            Integer.getInteger("loadtest.threads", 16),
+            Duration.ofSeconds(Long.getLong("loadtest.warmup", 10)),
+            Duration.ofSeconds(Long.getLong("loadtest.duration", 30))
+        );
+        String token = authenticate();
+        Map<String, Supplier<HttpRequest>> scenarios = new LinkedHashMap<>();
+        scenarios.put("quotes", pages("/api/quotes", token));
+        scenarios.put("employees", pages("/api/employees", token));
+        scenarios.put("search", () -> searchRequest("/api/_search/employees", token));
+        scenarios.put("authenticate", this::authenticateRequest);
+
+        String selected = System.getProperty("loadtest.endpoints", "");
+        List<String> endpoints = selected.isBlank() ? ENDPOINTS : Arrays.asList(selected.split("\\s*,\\s*"));
+        List<EndpointReport> reports = new ArrayList<>();
+        for (String endpoint : endpoints) {
+            Supplier<HttpRequest> scenario = scenarios.get(endpoint);
+            if (scenario == null) {
+                throw new IllegalArgumentException("Unknown endpoint " + endpoint + ", expected one of " + ENDPOINTS);
+            }
+            System.out.println("Driving " + endpoint + " on " + baseUrl);
+            reports.add(driver.run(endpoint, scenario));
+        }
+        return report(reports);
+    }
+
+    private boolean report(List<EndpointReport> reports) throws IOException {
+        double maxP99 = Double.parseDouble(System.getProperty("loadtest.max-p99-ms", "0"));
+        boolean passed = true;
+        StringBuilder table = new StringBuilder(
+            String.format("%n%-14s %10s %8s %10s %10s %10s %10s %10s%n", "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p90 ms", "p99 ms", "max ms")
+        );
+        for (EndpointReport report : reports) {
+            table.append(
+                String.format(
+                    "%-14s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                    report.getEndpoint(),
+                    report.getRequests(),
+                    report.getErrors(),
+                    report.getRequestsPerSecond(),
+                    report.getP50Millis(),
+                    report.getP90Millis(),
+                    report.getP99Millis(),
+                    report.getMaxMillis()
+                )
+            );
+            if (report.getErrors() > 0 || report.getRequests() == 0) {
+                table.append(String.format("  FAILED: %s had %d failed requests%n", report.getEndpoint(), report.getErrors()));
+                passed = false;
+            }
+            if (maxP99 > 0 && report.getP99Millis() > maxP99) {
+                table.append(String.format("  FAILED: %s p99 is above %.2f ms%n", report.getEndpoint(), maxP99));
+                passed = false;
+            }
+        }
+        System.out.println(table);
+
+        Path file = Paths.get(System.getProperty("loadtest.report", "target/loadtest-report.json"));
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        objectMapper.writeValue(file.toFile(), reports);
+        System.out.println("Load test report written to " + file.toAbsolutePath());
+        return passed;
+    }
+
+    private String authenticate() throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(authenticateRequest(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Could not authenticate " + username + ": HTTP " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body()).path("id_token").asText();
+    }
+
+    private HttpRequest authenticateRequest() {
+        JsonNode credentials = objectMapper
+            .createObjectNode()
+            .put("username", username)
+            .put("password", password)
+            .put("rememberMe", false);
+        return HttpRequest
+            .newBuilder(URI.create(baseUrl + "/api/authenticate"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(credentials.toString()))
+            .build();
+    }
+
+    /**
+     * Requests of random pages of a list, among the pages that exist.
+     */
+    private Supplier<HttpRequest> pages(String path, String token) throws IOException, InterruptedException {
+        HttpResponse<Void> first = httpClient.send(pageRequest(path, 0, token), HttpResponse.BodyHandlers.discarding());
+        long total = first.headers().firstValueAsLong("X-Total-Count").orElse(0);
+        int pages = (int) Math.max(1, Math.min(MAX_PAGE, (total + pageSize - 1) / pageSize));
+        return () -> pageRequest(path, ThreadLocalRandom.current().nextInt(pages), token);
+    }
+
+    private HttpRequest pageRequest(String path, int page, String token) {
+        return getRequest(path + "?page=" + page + "&size=" + pageSize + "&sort=id,asc", token);
+    }
+
+    private HttpRequest searchRequest(String path, String token) {
+        String query = SEARCH_QUERIES.get(ThreadLocalRandom.current().nextInt(SEARCH_QUERIES.size()));
+        return getRequest(path + "?q=" + URLEncoder.encode(query, StandardCharsets.UTF_8) + "&size=" + pageSize, token);
+    }
+
+    private HttpRequest getRequest(String pathAndQuery, String token) {
+        return HttpRequest
+            .newBuilder(URI.create(baseUrl + pathAndQuery))
+            .header("Authorization", "Bearer " + token)
+            .header("Accept", "application/json")
+            .GET()
+            .build();
+    }
+}
@@ -1,5 +1,10 @@
 package com.boostclient.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -9,4 +14,610 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final Export export = new Export();
+
+    private final Batch batch = new Batch();
+
+    private final EmployeeImport employeeImport = new EmployeeImport();
+
+    private final Cache cache = new Cache();
+
+    private final LoadTest loadTest = new LoadTest();
+
+    private final Mail mail = new Mail();
+
+    private final UserPurge userPurge = new UserPurge();
+
+    private final Jobs jobs = new Jobs();
+
+    private final Audit audit = new Audit();
+
+    private final EmployerSuggestions employerSuggestions = new EmployerSuggestions();
+
+    private final Datasource datasource = new Datasource();
+
+    private final Search search = new Search();
+
+    public Export getExport() {
+        return export;
+    }
+
+    public Batch getBatch() {
+        return batch;
+    }
+
+    public EmployeeImport getEmployeeImport() {
+        return employeeImport;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public LoadTest getLoadTest() {
+        return loadTest;
+    }
+
+    public Mail getMail() {
+        return mail;
+    }
+
+    public UserPurge getUserPurge() {
+        return userPurge;
+    }
+
+    public Jobs getJobs() {
+        return jobs;
+    }
+
+    public Audit getAudit() {
+        return audit;
+    }
+
+    public EmployerSuggestions getEmployerSuggestions() {
+        return employerSuggestions;
+    }
+
+    public Datasource getDatasource() {
+        return datasource;
+    }
+
+    public Search getSearch() {
+        return search;
+    }
+
+    public static class Export {
+
+        /**
+         * JDBC fetch size used while streaming exports. MySQL Connector/J only streams rows with
+         * {@code Integer.MIN_VALUE}, or with a positive value when {@code useCursorFetch=true} is set on the URL.
+         */
+        private int fetchSize = 1000;
+
+        public int getFetchSize() {
+            return fetchSize;
+        }
+
+        public void setFetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+        }
+    }
+
+    public static class Batch {
+
+        /**
+         * Number of rows sent to the database in one JDBC batch.
+         */
+        private int size = 500;
+
+        /**
+         * Maximum number of items accepted by one batch request.
+         */
+        private int maxItems = 10000;
+
+        public int getSize() {
+            return size;
+        }
+
+        public void setSize(int size) {
+            this.size = size;
+        }
+
+        public int getMaxItems() {
+            return maxItems;
+        }
+
+        public void setMaxItems(int maxItems) {
+            this.maxItems = maxItems;
+        }
+    }
+
+    public static class EmployeeImport {
+
+        /**
+         * Number of roster lines committed in one transaction.
+         */
+        private int chunkSize = 1000;
+
+        /**
+         * Number of imports run at once by an instance, and number of imports waiting for a thread. Imports that do
+         * not fit stay pending until the next poll.
+         */
+        private int concurrency = 2;
+
+        /**
+         * How long a running import may go without committing a chunk before another run can claim it. It must exceed
+         * the time needed to commit a chunk.
+         */
+        private Duration heartbeatTimeout = Duration.ofMinutes(5);
+
+        /**
+         * Delay between two polls for the pending imports and the stalled ones.
+         */
+        private Duration pollInterval = Duration.ofMinutes(1);
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        public Duration getHeartbeatTimeout() {
+            return heartbeatTimeout;
+        }
+
+        public void setHeartbeatTimeout(Duration heartbeatTimeout) {
+            this.heartbeatTimeout = heartbeatTimeout;
+        }
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Where the disk tiers of the regions are stored.
+         */
+        private String diskDirectory = System.getProperty("java.io.tmpdir") + "/boostclient/cache";
+
+        /**
+         * Settings of the cache regions, by region name. Region names containing dots must be written in brackets,
+         * such as {@code '[com.boostclient.domain.Quote]'}. Regions without settings use {@code jhipster.cache.ehcache}.
+         */
+        private final Map<String, Region> regions = new HashMap<>();
+
+        public String getDiskDirectory() {
+            return diskDirectory;
+        }
+
+        public void setDiskDirectory(String diskDirectory) {
+            this.diskDirectory = diskDirectory;
+        }
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public static class Region {
+
+            /**
+             * Number of entries kept on the heap, {@code jhipster.cache.ehcache.max-entries} when not set.
+             */
+            private Long heapEntries;
+
+            /**
+             * Size of the off-heap tier in megabytes, none when 0. It must be larger than the heap tier.
+             */
+            private long offHeapMb = 0;
+
+            /**
+             * Size of the disk tier in megabytes, none when 0. It must be larger than the off-heap tier.
+             */
+            private long diskMb = 0;
+
+            /**
+             * Whether the disk tier is kept across restarts. Entity regions should not be, as the database may change
+             * while the application is stopped.
+             */
+            private boolean diskPersistent = false;
+
+            /**
+             * Time to live of the entries, {@code jhipster.cache.ehcache.time-to-live-seconds} when not set.
+             * With 0 the entries never expire.
+             */
+            private Long timeToLiveSeconds;
+
+            /**
+             * Time to idle of the entries: each read extends the entry by this duration. Ehcache applies a single
+             * expiry per region, so it replaces the time to live when set.
+             */
+            private Long timeToIdleSeconds;
+
+            public Long getHeapEntries() {
+                return heapEntries;
+            }
+
+            public void setHeapEntries(Long heapEntries) {
+                this.heapEntries = heapEntries;
+            }
+
+            public long getOffHeapMb() {
+                return offHeapMb;
+            }
+
+            public void setOffHeapMb(long offHeapMb) {
+                this.offHeapMb = offHeapMb;
+            }
+
+            public long getDiskMb() {
+                return diskMb;
+            }
+
+            public void setDiskMb(long diskMb) {
+                this.diskMb = diskMb;
+            }
+
+            public boolean isDiskPersistent() {
+                return diskPersistent;
+            }
+
+            public void setDiskPersistent(boolean diskPersistent) {
+                this.diskPersistent = diskPersistent;
+            }
+
+            public Long getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(Long timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+
+            public Long getTimeToIdleSeconds() {
+                return timeToIdleSeconds;
+            }
+
+            public void setTimeToIdleSeconds(Long timeToIdleSeconds) {
+                this.timeToIdleSeconds = timeToIdleSeconds;
+            }
+        }
+    }
+
+    public static class LoadTest {
+
+        /**
+         * Number of employers generated at startup with the {@code loadtest} profile.
+         */
+        private int employers = 1000;
+
+        /**
+         * Number of employees generated at startup, spread over the employers.
+         */
+        private int employees = 100000;
+
+        /**
+         * Number of quotes generated at startup, spread over the employers.
+         */
+        private int quotes = 200000;
+
+        /**
+         * Seed of the generator, so that runs against the same settings see the same data.
+         */
+        private long seed = 42;
+
+        public int getEmployers() {
+            return employers;
+        }
+
+        public void setEmployers(int employers) {
+            this.employers = employers;
+        }
+
+        public int getEmployees() {
+            return employees;
+        }
+
+        public void setEmployees(int employees) {
+            this.employees = employees;
+        }
+
+        public int getQuotes() {
+            return quotes;
+        }
+
+        public void setQuotes(int quotes) {
+            this.quotes = quotes;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+
+        public void setSeed(long seed) {
+            this.seed = seed;
+        }
+    }
+
+    public static class Mail {
+
+        /**
+         * Maximum number of mails sent over one SMTP connection.
+         */
+        private int batchSize = 50;
+
+        /**
+         * Number of threads sending mails, each with its own SMTP connection.
+         */
+        private int concurrency = 2;
+
+        /**
+         * Number of attempts after which a mail is left in the outbox as failed.
+         */
+        private int maxAttempts = 6;
+
+        /**
+         * Delay before the first retry of a mail, doubled after each failed attempt.
+         */
+        private Duration retryDelay = Duration.ofSeconds(30);
+
+        /**
+         * Maximum delay between two attempts.
+         */
+        private Duration maxRetryDelay = Duration.ofHours(1);
+
+        /**
+         * How long claimed mails are kept from other dispatchers, after which they are sent again. It must exceed the
+         * time needed to send a batch.
+         */
+        private Duration claimTimeout = Duration.ofMinutes(5);
+
+        /**
+         * Delay between two polls of the outbox, for retries and for mails written by other instances.
+         */
+        private Duration pollInterval = Duration.ofSeconds(10);
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getRetryDelay() {
+            return retryDelay;
+        }
+
+        public void setRetryDelay(Duration retryDelay) {
+            this.retryDelay = retryDelay;
+        }
+
+        public Duration getMaxRetryDelay() {
+            return maxRetryDelay;
+        }
+
+        public void setMaxRetryDelay(Duration maxRetryDelay) {
+            this.maxRetryDelay = maxRetryDelay;
+        }
+
+        public Duration getClaimTimeout() {
+            return claimTimeout;
+        }
+
+        public void setClaimTimeout(Duration claimTimeout) {
+            this.claimTimeout = claimTimeout;
+        }
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+    }
+
+    public static class UserPurge {
+
+        /**
+         * Number of not activated users deleted in one transaction.
+         */
+        private int chunkSize = 500;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class Jobs {
+
+        /**
+         * How long the runs of the scheduled jobs are kept.
+         */
+        private Duration runHistoryRetention = Duration.ofDays(30);
+
+        public Duration getRunHistoryRetention() {
+            return runHistoryRetention;
+        }
+
+        public void setRunHistoryRetention(Duration runHistoryRetention) {
+            this.runHistoryRetention = runHistoryRetention;
+        }
+    }
+
+    public static class Audit {
+
+        /**
+         * Number of entity changes waiting to be written. When it is full, writers record their changes themselves.
+         */
+        private int queueCapacity = 10000;
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    public static class EmployerSuggestions {
+
+        /**
+         * Maximum number of employers suggested at once.
+         */
+        private int maxSize = 50;
+
+        /**
+         * Delay between two rebuilds of the suggestions from the database, for the employers written by other
+         * instances or without Hibernate.
+         */
+        private Duration refreshInterval = Duration.ofMinutes(5);
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getRefreshInterval() {
+            return refreshInterval;
+        }
+
+        public void setRefreshInterval(Duration refreshInterval) {
+            this.refreshInterval = refreshInterval;
+        }
+    }
+
+    public static class Datasource {
+
+        /**
+         * Replicas of the {@code spring.datasource} database, used in turn by the read-only transactions. Their pools
+         * have the settings of {@code spring.datasource.hikari}, and its credentials when they have no username.
+         * Without replicas, all transactions use the primary.
+         */
+        private final List<Replica> replicas = new ArrayList<>();
+
+        /**
+         * How long the read-only transactions of an HTTP request keep using the primary after a read-write transaction
+         * of the same request committed, so that it reads its own writes despite the replication lag. Zero disables it.
+         */
+        private Duration readYourWritesWindow = Duration.ZERO;
+
+        public List<Replica> getReplicas() {
+            return replicas;
+        }
+
+        public Duration getReadYourWritesWindow() {
+            return readYourWritesWindow;
+        }
+
+        public void setReadYourWritesWindow(Duration readYourWritesWindow) {
+            this.readYourWritesWindow = readYourWritesWindow;
+        }
+
+        public static class Replica {
+
+            private String url;
+
+            private String username;
+
+            private String password;
+
+            public String getUrl() {
+                return url;
+            }
+
+            public void setUrl(String url) {
+                this.url = url;
+            }
+
+            public String getUsername() {
+                return username;
+            }
+
+            public void setUsername(String username) {
+                this.username = username;
+            }
+
+            public String getPassword() {
+                return password;
+            }
+
+            public void setPassword(String password) {
+                this.password = password;
+            }
+        }
+    }
+
+    public static class Search {
+
+        /**
+         * Delay between two polls of the entity change log, which bring the search index up to date with the writes of
+         * the other instances.
+         */
+        private Duration pollInterval = Duration.ofSeconds(10);
+
+        /**
+         * File keeping the last entity change applied to the search index. It must be kept with the index, and lost
+         * with it. When not set, the index is brought up to date with the changes made since the start only.
+         */
+        private String highWaterMarkFile;
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public String getHighWaterMarkFile() {
+            return highWaterMarkFile;
+        }
+
+        public void setHighWaterMarkFile(String highWaterMarkFile) {
+            this.highWaterMarkFile = highWaterMarkFile;
+        }
+    }
+}
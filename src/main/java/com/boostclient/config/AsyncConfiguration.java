@@ -39,6 +39,39 @@ public class AsyncConfiguration implements AsyncConfigurer {
         return new ExceptionHandlingAsyncTaskExecutor(executor);
     }
 
+    /**
+     * Executor of the mail dispatcher, kept apart so that bursts of mails do not hold up the other asynchronous tasks.
+     */
+    @Bean(name = "mailTaskExecutor")
+    public Executor mailTaskExecutor(ApplicationProperties applicationProperties) {
+        log.debug("Creating Mail Task Executor");
+        int concurrency = applicationProperties.getMail().getConcurrency();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(concurrency);
+        executor.setThreadNamePrefix("boostclient-mail-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * Executor of the employee imports, bounded so that a burst of uploads neither takes the threads of the other
+     * asynchronous tasks nor queues imports without limit.
+     */
+    @Bean(name = "employeeImportTaskExecutor")
+    public Executor employeeImportTaskExecutor(ApplicationProperties applicationProperties) {
+        log.debug("Creating Employee Import Task Executor");
+        int concurrency = applicationProperties.getEmployeeImport().getConcurrency();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(concurrency);
+        executor.setThreadNamePrefix("boostclient-import-");
+        return executor;
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
@@ -11,5 +11,8 @@ public final class Constants {
     public static final String SYSTEM = "system";
     public static final String DEFAULT_LANGUAGE = "en";
 
+    // Spring profile starting the application on an in-memory database seeded with generated data
+    public static final String SPRING_PROFILE_LOADTEST = "loadtest";
+
     private Constants() {}
 }
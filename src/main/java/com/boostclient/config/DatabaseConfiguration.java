@@ -1,14 +1,31 @@
 package com.boostclient.config;
 
+import com.zaxxer.hikari.HikariDataSource;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.EntityManager;
+import javax.sql.DataSource;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseDataSource;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
 import org.springframework.core.env.Environment;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaVendorAdapter;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import tech.jhipster.config.JHipsterConstants;
 import tech.jhipster.config.h2.H2ConfigurationHelper;
@@ -27,6 +44,109 @@ public class DatabaseConfiguration {
         this.env = env;
     }
 
+    /**
+     * The pool of the primary database, configured by {@code spring.datasource} as Spring Boot would. Liquibase
+     * migrates it directly.
+     *
+     * @param properties the {@code spring.datasource} properties.
+     * @return the pool of the primary database.
+     */
+    @Bean
+    @LiquibaseDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (properties.getName() != null && !properties.getName().isEmpty()) {
+            dataSource.setPoolName(properties.getName());
+        }
+        return dataSource;
+    }
+
+    /**
+     * Route the read-only transactions to the replicas of {@code application.datasource.replicas}, whose pools have
+     * the settings of the primary one, and its credentials unless they have their own.
+     *
+     * @param primaryDataSource the pool of the primary database.
+     * @param applicationProperties the application properties.
+     * @return the routing data source.
+     */
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+        HikariDataSource primaryDataSource,
+        ApplicationProperties applicationProperties
+    ) {
+        ApplicationProperties.Datasource properties = applicationProperties.getDatasource();
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (ApplicationProperties.Datasource.Replica replica : properties.getReplicas()) {
+            HikariDataSource dataSource = new HikariDataSource();
+            primaryDataSource.copyStateTo(dataSource);
+            dataSource.setJdbcUrl(replica.getUrl());
+            if (replica.getUsername() != null) {
+                dataSource.setUsername(replica.getUsername());
+                dataSource.setPassword(replica.getPassword());
+            }
+            if (primaryDataSource.getPoolName() != null) {
+                dataSource.setPoolName(primaryDataSource.getPoolName() + "-replica-" + replicas.size());
+            }
+            dataSource.setReadOnly(true);
+            replicas.add(dataSource);
+        }
+        log.debug("Routing read-only transactions to {} replicas", replicas.size());
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, properties.getReadYourWritesWindow());
+    }
+
+    /**
+     * The data source of JPA and JDBC: it obtains the connection of a transaction at its first statement, once the
+     * transaction is flagged read-only or not, so that it can be routed.
+     *
+     * @param replicaRoutingDataSource the routing data source.
+     * @return the data source.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /**
+     * The JPA vendor adapter Spring Boot would create, except that the read-only transactions do not put what they read
+     * in the second-level cache when there are replicas: read from a lagging replica, it could be older than the
+     * cached state it replaces, and would be served until the next write.
+     *
+     * @param properties the {@code spring.jpa} properties.
+     * @param applicationProperties the application properties.
+     * @return the JPA vendor adapter.
+     */
+    @Bean
+    public JpaVendorAdapter jpaVendorAdapter(JpaProperties properties, ApplicationProperties applicationProperties) {
+        boolean replicas = !applicationProperties.getDatasource().getReplicas().isEmpty();
+        HibernateJpaDialect jpaDialect = new HibernateJpaDialect() {
+            @Override
+            public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition) throws SQLException {
+                Object transactionData = super.beginTransaction(entityManager, definition);
+                if (replicas && definition.isReadOnly()) {
+                    entityManager.unwrap(Session.class).setCacheMode(CacheMode.GET);
+                }
+                return transactionData;
+            }
+        };
+        HibernateJpaVendorAdapter adapter = new HibernateJpaVendorAdapter() {
+            @Override
+            public HibernateJpaDialect getJpaDialect() {
+                return jpaDialect;
+            }
+        };
+        adapter.setShowSql(properties.isShowSql());
+        if (properties.getDatabase() != null) {
+            adapter.setDatabase(properties.getDatabase());
+        }
+        if (properties.getDatabasePlatform() != null) {
+            adapter.setDatabasePlatform(properties.getDatabasePlatform());
+        }
+        adapter.setGenerateDdl(properties.isGenerateDdl());
+        return adapter;
+    }
+
     /**
      * Open the TCP port for the H2 database, so it is available remotely.
      *
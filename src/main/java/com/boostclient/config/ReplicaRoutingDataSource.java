@@ -0,0 +1,102 @@
+package com.boostclient.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.io.Closeable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Data source sending the connections of read-only transactions to the replicas, in turn, and all other connections
+ * to the primary.
+ * <p>
+ * The transaction managers obtain their connection when a transaction begins, before it is flagged read-only, so this
+ * data source is used through a {@link LazyConnectionDataSourceProxy}, which obtains the connection at the first
+ * statement. A read-only transaction joining a read-write one uses its connection, to the primary.
+ * <p>
+ * Once a read-write transaction of an HTTP request has committed, the read-only transactions of this request use the
+ * primary for the read-your-writes window, as the replicas may not have received its writes yet.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private static final String PRIMARY = "primary";
+
+    private static final String LAST_COMMIT_ATTRIBUTE = ReplicaRoutingDataSource.class.getName() + ".lastCommit";
+
+    private final List<HikariDataSource> replicas;
+
+    private final Duration readYourWritesWindow;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    /**
+     * @param primary the data source of the primary database.
+     * @param replicas the pools of the replicas, closed with this data source.
+     * @param readYourWritesWindow how long the read-only transactions of a request use the primary after a commit, or
+     *                             zero.
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicas, Duration readYourWritesWindow) {
+        this.replicas = List.copyOf(replicas);
+        this.readYourWritesWindow = readYourWritesWindow;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(i, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recordCommitOfRequest();
+            return PRIMARY;
+        }
+        if (replicas.isEmpty() || readsOwnWrites()) {
+            return PRIMARY;
+        }
+        return Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+    }
+
+    private void recordCommitOfRequest() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null || readYourWritesWindow.isZero() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    request.setAttribute(LAST_COMMIT_ATTRIBUTE, Instant.now(), RequestAttributes.SCOPE_REQUEST);
+                }
+            }
+        );
+    }
+
+    private boolean readsOwnWrites() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null) {
+            return false;
+        }
+        Instant lastCommit = (Instant) request.getAttribute(LAST_COMMIT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return lastCommit != null && Instant.now().isBefore(lastCommit.plus(readYourWritesWindow));
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+    }
+}
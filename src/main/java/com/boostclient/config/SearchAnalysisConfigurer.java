@@ -0,0 +1,56 @@
+package com.boostclient.config;
+
+import org.apache.lucene.analysis.core.LowerCaseFilterFactory;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilterFactory;
+import org.apache.lucene.analysis.ngram.EdgeNGramFilterFactory;
+import org.apache.lucene.analysis.standard.StandardTokenizerFactory;
+import org.hibernate.search.backend.lucene.analysis.LuceneAnalysisConfigurationContext;
+import org.hibernate.search.backend.lucene.analysis.LuceneAnalysisConfigurer;
+
+/**
+ * Analyzers of the full-text index, set by {@code hibernate.search.backend.analysis.configurer}.
+ * <p>
+ * Names are indexed with all the prefixes of their words, so that a search for {@code "jo sm"} finds
+ * {@code "John Smith"} with term lookups only: no prefix or wildcard query is expanded at search time.
+ */
+public class SearchAnalysisConfigurer implements LuceneAnalysisConfigurer {
+
+    /**
+     * Analyzer indexing the words of a name and their prefixes, case and accent insensitive.
+     */
+    public static final String NAME = "name";
+
+    /**
+     * Analyzer of the searched words, case and accent insensitive.
+     */
+    public static final String NAME_SEARCH = "name_search";
+
+    /**
+     * Normalizer of the sort keys, case and accent insensitive.
+     */
+    public static final String SORT = "sort";
+
+    private static final String MAX_PREFIX_LENGTH = "20";
+
+    @Override
+    public void configure(LuceneAnalysisConfigurationContext context) {
+        context
+            .analyzer(NAME)
+            .custom()
+            .tokenizer(StandardTokenizerFactory.class)
+            .tokenFilter(LowerCaseFilterFactory.class)
+            .tokenFilter(ASCIIFoldingFilterFactory.class)
+            .tokenFilter(EdgeNGramFilterFactory.class)
+            .param("minGramSize", "1")
+            .param("maxGramSize", MAX_PREFIX_LENGTH)
+            // Longer words are still found when searched in full
+            .param("preserveOriginal", "true");
+        context
+            .analyzer(NAME_SEARCH)
+            .custom()
+            .tokenizer(StandardTokenizerFactory.class)
+            .tokenFilter(LowerCaseFilterFactory.class)
+            .tokenFilter(ASCIIFoldingFilterFactory.class);
+        context.normalizer(SORT).custom().tokenFilter(LowerCaseFilterFactory.class).tokenFilter(ASCIIFoldingFilterFactory.class);
+    }
+}
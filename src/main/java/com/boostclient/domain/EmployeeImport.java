@@ -0,0 +1,204 @@
+package com.boostclient.domain;
+
+import com.boostclient.domain.enumeration.ImportStatus;
+import java.io.Serializable;
+import java.time.Instant;
+import javax.persistence.*;
+import javax.validation.constraints.*;
+
+/**
+ * A EmployeeImport: the progress of one employee roster CSV upload.
+ * <p>
+ * {@code processedLines} is updated in the same transaction as the rows of each chunk,
+ * so an interrupted import can resume right after its last committed chunk.
+ * <p>
+ * A running import is claimed by its {@code owner}, which refreshes the {@code heartbeat} with each chunk: an import
+ * whose heartbeat stopped can be claimed by another run.
+ */
+@Entity
+@Table(name = "employee_import")
+public class EmployeeImport implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Size(max = 255)
+    @Column(name = "file_name", length = 255, nullable = false)
+    private String fileName;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private ImportStatus status;
+
+    @NotNull
+    @Column(name = "processed_lines", nullable = false)
+    private Long processedLines = 0L;
+
+    @NotNull
+    @Column(name = "imported_rows", nullable = false)
+    private Long importedRows = 0L;
+
+    @NotNull
+    @Column(name = "failed_rows", nullable = false)
+    private Long failedRows = 0L;
+
+    @Size(max = 1024)
+    @Column(name = "last_error", length = 1024)
+    private String lastError;
+
+    @Column(name = "created_date")
+    private Instant createdDate;
+
+    @Column(name = "finished_date")
+    private Instant finishedDate;
+
+    @Size(max = 255)
+    @Column(name = "owner", length = 255)
+    private String owner;
+
+    @Column(name = "heartbeat")
+    private Instant heartbeat;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public EmployeeImport id(Long id) {
+        this.id = id;
+        return this;
+    }
+
+    public String getFileName() {
+        return this.fileName;
+    }
+
+    public EmployeeImport fileName(String fileName) {
+        this.fileName = fileName;
+        return this;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public ImportStatus getStatus() {
+        return this.status;
+    }
+
+    public EmployeeImport status(ImportStatus status) {
+        this.status = status;
+        return this;
+    }
+
+    public void setStatus(ImportStatus status) {
+        this.status = status;
+    }
+
+    public Long getProcessedLines() {
+        return this.processedLines;
+    }
+
+    public void setProcessedLines(Long processedLines) {
+        this.processedLines = processedLines;
+    }
+
+    public Long getImportedRows() {
+        return this.importedRows;
+    }
+
+    public void setImportedRows(Long importedRows) {
+        this.importedRows = importedRows;
+    }
+
+    public Long getFailedRows() {
+        return this.failedRows;
+    }
+
+    public void setFailedRows(Long failedRows) {
+        this.failedRows = failedRows;
+    }
+
+    public String getLastError() {
+        return this.lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public Instant getCreatedDate() {
+        return this.createdDate;
+    }
+
+    public EmployeeImport createdDate(Instant createdDate) {
+        this.createdDate = createdDate;
+        return this;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public Instant getFinishedDate() {
+        return this.finishedDate;
+    }
+
+    public void setFinishedDate(Instant finishedDate) {
+        this.finishedDate = finishedDate;
+    }
+
+    public String getOwner() {
+        return this.owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public Instant getHeartbeat() {
+        return this.heartbeat;
+    }
+
+    public void setHeartbeat(Instant heartbeat) {
+        this.heartbeat = heartbeat;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EmployeeImport)) {
+            return false;
+        }
+        return id != null && id.equals(((EmployeeImport) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EmployeeImport{" +
+            "id=" + getId() +
+            ", fileName='" + getFileName() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", processedLines=" + getProcessedLines() +
+            ", importedRows=" + getImportedRows() +
+            ", failedRows=" + getFailedRows() +
+            "}";
+    }
+}
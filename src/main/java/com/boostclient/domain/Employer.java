@@ -1,6 +1,7 @@
 package com.boostclient.domain;
 
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.boostclient.config.SearchAnalysisConfigurer;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Set;
@@ -8,6 +9,14 @@ import javax.persistence.*;
 import javax.validation.constraints.*;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.search.engine.backend.types.Projectable;
+import org.hibernate.search.engine.backend.types.Sortable;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.FullTextField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.GenericField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.Indexed;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.KeywordField;
+import org.hibernate.annotations.LazyCollection;
+import org.hibernate.annotations.LazyCollectionOption;
 
 /**
  * A Employer.
@@ -15,21 +24,40 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Entity
 @Table(name = "employer")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
-public class Employer implements Serializable {
+@Indexed
+public class Employer extends AbstractAuditingEntity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GenericField(projectable = Projectable.YES, sortable = Sortable.YES)
     private Long id;
 
     @NotNull
     @Column(name = "name", nullable = false)
+    @FullTextField(
+        analyzer = SearchAnalysisConfigurer.NAME,
+        searchAnalyzer = SearchAnalysisConfigurer.NAME_SEARCH,
+        projectable = Projectable.YES
+    )
+    @KeywordField(name = "name_sort", normalizer = SearchAnalysisConfigurer.SORT, sortable = Sortable.YES)
     private String name;
 
+    /**
+     * Incremented by each update, which only applies to the version it was read at.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    /**
+     * Can be very large: it is neither cached nor serialized, and {@code size()} and {@code contains()} query the database
+     * instead of loading it. Page through {@code /api/employers/{id}/employees} instead.
+     */
     @OneToMany(mappedBy = "employer")
-    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
-    @JsonIgnoreProperties(value = { "employer" }, allowSetters = true)
+    @LazyCollection(LazyCollectionOption.EXTRA)
+    @JsonIgnore
     private Set<Employee> employees = new HashSet<>();
 
     // jhipster-needle-entity-add-field - JHipster will add fields here
@@ -90,6 +118,19 @@ public class Employer implements Serializable {
         this.employees = employees;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Employer version(Long version) {
+        this.version = version;
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -115,6 +156,7 @@ public class Employer implements Serializable {
         return "Employer{" +
             "id=" + getId() +
             ", name='" + getName() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
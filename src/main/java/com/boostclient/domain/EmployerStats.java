@@ -0,0 +1,77 @@
+package com.boostclient.domain;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import javax.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * A EmployerStats: the employee count, quote count and latest quote date of one {@link Employer}.
+ * <p>
+ * The row is maintained by {@link com.boostclient.service.EmployerStatsService} in the same transaction as the
+ * employee and quote writes, so it is only read through JPA.
+ */
+@Entity
+@Immutable
+@Table(name = "employer_stats")
+public class EmployerStats implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "employer_id")
+    private Long employerId;
+
+    @Column(name = "employee_count", nullable = false)
+    private Long employeeCount;
+
+    @Column(name = "quote_count", nullable = false)
+    private Long quoteCount;
+
+    @Column(name = "latest_quote_date")
+    private LocalDate latestQuoteDate;
+
+    public Long getEmployerId() {
+        return employerId;
+    }
+
+    public Long getEmployeeCount() {
+        return employeeCount;
+    }
+
+    public Long getQuoteCount() {
+        return quoteCount;
+    }
+
+    public LocalDate getLatestQuoteDate() {
+        return latestQuoteDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EmployerStats)) {
+            return false;
+        }
+        return employerId != null && employerId.equals(((EmployerStats) o).employerId);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EmployerStats{" +
+            "employerId=" + getEmployerId() +
+            ", employeeCount=" + getEmployeeCount() +
+            ", quoteCount=" + getQuoteCount() +
+            ", latestQuoteDate='" + getLatestQuoteDate() + "'" +
+            "}";
+    }
+}
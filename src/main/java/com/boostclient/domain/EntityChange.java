@@ -0,0 +1,174 @@
+package com.boostclient.domain;
+
+import com.boostclient.domain.enumeration.EntityChangeAction;
+import java.io.Serializable;
+import java.time.Instant;
+import javax.persistence.*;
+import javax.validation.constraints.*;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * A EntityChange: one committed change of an audited entity.
+ * <p>
+ * Changes are only ever appended, by {@link com.boostclient.service.EntityChangeWriter}.
+ */
+@Entity
+@Immutable
+@Table(name = "jhi_entity_change")
+public class EntityChange implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Size(max = 64)
+    @Column(name = "entity_type", length = 64, nullable = false)
+    private String entityType;
+
+    @NotNull
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "action", nullable = false)
+    private EntityChangeAction action;
+
+    @NotNull
+    @Size(max = 50)
+    @Column(name = "changed_by", length = 50, nullable = false)
+    private String changedBy;
+
+    @NotNull
+    @Column(name = "changed_date", nullable = false)
+    private Instant changedDate;
+
+    @Size(max = 1024)
+    @Column(name = "changed_fields", length = 1024)
+    private String changedFields;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public EntityChange id(Long id) {
+        this.id = id;
+        return this;
+    }
+
+    public String getEntityType() {
+        return this.entityType;
+    }
+
+    public EntityChange entityType(String entityType) {
+        this.entityType = entityType;
+        return this;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public Long getEntityId() {
+        return this.entityId;
+    }
+
+    public EntityChange entityId(Long entityId) {
+        this.entityId = entityId;
+        return this;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public EntityChangeAction getAction() {
+        return this.action;
+    }
+
+    public EntityChange action(EntityChangeAction action) {
+        this.action = action;
+        return this;
+    }
+
+    public void setAction(EntityChangeAction action) {
+        this.action = action;
+    }
+
+    public String getChangedBy() {
+        return this.changedBy;
+    }
+
+    public EntityChange changedBy(String changedBy) {
+        this.changedBy = changedBy;
+        return this;
+    }
+
+    public void setChangedBy(String changedBy) {
+        this.changedBy = changedBy;
+    }
+
+    public Instant getChangedDate() {
+        return this.changedDate;
+    }
+
+    public EntityChange changedDate(Instant changedDate) {
+        this.changedDate = changedDate;
+        return this;
+    }
+
+    public void setChangedDate(Instant changedDate) {
+        this.changedDate = changedDate;
+    }
+
+    public String getChangedFields() {
+        return this.changedFields;
+    }
+
+    public EntityChange changedFields(String changedFields) {
+        this.changedFields = changedFields;
+        return this;
+    }
+
+    public void setChangedFields(String changedFields) {
+        this.changedFields = changedFields;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EntityChange)) {
+            return false;
+        }
+        return id != null && id.equals(((EntityChange) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EntityChange{" +
+            "id=" + getId() +
+            ", entityType='" + getEntityType() + "'" +
+            ", entityId=" + getEntityId() +
+            ", action='" + getAction() + "'" +
+            ", changedBy='" + getChangedBy() + "'" +
+            ", changedDate='" + getChangedDate() + "'" +
+            ", changedFields='" + getChangedFields() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,118 @@
+package com.boostclient.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+import javax.persistence.*;
+import javax.validation.constraints.*;
+
+/**
+ * A JobLock: the lock of a scheduled job, shared by all the instances of the application.
+ * <p>
+ * The instance named by {@code lockedBy} runs the job until {@code lockUntil}. The lock is not deleted when the job
+ * ends: {@code lockUntil} is moved back instead.
+ */
+@Entity
+@Table(name = "jhi_job_lock")
+public class JobLock implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @NotNull
+    @Size(max = 64)
+    @Column(name = "name", length = 64, nullable = false)
+    private String name;
+
+    @NotNull
+    @Column(name = "lock_until", nullable = false)
+    private Instant lockUntil;
+
+    @NotNull
+    @Column(name = "locked_at", nullable = false)
+    private Instant lockedAt;
+
+    @NotNull
+    @Size(max = 255)
+    @Column(name = "locked_by", length = 255, nullable = false)
+    private String lockedBy;
+
+    public String getName() {
+        return this.name;
+    }
+
+    public JobLock name(String name) {
+        this.name = name;
+        return this;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Instant getLockUntil() {
+        return this.lockUntil;
+    }
+
+    public JobLock lockUntil(Instant lockUntil) {
+        this.lockUntil = lockUntil;
+        return this;
+    }
+
+    public void setLockUntil(Instant lockUntil) {
+        this.lockUntil = lockUntil;
+    }
+
+    public Instant getLockedAt() {
+        return this.lockedAt;
+    }
+
+    public JobLock lockedAt(Instant lockedAt) {
+        this.lockedAt = lockedAt;
+        return this;
+    }
+
+    public void setLockedAt(Instant lockedAt) {
+        this.lockedAt = lockedAt;
+    }
+
+    public String getLockedBy() {
+        return this.lockedBy;
+    }
+
+    public JobLock lockedBy(String lockedBy) {
+        this.lockedBy = lockedBy;
+        return this;
+    }
+
+    public void setLockedBy(String lockedBy) {
+        this.lockedBy = lockedBy;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof JobLock)) {
+            return false;
+        }
+        return name != null && name.equals(((JobLock) o).name);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "JobLock{" +
+            "name='" + getName() + "'" +
+            ", lockUntil='" + getLockUntil() + "'" +
+            ", lockedAt='" + getLockedAt() + "'" +
+            ", lockedBy='" + getLockedBy() + "'" +
+            "}";
+    }
+}
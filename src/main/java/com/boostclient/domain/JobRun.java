@@ -0,0 +1,185 @@
+package com.boostclient.domain;
+
+import com.boostclient.domain.enumeration.JobRunStatus;
+import java.io.Serializable;
+import java.time.Instant;
+import javax.persistence.*;
+import javax.validation.constraints.*;
+
+/**
+ * A JobRun: one run of a scheduled job, by the instance that held its {@link JobLock}.
+ */
+@Entity
+@Table(name = "jhi_job_run")
+public class JobRun implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Size(max = 64)
+    @Column(name = "job_name", length = 64, nullable = false)
+    private String jobName;
+
+    @NotNull
+    @Size(max = 255)
+    @Column(name = "node", length = 255, nullable = false)
+    private String node;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private JobRunStatus status;
+
+    @NotNull
+    @Column(name = "start_date", nullable = false)
+    private Instant startDate;
+
+    @Column(name = "end_date")
+    private Instant endDate;
+
+    @Column(name = "duration_ms")
+    private Long durationMs;
+
+    @Size(max = 1024)
+    @Column(name = "error", length = 1024)
+    private String error;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public JobRun id(Long id) {
+        this.id = id;
+        return this;
+    }
+
+    public String getJobName() {
+        return this.jobName;
+    }
+
+    public JobRun jobName(String jobName) {
+        this.jobName = jobName;
+        return this;
+    }
+
+    public void setJobName(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public String getNode() {
+        return this.node;
+    }
+
+    public JobRun node(String node) {
+        this.node = node;
+        return this;
+    }
+
+    public void setNode(String node) {
+        this.node = node;
+    }
+
+    public JobRunStatus getStatus() {
+        return this.status;
+    }
+
+    public JobRun status(JobRunStatus status) {
+        this.status = status;
+        return this;
+    }
+
+    public void setStatus(JobRunStatus status) {
+        this.status = status;
+    }
+
+    public Instant getStartDate() {
+        return this.startDate;
+    }
+
+    public JobRun startDate(Instant startDate) {
+        this.startDate = startDate;
+        return this;
+    }
+
+    public void setStartDate(Instant startDate) {
+        this.startDate = startDate;
+    }
+
+    public Instant getEndDate() {
+        return this.endDate;
+    }
+
+    public JobRun endDate(Instant endDate) {
+        this.endDate = endDate;
+        return this;
+    }
+
+    public void setEndDate(Instant endDate) {
+        this.endDate = endDate;
+    }
+
+    public Long getDurationMs() {
+        return this.durationMs;
+    }
+
+    public JobRun durationMs(Long durationMs) {
+        this.durationMs = durationMs;
+        return this;
+    }
+
+    public void setDurationMs(Long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public String getError() {
+        return this.error;
+    }
+
+    public JobRun error(String error) {
+        this.error = error;
+        return this;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof JobRun)) {
+            return false;
+        }
+        return id != null && id.equals(((JobRun) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "JobRun{" +
+            "id=" + getId() +
+            ", jobName='" + getJobName() + "'" +
+            ", node='" + getNode() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", startDate='" + getStartDate() + "'" +
+            ", endDate='" + getEndDate() + "'" +
+            ", durationMs=" + getDurationMs() +
+            "}";
+    }
+}
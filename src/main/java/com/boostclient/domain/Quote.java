@@ -1,5 +1,6 @@
 package com.boostclient.domain;
 
+import com.boostclient.config.SearchAnalysisConfigurer;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import java.io.Serializable;
 import java.time.LocalDate;
@@ -7,6 +8,15 @@ import javax.persistence.*;
 import javax.validation.constraints.*;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.search.engine.backend.types.Projectable;
+import org.hibernate.search.engine.backend.types.Sortable;
+import org.hibernate.search.mapper.pojo.automaticindexing.ReindexOnUpdate;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.FullTextField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.GenericField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.Indexed;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.IndexedEmbedded;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.IndexingDependency;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.KeywordField;
 
 /**
  * A Quote.
@@ -14,27 +24,45 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Entity
 @Table(name = "quote")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
-public class Quote implements Serializable {
+@Indexed
+public class Quote extends AbstractAuditingEntity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GenericField(projectable = Projectable.YES, sortable = Sortable.YES)
     private Long id;
 
     @NotNull
     @Column(name = "name", nullable = false)
+    @FullTextField(
+        analyzer = SearchAnalysisConfigurer.NAME,
+        searchAnalyzer = SearchAnalysisConfigurer.NAME_SEARCH,
+        projectable = Projectable.YES
+    )
+    @KeywordField(name = "name_sort", normalizer = SearchAnalysisConfigurer.SORT, sortable = Sortable.YES)
     private String name;
 
     @NotNull
     @Column(name = "quote_date", nullable = false)
+    @GenericField(projectable = Projectable.YES, sortable = Sortable.YES)
     private LocalDate quoteDate;
 
     @ManyToOne(optional = false)
     @NotNull
     @JsonIgnoreProperties(value = { "employees" }, allowSetters = true)
+    @IndexedEmbedded(includePaths = "id")
+    @IndexingDependency(reindexOnUpdate = ReindexOnUpdate.SHALLOW)
     private Employer employer;
 
+    /**
+     * Incremented by each update, which only applies to the version it was read at.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
     public Long getId() {
         return id;
@@ -88,6 +116,19 @@ public class Quote implements Serializable {
         this.employer = employer;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Quote version(Long version) {
+        this.version = version;
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -114,6 +155,7 @@ public class Quote implements Serializable {
             "id=" + getId() +
             ", name='" + getName() + "'" +
             ", quoteDate='" + getQuoteDate() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
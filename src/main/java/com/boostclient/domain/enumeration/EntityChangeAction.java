@@ -0,0 +1,10 @@
+package com.boostclient.domain.enumeration;
+
+/**
+ * The EntityChangeAction enumeration.
+ */
+public enum EntityChangeAction {
+    CREATE,
+    UPDATE,
+    DELETE,
+}
@@ -0,0 +1,10 @@
+package com.boostclient.domain.enumeration;
+
+/**
+ * The JobRunStatus enumeration.
+ */
+public enum JobRunStatus {
+    RUNNING,
+    SUCCEEDED,
+    FAILED,
+}
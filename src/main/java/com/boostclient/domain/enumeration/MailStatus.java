@@ -0,0 +1,9 @@
+package com.boostclient.domain.enumeration;
+
+/**
+ * The MailStatus enumeration.
+ */
+public enum MailStatus {
+    PENDING,
+    FAILED,
+}
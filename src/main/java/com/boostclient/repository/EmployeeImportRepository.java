@@ -0,0 +1,73 @@
+package com.boostclient.repository;
+
+import com.boostclient.domain.EmployeeImport;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the EmployeeImport entity.
+ */
+@Repository
+public interface EmployeeImportRepository extends JpaRepository<EmployeeImport, Long> {
+    /**
+     * Find the imports that can be claimed: pending, or running without heartbeat since the given date.
+     */
+    @Query(
+        "select employeeImport.id from EmployeeImport employeeImport " +
+        "where employeeImport.status = com.boostclient.domain.enumeration.ImportStatus.PENDING " +
+        "or (employeeImport.status = com.boostclient.domain.enumeration.ImportStatus.RUNNING " +
+        "and (employeeImport.heartbeat is null or employeeImport.heartbeat < :staleBefore))"
+    )
+    List<Long> findClaimableIds(@Param("staleBefore") Instant staleBefore);
+
+    /**
+     * Claim an import that is not completed, and not running with a heartbeat since the given date: the conditional
+     * update is atomic, so only one run gets it.
+     *
+     * @return 1 if the import was claimed, 0 otherwise.
+     */
+    @Modifying
+    @Query(
+        "update EmployeeImport employeeImport " +
+        "set employeeImport.status = com.boostclient.domain.enumeration.ImportStatus.RUNNING, " +
+        "employeeImport.owner = :owner, employeeImport.heartbeat = :now, employeeImport.finishedDate = null " +
+        "where employeeImport.id = :id " +
+        "and employeeImport.status <> com.boostclient.domain.enumeration.ImportStatus.COMPLETED " +
+        "and (employeeImport.status <> com.boostclient.domain.enumeration.ImportStatus.RUNNING " +
+        "or employeeImport.heartbeat is null or employeeImport.heartbeat < :staleBefore)"
+    )
+    int claim(@Param("id") Long id, @Param("owner") String owner, @Param("now") Instant now, @Param("staleBefore") Instant staleBefore);
+
+    /**
+     * Make a failed or stalled import pending again, unless it is completed or running with a heartbeat since the
+     * given date.
+     *
+     * @return 1 if the import is pending, 0 otherwise.
+     */
+    @Modifying
+    @Query(
+        "update EmployeeImport employeeImport " +
+        "set employeeImport.status = com.boostclient.domain.enumeration.ImportStatus.PENDING " +
+        "where employeeImport.id = :id " +
+        "and employeeImport.status <> com.boostclient.domain.enumeration.ImportStatus.COMPLETED " +
+        "and (employeeImport.status <> com.boostclient.domain.enumeration.ImportStatus.RUNNING " +
+        "or employeeImport.heartbeat is null or employeeImport.heartbeat < :staleBefore)"
+    )
+    int requeue(@Param("id") Long id, @Param("staleBefore") Instant staleBefore);
+
+    /**
+     * Refresh the heartbeat of an import while its run still owns it.
+     *
+     * @return 1 if the run still owns the import, 0 if another run claimed it.
+     */
+    @Modifying
+    @Query(
+        "update EmployeeImport employeeImport set employeeImport.heartbeat = :now " +
+        "where employeeImport.id = :id and employeeImport.owner = :owner " +
+        "and employeeImport.status = com.boostclient.domain.enumeration.ImportStatus.RUNNING"
+    )
+    int beat(@Param("id") Long id, @Param("owner") String owner, @Param("now") Instant now);
+}
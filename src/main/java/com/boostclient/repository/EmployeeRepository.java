@@ -1,7 +1,16 @@
 package com.boostclient.repository;
 
 import com.boostclient.domain.Employee;
+import com.boostclient.domain.Employee_;
+import com.boostclient.domain.Employer_;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +18,56 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {}
+public interface EmployeeRepository
+    extends
+        JpaRepository<Employee, Long>,
+        JpaSpecificationExecutor<Employee>,
+        EmployeeRepositoryWithSummaries,
+        RepositoryWithVersionedUpdate<Employee> {
+    @Query("select employee.employer.id from Employee employee where employee.id = :id")
+    Optional<Long> findEmployerIdById(@Param("id") Long id);
+
+    @Query("select distinct employee.employer.id from Employee employee where employee.id in :ids")
+    List<Long> findEmployerIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select employee.id from Employee employee where employee.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select employee.id from Employee employee where employee.employer.id = :employerId order by employee.id")
+    List<Long> findIdsByEmployerId(@Param("employerId") Long employerId, Pageable pageable);
+
+    /**
+     * Delete employees without loading them: Hibernate listeners are not called.
+     */
+    @Modifying
+    @Query("delete from Employee employee where employee.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    static Specification<Employee> employerIs(Long employerId) {
+        return (root, query, cb) -> cb.equal(root.get(Employee_.employer).get(Employer_.id), employerId);
+    }
+
+    static Specification<Employee> nameStartsWith(String prefix) {
+        String escaped = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return (root, query, cb) -> cb.like(root.get(Employee_.name), escaped + "%", '\\');
+    }
+
+    static Specification<Employee> bornOnOrAfter(LocalDate date) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get(Employee_.dateOfBirth), date);
+    }
+
+    static Specification<Employee> bornOnOrBefore(LocalDate date) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get(Employee_.dateOfBirth), date);
+    }
+
+    /**
+     * Keyset (seek) position on {@code (name, id)}: matches the employees strictly after the given one.
+     */
+    static Specification<Employee> after(String name, Long id) {
+        return (root, query, cb) ->
+            cb.or(
+                cb.greaterThan(root.get(Employee_.name), name),
+                cb.and(cb.equal(root.get(Employee_.name), name), cb.greaterThan(root.get(Employee_.id), id))
+            );
+    }
+}
@@ -0,0 +1,23 @@
+package com.boostclient.repository;
+
+import com.boostclient.domain.Employee;
+import com.boostclient.service.dto.EmployeeSummaryDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Lists {@link Employee}s matching a {@link Specification} as {@link EmployeeSummaryDTO}s, read with their employer
+ * in a single query.
+ */
+public interface EmployeeRepositoryWithSummaries {
+    Page<EmployeeSummaryDTO> findSummaries(Specification<Employee> specification, Pageable pageable);
+
+    /**
+     * Like {@link #findSummaries(Specification, Pageable)}, without the count query: one extra row is read to know
+     * whether there is a next slice.
+     */
+    Slice<EmployeeSummaryDTO> findSummarySlice(Specification<Employee> specification, Sort sort, int size);
+}
@@ -0,0 +1,75 @@
+package com.boostclient.repository;
+
+import com.boostclient.domain.Employee;
+import com.boostclient.domain.Employee_;
+import com.boostclient.domain.Employer;
+import com.boostclient.domain.Employer_;
+import com.boostclient.service.dto.EmployeeSummaryDTO;
+import java.util.List;
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.*;
+import org.springframework.data.domain.*;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+public class EmployeeRepositoryWithSummariesImpl implements EmployeeRepositoryWithSummaries {
+
+    private final EntityManager entityManager;
+
+    public EmployeeRepositoryWithSummariesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Page<EmployeeSummaryDTO> findSummaries(Specification<Employee> specification, Pageable pageable) {
+        TypedQuery<EmployeeSummaryDTO> query = createQuery(specification, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(specification));
+    }
+
+    @Override
+    public Slice<EmployeeSummaryDTO> findSummarySlice(Specification<Employee> specification, Sort sort, int size) {
+        List<EmployeeSummaryDTO> content = createQuery(specification, sort).setMaxResults(size + 1).getResultList();
+        boolean hasNext = content.size() > size;
+        return new SliceImpl<>(hasNext ? content.subList(0, size) : content, PageRequest.of(0, size, sort), hasNext);
+    }
+
+    private TypedQuery<EmployeeSummaryDTO> createQuery(Specification<Employee> specification, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmployeeSummaryDTO> query = cb.createQuery(EmployeeSummaryDTO.class);
+        Root<Employee> root = query.from(Employee.class);
+        Join<Employee, Employer> employer = root.join(Employee_.employer);
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query
+            .select(
+                cb.construct(
+                    EmployeeSummaryDTO.class,
+                    root.get(Employee_.id),
+                    root.get(Employee_.name),
+                    root.get(Employee_.dateOfBirth),
+                    employer.get(Employer_.id),
+                    employer.get(Employer_.name)
+                )
+            )
+            .orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Employee> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Employee> root = query.from(Employee.class);
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query.select(cb.count(root))).getSingleResult();
+    }
+}
@@ -1,7 +1,14 @@
 package com.boostclient.repository;
 
 import com.boostclient.domain.Employer;
+import com.boostclient.service.dto.EmployerSummaryDTO;
+import java.util.Collection;
+import java.util.List;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +16,55 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface EmployerRepository extends JpaRepository<Employer, Long> {}
+public interface EmployerRepository extends JpaRepository<Employer, Long>, RepositoryWithVersionedUpdate<Employer> {
+    String EMPLOYER_QUERIES_CACHE = "employerQueries";
+
+    /**
+     * A page of the ids and names of the employers, through the query cache: Hibernate invalidates the cached results on
+     * every write to the employer table made through the {@code EntityManager}. The cached results hold the ids and
+     * names themselves, not ids to look up in the entity cache. The count is cached too.
+     */
+    @Query(
+        value = "select new com.boostclient.service.dto.EmployerSummaryDTO(employer.id, employer.name) from Employer employer",
+        countQuery = "select count(employer) from Employer employer"
+    )
+    @QueryHints(
+        {
+            @QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"),
+            @QueryHint(name = org.hibernate.annotations.QueryHints.CACHE_REGION, value = EMPLOYER_QUERIES_CACHE),
+        }
+    )
+    Page<EmployerSummaryDTO> findAllCachedSummaries(Pageable pageable);
+
+    /**
+     * A page of the ids and names of the employers with the given name, through the query cache.
+     */
+    @Query(
+        value = "select new com.boostclient.service.dto.EmployerSummaryDTO(employer.id, employer.name) from Employer employer " +
+        "where employer.name = :name",
+        countQuery = "select count(employer) from Employer employer where employer.name = :name"
+    )
+    @QueryHints(
+        {
+            @QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"),
+            @QueryHint(name = org.hibernate.annotations.QueryHints.CACHE_REGION, value = EMPLOYER_QUERIES_CACHE),
+        }
+    )
+    Page<EmployerSummaryDTO> findAllCachedSummariesByName(@Param("name") String name, Pageable pageable);
+
+    /**
+     * The ids and names of all the employers, without loading the entities.
+     */
+    @Query("select new com.boostclient.service.dto.EmployerSummaryDTO(employer.id, employer.name) from Employer employer")
+    List<EmployerSummaryDTO> findAllSummaries();
+
+    @Query("select employer.id from Employer employer where employer.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Delete employers without loading them: Hibernate listeners are not called.
+     */
+    @Modifying
+    @Query("delete from Employer employer where employer.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
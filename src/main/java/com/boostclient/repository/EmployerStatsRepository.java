@@ -0,0 +1,26 @@
+package com.boostclient.repository;
+
+import com.boostclient.domain.EmployerStats;
+import com.boostclient.service.dto.EmployerStatsDTO;
+import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the EmployerStats entity.
+ */
+@Repository
+public interface EmployerStatsRepository extends JpaRepository<EmployerStats, Long> {
+    String STATS_SELECT =
+        "select new com.boostclient.service.dto.EmployerStatsDTO(employer.id, employer.name, stats.employeeCount, stats.quoteCount, stats.latestQuoteDate) " +
+        "from Employer employer left join EmployerStats stats on stats.employerId = employer.id ";
+
+    @Query(value = STATS_SELECT, countQuery = "select count(employer) from Employer employer")
+    Page<EmployerStatsDTO> findAllWithEmployer(Pageable pageable);
+
+    @Query(STATS_SELECT + "where employer.id = :id")
+    Optional<EmployerStatsDTO> findOneWithEmployer(@Param("id") Long id);
+}
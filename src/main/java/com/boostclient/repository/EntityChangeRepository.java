@@ -0,0 +1,20 @@
+package com.boostclient.repository;
+
+import com.boostclient.domain.EntityChange;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the EntityChange entity.
+ */
+@Repository
+public interface EntityChangeRepository extends JpaRepository<EntityChange, Long> {
+    List<EntityChange> findAllByEntityTypeAndEntityIdOrderByIdAsc(String entityType, Long entityId);
+
+    List<EntityChange> findAllByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("select max(entityChange.id) from EntityChange entityChange")
+    Long findMaxId();
+}
@@ -0,0 +1,29 @@
+package com.boostclient.repository;
+
+import com.boostclient.domain.JobLock;
+import java.time.Instant;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the JobLock entity.
+ */
+@Repository
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+    /**
+     * Take the lock of a job if it is free: the conditional update is atomic, so only one instance gets it.
+     *
+     * @return 1 if the lock was taken, 0 otherwise.
+     */
+    @Modifying
+    @Query(
+        "update JobLock jobLock set jobLock.lockUntil = :lockUntil, jobLock.lockedAt = :now, jobLock.lockedBy = :node " +
+        "where jobLock.name = :name and jobLock.lockUntil <= :now"
+    )
+    int lock(@Param("name") String name, @Param("now") Instant now, @Param("lockUntil") Instant lockUntil, @Param("node") String node);
+
+    @Modifying
+    @Query("update JobLock jobLock set jobLock.lockUntil = :lockUntil where jobLock.name = :name and jobLock.lockedBy = :node")
+    int unlock(@Param("name") String name, @Param("lockUntil") Instant lockUntil, @Param("node") String node);
+}
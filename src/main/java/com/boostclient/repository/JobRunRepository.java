@@ -0,0 +1,20 @@
+package com.boostclient.repository;
+
+import com.boostclient.domain.JobRun;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the JobRun entity.
+ */
+@Repository
+public interface JobRunRepository extends JpaRepository<JobRun, Long> {
+    List<JobRun> findAllByJobNameOrderByStartDateDesc(String jobName);
+
+    @Modifying
+    @Query("delete from JobRun run where run.startDate < :startDate")
+    int deleteByStartDateBefore(@Param("startDate") Instant startDate);
+}
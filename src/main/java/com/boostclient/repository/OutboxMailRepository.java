@@ -0,0 +1,37 @@
+package com.boostclient.repository;
+
+import com.boostclient.domain.OutboxMail;
+import com.boostclient.domain.enumeration.MailStatus;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the OutboxMail entity.
+ */
+@Repository
+public interface OutboxMailRepository extends JpaRepository<OutboxMail, Long> {
+    /**
+     * Lock the pending mails that are due, oldest first. Mails locked by another transaction are skipped on the
+     * databases supporting {@code SKIP LOCKED}, and waited for on the others.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+    @Query(
+        "select mail from OutboxMail mail where mail.status = :status and mail.nextAttemptDate <= :now " +
+        "order by mail.nextAttemptDate, mail.id"
+    )
+    List<OutboxMail> findDueForUpdate(@Param("status") MailStatus status, @Param("now") Instant now, Pageable pageable);
+
+    @Modifying
+    @Query("delete from OutboxMail mail where mail.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    long countByStatus(MailStatus status);
+}
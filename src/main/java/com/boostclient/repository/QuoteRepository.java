@@ -1,7 +1,16 @@
 package com.boostclient.repository;
 
 import com.boostclient.domain.Quote;
+import com.boostclient.service.dto.EmployerQuotesDTO;
+import com.boostclient.service.dto.QuoteSummaryDTO;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +18,68 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface QuoteRepository extends JpaRepository<Quote, Long> {}
+public interface QuoteRepository extends JpaRepository<Quote, Long>, RepositoryWithVersionedUpdate<Quote> {
+    String SUMMARY_SELECT =
+        "select new com.boostclient.service.dto.QuoteSummaryDTO(quote.id, quote.name, quote.quoteDate, employer.id, employer.name) " +
+        "from Quote quote join quote.employer employer ";
+
+    @Query("select distinct quote.employer.id from Quote quote where quote.id in :ids")
+    List<Long> findEmployerIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(
+        "select new com.boostclient.service.dto.EmployerQuotesDTO(quote.employer.id, count(quote), max(quote.quoteDate)) " +
+        "from Quote quote where quote.id in :ids group by quote.employer.id"
+    )
+    List<EmployerQuotesDTO> countByEmployerIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select quote.id from Quote quote where quote.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select quote.id from Quote quote where quote.employer.id = :employerId order by quote.id")
+    List<Long> findIdsByEmployerId(@Param("employerId") Long employerId, Pageable pageable);
+
+    /**
+     * Delete quotes without loading them: Hibernate listeners are not called.
+     */
+    @Modifying
+    @Query("delete from Quote quote where quote.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(value = SUMMARY_SELECT, countQuery = "select count(quote) from Quote quote")
+    Page<QuoteSummaryDTO> findAllSummaries(Pageable pageable);
+
+    /**
+     * The quotes dated between two days, included: a range scan of the {@code (quote_date, id)} index.
+     */
+    @Query(
+        value = SUMMARY_SELECT + "where quote.quoteDate between :from and :to",
+        countQuery = "select count(quote) from Quote quote where quote.quoteDate between :from and :to"
+    )
+    Page<QuoteSummaryDTO> findAllSummariesByQuoteDateBetween(@Param("from") LocalDate from, @Param("to") LocalDate to, Pageable pageable);
+
+    /**
+     * The quotes of an employer dated between two days, included: a range scan of the
+     * {@code (employer_id, quote_date, id)} index.
+     */
+    @Query(
+        value = SUMMARY_SELECT + "where quote.employer.id = :employerId and quote.quoteDate between :from and :to",
+        countQuery = "select count(quote) from Quote quote where quote.employer.id = :employerId and quote.quoteDate between :from and :to"
+    )
+    Page<QuoteSummaryDTO> findAllSummariesByEmployerIdAndQuoteDateBetween(
+        @Param("employerId") Long employerId,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to,
+        Pageable pageable
+    );
+
+    /**
+     * Keyset (seek) pagination on {@code (quote_date, id)}: returns the quotes strictly after the given position,
+     * so that the cost of a page does not depend on how deep it is.
+     */
+    @Query(
+        SUMMARY_SELECT +
+        "where quote.quoteDate > :quoteDate or (quote.quoteDate = :quoteDate and quote.id > :id) " +
+        "order by quote.quoteDate asc, quote.id asc"
+    )
+    Slice<QuoteSummaryDTO> findAllSummariesAfter(@Param("quoteDate") LocalDate quoteDate, @Param("id") Long id, Pageable pageable);
+}
@@ -0,0 +1,22 @@
+package com.boostclient.repository;
+
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+/**
+ * Updates detached entities with a single versioned {@code UPDATE}, without reading them first.
+ *
+ * @param <T> the type of the entities, which must have a {@link javax.persistence.Version}.
+ */
+public interface RepositoryWithVersionedUpdate<T> {
+    /**
+     * Write all the columns of a detached entity at once, with {@code update ... where id = ? and version = ?}: unlike
+     * {@code save}, which merges the entity into a copy loaded from the database first. The version of the entity is
+     * then incremented.
+     *
+     * @param entity the entity to update, with the version it was read at.
+     * @return the updated entity, now managed, read again from the database.
+     * @throws ObjectOptimisticLockingFailureException if the entity was updated since it was read, or does not exist.
+     * The persistence context is then cleared, as Hibernate leaves it inconsistent.
+     */
+    T update(T entity);
+}
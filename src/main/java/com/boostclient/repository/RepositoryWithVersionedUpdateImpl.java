@@ -0,0 +1,48 @@
+package com.boostclient.repository;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class RepositoryWithVersionedUpdateImpl<T> implements RepositoryWithVersionedUpdate<T> {
+
+    private final EntityManager entityManager;
+
+    public RepositoryWithVersionedUpdateImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional
+    public T update(T entity) {
+        Session session = entityManager.unwrap(Session.class);
+        try {
+            // Reattached without a snapshot to compare to: every column is written, and the version is checked
+            session.update(entity);
+            session.flush();
+        } catch (PersistenceException e) {
+            session.clear();
+            throw e;
+        }
+        // The entity holds what the request sent, not the columns it does not update nor its references: Hibernate
+        // puts this state in the second-level cache when the transaction commits, so it is evicted afterwards
+        Class<?> type = Hibernate.getClass(entity);
+        Object id = session.getIdentifier(entity);
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(type, id);
+                }
+            }
+        );
+        session.refresh(entity);
+        return entity;
+    }
+}
@@ -5,6 +5,8 @@ import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
@@ -25,6 +27,8 @@ public class TokenProvider {
 
     private static final String AUTHORITIES_KEY = "auth";
 
+    private static final int MAX_CACHED_TOKENS = 10000;
+
     private final Key key;
 
     private final JwtParser jwtParser;
@@ -33,6 +37,8 @@ public class TokenProvider {
 
     private final long tokenValidityInMillisecondsForRememberMe;
 
+    private final VerifiedTokenCache<User> verifiedTokens = new VerifiedTokenCache<>(MAX_CACHED_TOKENS);
+
     public TokenProvider(JHipsterProperties jHipsterProperties) {
         byte[] keyBytes;
         String secret = jHipsterProperties.getSecurity().getAuthentication().getJwt().getSecret();
@@ -75,26 +81,61 @@ public class TokenProvider {
 
     public Authentication getAuthentication(String token) {
         Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        return new UsernamePasswordAuthenticationToken(toPrincipal(claims), token, toAuthorities(claims));
+    }
+
+    public boolean validateToken(String authToken) {
+        return resolveAuthentication(authToken).isPresent();
+    }
+
+    /**
+     * Validate a token and get its authentication in a single pass.
+     * <p>
+     * The principals of verified tokens are cached by token hash until the tokens expire, so a token sent with
+     * many requests is only verified and parsed once.
+     *
+     * @param token the token.
+     * @return the authentication of the token, or empty if the token is not valid.
+     */
+    public Optional<Authentication> resolveAuthentication(String token) {
+        String tokenHash = hash(token);
+        long now = System.currentTimeMillis();
+        User principal = verifiedTokens.get(tokenHash, now);
+        if (principal == null) {
+            Claims claims;
+            try {
+                claims = jwtParser.parseClaimsJws(token).getBody();
+            } catch (JwtException | IllegalArgumentException e) {
+                log.info("Invalid JWT token.");
+                log.trace("Invalid JWT token trace.", e);
+                return Optional.empty();
+            }
+            principal = toPrincipal(claims);
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(tokenHash, principal, claims.getExpiration().getTime(), now);
+            }
+        }
+        return Optional.of(new UsernamePasswordAuthenticationToken(principal, token, principal.getAuthorities()));
+    }
+
+    private User toPrincipal(Claims claims) {
+        return new User(claims.getSubject(), "", toAuthorities(claims));
+    }
 
-        Collection<? extends GrantedAuthority> authorities = Arrays
+    private Collection<? extends GrantedAuthority> toAuthorities(Claims claims) {
+        return Arrays
             .stream(claims.get(AUTHORITIES_KEY).toString().split(","))
             .filter(auth -> !auth.trim().isEmpty())
             .map(SimpleGrantedAuthority::new)
             .collect(Collectors.toList());
-
-        User principal = new User(claims.getSubject(), "", authorities);
-
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
     }
 
-    public boolean validateToken(String authToken) {
+    private static String hash(String token) {
         try {
-            jwtParser.parseClaimsJws(authToken);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            log.info("Invalid JWT token.");
-            log.trace("Invalid JWT token trace.", e);
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform implements SHA-256
+            throw new IllegalStateException(e);
         }
-        return false;
     }
 }
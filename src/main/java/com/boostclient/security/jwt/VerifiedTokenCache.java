@@ -0,0 +1,95 @@
+package com.boostclient.security.jwt;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * A bounded cache of the values extracted from verified tokens, each entry expiring with its token.
+ * <p>
+ * The keys are hashes of the tokens, so that the tokens themselves are not kept in memory. When the cache is full,
+ * the expired entries are removed, then the entries expiring first until the cache is back to 90% of its size: the
+ * next new tokens are then added without scanning the cache.
+ *
+ * @param <V> the type of the cached values.
+ */
+class VerifiedTokenCache<V> {
+
+    private final int maxSize;
+
+    private final int trimmedSize;
+
+    private final ConcurrentHashMap<String, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    VerifiedTokenCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.trimmedSize = maxSize * 9 / 10;
+    }
+
+    /**
+     * @param tokenHash the hash of the token.
+     * @param now the current time, in milliseconds since the epoch.
+     * @return the value cached for the token, or {@code null} if there is none or if the token has expired.
+     */
+    V get(String tokenHash, long now) {
+        Entry<V> entry = entries.get(tokenHash);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= now) {
+            entries.remove(tokenHash, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * @param tokenHash the hash of the token.
+     * @param value the value extracted from the token.
+     * @param expiresAt the expiration time of the token, in milliseconds since the epoch.
+     * @param now the current time, in milliseconds since the epoch.
+     */
+    void put(String tokenHash, V value, long expiresAt, long now) {
+        if (entries.size() >= maxSize) {
+            trim(now);
+        }
+        entries.put(tokenHash, new Entry<>(value, expiresAt));
+    }
+
+    private synchronized void trim(long now) {
+        if (entries.size() < maxSize) {
+            // Trimmed meanwhile by another thread
+            return;
+        }
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+        int excess = entries.size() - trimmedSize;
+        if (excess > 0) {
+            List<String> expiringFirst = entries
+                .entrySet()
+                .stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().expiresAt))
+                .limit(excess)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+            expiringFirst.forEach(entries::remove);
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
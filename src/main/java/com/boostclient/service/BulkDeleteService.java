@@ -0,0 +1,194 @@
+package com.boostclient.service;
+
+import com.boostclient.config.ApplicationProperties;
+import com.boostclient.config.Constants;
+import com.boostclient.domain.Employee;
+import com.boostclient.domain.Employer;
+import com.boostclient.domain.EntityChange;
+import com.boostclient.domain.Quote;
+import com.boostclient.domain.enumeration.EntityChangeAction;
+import com.boostclient.repository.EmployeeRepository;
+import com.boostclient.repository.EmployerRepository;
+import com.boostclient.repository.QuoteRepository;
+import com.boostclient.security.SecurityUtils;
+import com.boostclient.service.dto.DeletedCountsDTO;
+import com.boostclient.service.dto.EmployerQuotesDTO;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for deleting many {@link Quote}s or {@link Employee}s in one call, and {@link Employer}s with their employees
+ * and quotes.
+ * <p>
+ * The rows are deleted without loading them, with bulk statements of up to {@code application.batch.size} ids. For each
+ * statement, Hibernate evicts the second-level cache region of the deleted entity type as a whole and invalidates the
+ * cached queries on its table, but it does not call its listeners: the deletions are sent to the
+ * {@link EntityChangeWriter} and purged from the {@link SearchService} index here, and the employer stats are updated.
+ */
+@Service
+@Transactional
+public class BulkDeleteService {
+
+    private final Logger log = LoggerFactory.getLogger(BulkDeleteService.class);
+
+    private final EmployerRepository employerRepository;
+
+    private final EmployeeRepository employeeRepository;
+
+    private final QuoteRepository quoteRepository;
+
+    private final EmployerStatsService employerStatsService;
+
+    private final EmployerSuggestionService employerSuggestionService;
+
+    private final EntityChangeWriter entityChangeWriter;
+
+    private final SearchService searchService;
+
+    private final ApplicationProperties applicationProperties;
+
+    public BulkDeleteService(
+        EmployerRepository employerRepository,
+        EmployeeRepository employeeRepository,
+        QuoteRepository quoteRepository,
+        EmployerStatsService employerStatsService,
+        EmployerSuggestionService employerSuggestionService,
+        EntityChangeWriter entityChangeWriter,
+        SearchService searchService,
+        ApplicationProperties applicationProperties
+    ) {
+        this.employerRepository = employerRepository;
+        this.employeeRepository = employeeRepository;
+        this.quoteRepository = quoteRepository;
+        this.employerStatsService = employerStatsService;
+        this.employerSuggestionService = employerSuggestionService;
+        this.entityChangeWriter = entityChangeWriter;
+        this.searchService = searchService;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Delete quotes, ignoring the ids of quotes that do not exist.
+     *
+     * @param ids the ids of the quotes.
+     * @return the number of quotes deleted, the other counts being zero.
+     */
+    public DeletedCountsDTO deleteQuotes(Collection<Long> ids) {
+        log.debug("Request to delete {} Quotes", ids.size());
+        long quotes = 0;
+        for (List<Long> chunk : chunks(ids)) {
+            List<Long> existing = quoteRepository.findExistingIds(chunk);
+            if (!existing.isEmpty()) {
+                List<EmployerQuotesDTO> removed = quoteRepository.countByEmployerIdIn(existing);
+                quotes += deleteQuoteChunk(existing);
+                removed.forEach(
+                    employer -> employerStatsService.removeQuotes(employer.getEmployerId(), employer.getCount(), employer.getLatestQuoteDate())
+                );
+            }
+        }
+        return new DeletedCountsDTO(0, 0, quotes);
+    }
+
+    /**
+     * Delete employees, ignoring the ids of employees that do not exist.
+     *
+     * @param ids the ids of the employees.
+     * @return the number of employees deleted, the other counts being zero.
+     */
+    public DeletedCountsDTO deleteEmployees(Collection<Long> ids) {
+        log.debug("Request to delete {} Employees", ids.size());
+        Set<Long> employerIds = new HashSet<>();
+        long employees = 0;
+        for (List<Long> chunk : chunks(ids)) {
+            List<Long> existing = employeeRepository.findExistingIds(chunk);
+            if (!existing.isEmpty()) {
+                employerIds.addAll(employeeRepository.findEmployerIdsByIdIn(existing));
+                employees += deleteEmployeeChunk(existing);
+            }
+        }
+        employerStatsService.recountEmployees(employerIds);
+        return new DeletedCountsDTO(0, employees, 0);
+    }
+
+    /**
+     * Delete an employer with all its quotes and employees.
+     *
+     * @param id the id of the employer.
+     * @return the numbers of employers, employees and quotes deleted, all zero if the employer does not exist.
+     */
+    public DeletedCountsDTO deleteEmployer(Long id) {
+        log.debug("Request to delete Employer with its employees and quotes : {}", id);
+        Pageable chunk = PageRequest.of(0, applicationProperties.getBatch().getSize());
+        // Each chunk is deleted before the next one is read, so the first page is always the next chunk
+        List<Long> ids;
+        long quotes = 0;
+        while (!(ids = quoteRepository.findIdsByEmployerId(id, chunk)).isEmpty()) {
+            quotes += deleteQuoteChunk(ids);
+        }
+        long employees = 0;
+        while (!(ids = employeeRepository.findIdsByEmployerId(id, chunk)).isEmpty()) {
+            employees += deleteEmployeeChunk(ids);
+        }
+        employerStatsService.delete(id);
+        int employers = employerRepository.deleteByIdIn(List.of(id));
+        if (employers > 0) {
+            deleted(Employer.class, List.of(id));
+            employerSuggestionService.writtenAfterCommit(id, null);
+        }
+        return new DeletedCountsDTO(employers, employees, quotes);
+    }
+
+    private int deleteQuoteChunk(List<Long> ids) {
+        int count = quoteRepository.deleteByIdIn(ids);
+        deleted(Quote.class, ids);
+        return count;
+    }
+
+    private int deleteEmployeeChunk(List<Long> ids) {
+        int count = employeeRepository.deleteByIdIn(ids);
+        deleted(Employee.class, ids);
+        return count;
+    }
+
+    private void deleted(Class<?> type, List<Long> ids) {
+        String login = SecurityUtils.getCurrentUserLogin().orElse(Constants.SYSTEM);
+        Instant now = Instant.now();
+        entityChangeWriter.appendAfterCommit(
+            ids
+                .stream()
+                .map(
+                    id ->
+                        new EntityChange()
+                            .entityType(type.getSimpleName())
+                            .entityId(id)
+                            .action(EntityChangeAction.DELETE)
+                            .changedBy(login)
+                            .changedDate(now)
+                )
+                .collect(Collectors.toList())
+        );
+        searchService.purge(type, ids);
+    }
+
+    private List<List<Long>> chunks(Collection<Long> ids) {
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        int size = applicationProperties.getBatch().getSize();
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += size) {
+            chunks.add(distinct.subList(from, Math.min(from + size, distinct.size())));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,530 @@
+package com.boostclient.service;
+
+import com.boostclient.config.ApplicationProperties;
+import com.boostclient.config.Constants;
+import com.boostclient.domain.Employee;
+import com.boostclient.domain.EmployeeImport;
+import com.boostclient.domain.Employer;
+import com.boostclient.domain.EntityChange;
+import com.boostclient.domain.enumeration.EntityChangeAction;
+import com.boostclient.domain.enumeration.ImportStatus;
+import com.boostclient.repository.EmployeeImportRepository;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service for importing employee rosters from CSV files.
+ * <p>
+ * The files use the {@code ;}-separated format of the Liquibase {@code fake-data/employee.csv} loader: a header line
+ * with at least the {@code name}, {@code date_of_birth} and {@code employer_id} (or {@code employer}) columns, then
+ * one employee per line. The employer column holds either the id or the name of an existing employer.
+ * <p>
+ * Uploaded files are stored in the database, so that any instance can run or resume their import, and imported in
+ * the background, one chunk of lines per transaction. The number of
+ * processed lines is committed with each chunk, so an import that was interrupted resumes after its last committed
+ * chunk, either on request or when pending and stalled imports are polled. The imported employees are passed to the
+ * {@link SearchService} and the {@link EntityChangeWriter} with their chunk.
+ * <p>
+ * A run first claims its import with a conditional update, which fails while another run holds it: one that committed
+ * a chunk within the heartbeat timeout. Each chunk is committed with a new heartbeat only while the run still owns the
+ * import, so a run that stalled and lost its claim stops at its next chunk.
+ */
+@Service
+public class EmployeeImportService {
+
+    private static final String INSERT_SQL =
+        "insert into employee (name, date_of_birth, employer_id, created_by, created_date, last_modified_by, last_modified_date) " +
+        "values (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_FILE_SQL = "insert into employee_import_file (employee_import_id, content) values (?, ?)";
+
+    private static final String SELECT_FILE_SQL = "select content from employee_import_file where employee_import_id = ?";
+
+    private static final String DELETE_FILE_SQL = "delete from employee_import_file where employee_import_id = ?";
+
+    private static final char SEPARATOR = ';';
+
+    private static final int MAX_NAME_LENGTH = 255;
+
+    private static final int MAX_ERROR_LENGTH = 1024;
+
+    private final Logger log = LoggerFactory.getLogger(EmployeeImportService.class);
+
+    private final EmployeeImportRepository employeeImportRepository;
+
+    private final EmployerStatsService employerStatsService;
+
+    private final EntityChangeWriter entityChangeWriter;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Executor employeeImportTaskExecutor;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final SearchService searchService;
+
+    private final String node;
+
+    public EmployeeImportService(
+        EmployeeImportRepository employeeImportRepository,
+        EmployerStatsService employerStatsService,
+        EntityChangeWriter entityChangeWriter,
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        @Qualifier("employeeImportTaskExecutor") Executor employeeImportTaskExecutor,
+        ApplicationProperties applicationProperties,
+        SearchService searchService
+    ) {
+        this.employeeImportRepository = employeeImportRepository;
+        this.employerStatsService = employerStatsService;
+        this.entityChangeWriter = entityChangeWriter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.employeeImportTaskExecutor = employeeImportTaskExecutor;
+        this.applicationProperties = applicationProperties;
+        this.searchService = searchService;
+        this.node = ManagementFactory.getRuntimeMXBean().getName();
+    }
+
+    /**
+     * Store an uploaded roster and register its import.
+     *
+     * @param fileName the original name of the file.
+     * @param content the content of the file.
+     * @return the pending import.
+     */
+    @Transactional
+    public EmployeeImport create(String fileName, InputStream content) {
+        EmployeeImport employeeImport = employeeImportRepository.saveAndFlush(
+            new EmployeeImport().fileName(fileName).status(ImportStatus.PENDING).createdDate(Instant.now())
+        );
+        jdbcTemplate.update(
+            INSERT_FILE_SQL,
+            statement -> {
+                statement.setLong(1, employeeImport.getId());
+                statement.setBinaryStream(2, content);
+            }
+        );
+        log.debug("Stored roster {} for EmployeeImport {}", fileName, employeeImport.getId());
+        return employeeImport;
+    }
+
+    /**
+     * Run an import in the background. When all the import threads are busy, a pending import is run by a later poll.
+     *
+     * @param id the id of the import.
+     */
+    public void submit(Long id) {
+        try {
+            employeeImportTaskExecutor.execute(() -> process(id));
+        } catch (TaskRejectedException e) {
+            log.info("EmployeeImport {} waits for the next poll, all import threads are busy", id);
+        }
+    }
+
+    /**
+     * Run a failed or stalled import again, after its last committed chunk.
+     *
+     * @param id the id of the import.
+     * @return {@code false} if the import is completed, or running with a recent heartbeat.
+     */
+    public boolean resume(Long id) {
+        boolean pending = transactionTemplate.execute(status -> employeeImportRepository.requeue(id, staleBefore()) > 0);
+        if (pending) {
+            submit(id);
+        }
+        return pending;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<EmployeeImport> findOne(Long id) {
+        return employeeImportRepository.findById(id);
+    }
+
+    /**
+     * Imports that are pending, or whose run stopped with its instance, are resumed at startup and then polled. An
+     * import running on a live instance cannot be claimed, so it is not run twice.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+        initialDelayString = "${application.employee-import.poll-interval:PT1M}",
+        fixedDelayString = "${application.employee-import.poll-interval:PT1M}"
+    )
+    public void resumeUnfinishedImports() {
+        employeeImportRepository
+            .findClaimableIds(staleBefore())
+            .forEach(
+                id -> {
+                    log.info("Resuming EmployeeImport {}", id);
+                    submit(id);
+                }
+            );
+    }
+
+    /**
+     * Run an import in the calling thread, starting after its last committed chunk, unless another run holds it.
+     *
+     * @param id the id of the import.
+     */
+    public void process(Long id) {
+        String owner = node + "/" + UUID.randomUUID();
+        Long processedLines = transactionTemplate.execute(
+            status -> {
+                if (employeeImportRepository.claim(id, owner, Instant.now(), staleBefore()) == 0) {
+                    return null;
+                }
+                return employeeImportRepository.findById(id).orElseThrow().getProcessedLines();
+            }
+        );
+        if (processedLines == null) {
+            log.debug("EmployeeImport {} is completed or run by another run", id);
+            return;
+        }
+
+        int chunkSize = applicationProperties.getEmployeeImport().getChunkSize();
+        try (BufferedReader reader = read(id)) {
+            String header = reader.readLine();
+            if (header != null) {
+                Columns columns = Columns.of(header);
+                EmployerLookup employers = loadEmployers();
+                // Skip the lines committed by a previous run
+                long skipped = 0;
+                while (skipped < processedLines && reader.readLine() != null) {
+                    skipped++;
+                }
+                long lineNumber = processedLines + 2;
+                List<String> chunk = new ArrayList<>(chunkSize);
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    chunk.add(line);
+                    if (chunk.size() == chunkSize) {
+                        commitChunk(id, owner, chunk, lineNumber, columns, employers);
+                        lineNumber += chunk.size();
+                        chunk.clear();
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    commitChunk(id, owner, chunk, lineNumber, columns, employers);
+                }
+            }
+            finish(id, owner, ImportStatus.COMPLETED, null);
+        } catch (ClaimLostException e) {
+            log.warn("EmployeeImport {} stalled and was claimed by another run", id);
+        } catch (IOException | RuntimeException e) {
+            log.warn("EmployeeImport {} failed", id, e);
+            finish(id, owner, ImportStatus.FAILED, e.getMessage());
+        }
+    }
+
+    /**
+     * Read the stored file of an import. Uploads are small enough to be read at once, freeing the connection.
+     */
+    private BufferedReader read(Long id) {
+        byte[] content = jdbcTemplate.queryForObject(SELECT_FILE_SQL, byte[].class, id);
+        return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8));
+    }
+
+    private Instant staleBefore() {
+        return Instant.now().minus(applicationProperties.getEmployeeImport().getHeartbeatTimeout());
+    }
+
+    private void commitChunk(
+        Long id,
+        String owner,
+        List<String> lines,
+        long firstLineNumber,
+        Columns columns,
+        EmployerLookup employers
+    ) {
+        List<Employee> employees = new ArrayList<>(lines.size());
+        long failed = 0;
+        String lastError = null;
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                employees.add(columns.parse(line, employers));
+            } catch (IllegalArgumentException e) {
+                failed++;
+                lastError = "line " + (firstLineNumber + i) + ": " + e.getMessage();
+            }
+        }
+
+        long failedRows = failed;
+        String error = lastError;
+        // Stored in UTC, as Hibernate does (hibernate.jdbc.time_zone)
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        transactionTemplate.executeWithoutResult(
+            status -> {
+                // Locks the import until this chunk is committed, so that it cannot be claimed meanwhile
+                if (employeeImportRepository.beat(id, owner, Instant.now()) == 0) {
+                    throw new ClaimLostException();
+                }
+                List<Long> ids = insert(employees, now);
+                searchService.index(Employee.class, ids);
+                entityChangeWriter.appendAfterCommit(created(ids));
+                employees
+                    .stream()
+                    .collect(Collectors.groupingBy(employee -> employee.getEmployer().getId(), Collectors.counting()))
+                    .forEach(employerStatsService::addEmployees);
+                EmployeeImport employeeImport = employeeImportRepository.findById(id).orElseThrow();
+                employeeImport.setProcessedLines(employeeImport.getProcessedLines() + lines.size());
+                employeeImport.setImportedRows(employeeImport.getImportedRows() + employees.size());
+                employeeImport.setFailedRows(employeeImport.getFailedRows() + failedRows);
+                if (error != null) {
+                    employeeImport.setLastError(truncate(error));
+                }
+            }
+        );
+    }
+
+    /**
+     * Insert the employees in JDBC batches.
+     *
+     * @return the generated ids.
+     */
+    private List<Long> insert(List<Employee> employees, LocalDateTime now) {
+        int batchSize = applicationProperties.getBatch().getSize();
+        return jdbcTemplate.execute(
+            (ConnectionCallback<List<Long>>) connection -> {
+                List<Long> ids = new ArrayList<>(employees.size());
+                try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                    for (int from = 0; from < employees.size(); from += batchSize) {
+                        for (Employee employee : employees.subList(from, Math.min(from + batchSize, employees.size()))) {
+                            statement.setString(1, employee.getName());
+                            statement.setObject(2, employee.getDateOfBirth());
+                            statement.setLong(3, employee.getEmployer().getId());
+                            statement.setString(4, Constants.SYSTEM);
+                            statement.setObject(5, now);
+                            statement.setString(6, Constants.SYSTEM);
+                            statement.setObject(7, now);
+                            statement.addBatch();
+                        }
+                        statement.executeBatch();
+                        try (ResultSet keys = statement.getGeneratedKeys()) {
+                            while (keys.next()) {
+                                ids.add(keys.getLong(1));
+                            }
+                        }
+                    }
+                }
+                return ids;
+            }
+        );
+    }
+
+    private List<EntityChange> created(List<Long> ids) {
+        Instant now = Instant.now();
+        return ids
+            .stream()
+            .map(
+                id ->
+                    new EntityChange()
+                        .entityType(Employee.class.getSimpleName())
+                        .entityId(id)
+                        .action(EntityChangeAction.CREATE)
+                        .changedBy(Constants.SYSTEM)
+                        .changedDate(now)
+            )
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Record the end of a run, and remove the stored file of a completed import.
+     *
+     * @return {@code false} if another run claimed the import.
+     */
+    private boolean finish(Long id, String owner, ImportStatus status, String error) {
+        return transactionTemplate.execute(
+            transactionStatus -> {
+                if (employeeImportRepository.beat(id, owner, Instant.now()) == 0) {
+                    return false;
+                }
+                EmployeeImport employeeImport = employeeImportRepository.findById(id).orElseThrow();
+                employeeImport.setStatus(status);
+                employeeImport.setFinishedDate(Instant.now());
+                if (error != null) {
+                    employeeImport.setLastError(truncate(error));
+                }
+                if (status == ImportStatus.COMPLETED) {
+                    jdbcTemplate.update(DELETE_FILE_SQL, id);
+                }
+                return true;
+            }
+        );
+    }
+
+    private EmployerLookup loadEmployers() {
+        EmployerLookup employers = new EmployerLookup();
+        jdbcTemplate.query("select id, name from employer", (RowCallbackHandler) rs -> employers.add(rs.getLong(1), rs.getString(2)));
+        return employers;
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    /**
+     * Split a line on the separator, honouring double-quoted fields like Liquibase does. Quoted fields cannot span lines.
+     */
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append(c);
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == SEPARATOR) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Thrown when a run finds that another run claimed its import, rolling back its chunk.
+     */
+    private static final class ClaimLostException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+    }
+
+    /**
+     * Positions of the roster columns, read from the header line.
+     */
+    private static final class Columns {
+
+        private final int name;
+        private final int dateOfBirth;
+        private final int employer;
+
+        private Columns(int name, int dateOfBirth, int employer) {
+            this.name = name;
+            this.dateOfBirth = dateOfBirth;
+            this.employer = employer;
+        }
+
+        static Columns of(String header) {
+            List<String> names = new ArrayList<>();
+            for (String column : split(header.replace("\uFEFF", ""))) {
+                names.add(column.trim().toLowerCase(Locale.ROOT));
+            }
+            int employer = names.indexOf("employer_id");
+            if (employer < 0) {
+                employer = names.indexOf("employer");
+            }
+            if (names.indexOf("name") < 0 || names.indexOf("date_of_birth") < 0 || employer < 0) {
+                throw new IllegalArgumentException("The header must have the name, date_of_birth and employer_id columns");
+            }
+            return new Columns(names.indexOf("name"), names.indexOf("date_of_birth"), employer);
+        }
+
+        Employee parse(String line, EmployerLookup employers) {
+            List<String> fields = split(line);
+            String name = field(fields, this.name);
+            if (name.isEmpty() || name.length() > MAX_NAME_LENGTH) {
+                throw new IllegalArgumentException("name must be between 1 and " + MAX_NAME_LENGTH + " characters");
+            }
+            LocalDate dateOfBirth;
+            try {
+                dateOfBirth = LocalDate.parse(field(fields, this.dateOfBirth));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("date_of_birth must be an ISO date");
+            }
+            Long employerId = employers.resolve(field(fields, this.employer));
+            return new Employee().name(name).dateOfBirth(dateOfBirth).employer(new Employer().id(employerId));
+        }
+
+        private static String field(List<String> fields, int index) {
+            return index < fields.size() ? fields.get(index).trim() : "";
+        }
+    }
+
+    /**
+     * In-memory index of the employers by id and by name.
+     */
+    private static final class EmployerLookup {
+
+        private final Set<Long> ids = new HashSet<>();
+        private final Map<String, Long> idsByName = new HashMap<>();
+        private final Set<String> ambiguousNames = new HashSet<>();
+
+        void add(long id, String name) {
+            ids.add(id);
+            if (idsByName.putIfAbsent(name, id) != null) {
+                ambiguousNames.add(name);
+            }
+        }
+
+        Long resolve(String value) {
+            if (value.isEmpty()) {
+                throw new IllegalArgumentException("employer is required");
+            }
+            try {
+                long id = Long.parseLong(value);
+                if (ids.contains(id)) {
+                    return id;
+                }
+            } catch (NumberFormatException e) {
+                // not an id, try the name
+            }
+            if (ambiguousNames.contains(value)) {
+                throw new IllegalArgumentException("several employers are named '" + value + "'");
+            }
+            Long id = idsByName.get(value);
+            if (id == null) {
+                throw new IllegalArgumentException("employer '" + value + "' not found");
+            }
+            return id;
+        }
+    }
+}
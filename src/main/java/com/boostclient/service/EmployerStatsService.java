@@ -0,0 +1,268 @@
+package com.boostclient.service;
+
+import com.boostclient.domain.Employee;
+import com.boostclient.domain.Quote;
+import com.boostclient.repository.EmployerStatsRepository;
+import com.boostclient.service.dto.EmployerStatsDTO;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import javax.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service maintaining the {@code employer_stats} summary table.
+ * <p>
+ * Writers call it in their own transaction, so the counters commit or roll back with the rows they count. Creations
+ * and deletions only add to the counters, a deletion recomputing the latest quote date only if it removed the quote
+ * holding it. Updates, which may move a row between employers, recount the employers involved through the
+ * {@code employer_id} indexes, only for the counters of the updated entity. Single updates instead remove the entity
+ * from the stats of its current employer, read by the statement itself, before writing it, and add it back after.
+ * An employer gets its stats row on its first employee or quote.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class EmployerStatsService {
+
+    private static final String ADD_EMPLOYEES_SQL = "update employer_stats set employee_count = employee_count + ? where employer_id = ?";
+
+    private static final String ADD_QUOTES_SQL =
+        "update employer_stats set quote_count = quote_count + ?, " +
+        "latest_quote_date = case when latest_quote_date is null or latest_quote_date < ? then ? else latest_quote_date end " +
+        "where employer_id = ?";
+
+    private static final String REMOVE_QUOTES_SQL = "update employer_stats set quote_count = quote_count - ? where employer_id = ?";
+
+    private static final String RECOUNT_LATEST_QUOTE_DATE_SQL =
+        "update employer_stats set latest_quote_date = (select max(quote.quote_date) from quote where quote.employer_id = ?) " +
+        "where employer_id = ? and latest_quote_date <= ?";
+
+    private static final String REMOVE_UPDATED_EMPLOYEE_SQL =
+        "update employer_stats set employee_count = employee_count - 1 " +
+        "where employer_id = (select employee.employer_id from employee where employee.id = ? and employee.version = ? and employee.employer_id <> ?)";
+
+    private static final String REMOVE_UPDATED_QUOTE_SQL =
+        "update employer_stats set quote_count = quote_count - 1, " +
+        "latest_quote_date = case when latest_quote_date <= (select quote.quote_date from quote where quote.id = ?) " +
+        "then (select max(quote.quote_date) from quote where quote.employer_id = employer_stats.employer_id and quote.id <> ?) " +
+        "else latest_quote_date end " +
+        "where employer_id = (" +
+        "select quote.employer_id from quote where quote.id = ? and quote.version = ? and (quote.employer_id <> ? or quote.quote_date <> ?))";
+
+    private static final String RECOUNT_EMPLOYEES_SQL =
+        "update employer_stats set employee_count = (select count(*) from employee where employee.employer_id = ?) where employer_id = ?";
+
+    private static final String RECOUNT_QUOTES_SQL =
+        "update employer_stats set " +
+        "quote_count = (select count(*) from quote where quote.employer_id = ?), " +
+        "latest_quote_date = (select max(quote.quote_date) from quote where quote.employer_id = ?) " +
+        "where employer_id = ?";
+
+    private static final String RECOUNT_SQL =
+        "update employer_stats set " +
+        "employee_count = (select count(*) from employee where employee.employer_id = ?), " +
+        "quote_count = (select count(*) from quote where quote.employer_id = ?), " +
+        "latest_quote_date = (select max(quote.quote_date) from quote where quote.employer_id = ?) " +
+        "where employer_id = ?";
+
+    private static final String INSERT_SQL =
+        "insert into employer_stats (employer_id, employee_count, quote_count, latest_quote_date) " +
+        "select employer.id, " +
+        "(select count(*) from employee where employee.employer_id = employer.id), " +
+        "(select count(*) from quote where quote.employer_id = employer.id), " +
+        "(select max(quote.quote_date) from quote where quote.employer_id = employer.id) " +
+        "from employer where employer.id = ?";
+
+    private static final String DELETE_SQL = "delete from employer_stats where employer_id = ?";
+
+    private final Logger log = LoggerFactory.getLogger(EmployerStatsService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final EmployerStatsRepository employerStatsRepository;
+
+    private final EntityManager entityManager;
+
+    public EmployerStatsService(JdbcTemplate jdbcTemplate, EmployerStatsRepository employerStatsRepository, EntityManager entityManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.employerStatsRepository = employerStatsRepository;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Get the stats of all the employers.
+     *
+     * @param pageable the pagination information.
+     * @return the stats, with zero counts for the employers without employees and quotes.
+     */
+    @Transactional(readOnly = true)
+    public Page<EmployerStatsDTO> findAll(Pageable pageable) {
+        return employerStatsRepository.findAllWithEmployer(pageable);
+    }
+
+    /**
+     * Get the stats of one employer.
+     *
+     * @param employerId the id of the employer.
+     * @return the stats, or empty if the employer does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<EmployerStatsDTO> findOne(Long employerId) {
+        return employerStatsRepository.findOneWithEmployer(employerId);
+    }
+
+    /**
+     * Record employees added to, or removed from when {@code delta} is negative, an employer.
+     *
+     * @param employerId the id of the employer.
+     * @param delta the number of employees added.
+     */
+    public void addEmployees(Long employerId, long delta) {
+        log.debug("Request to add {} employees to the stats of Employer : {}", delta, employerId);
+        if (jdbcTemplate.update(ADD_EMPLOYEES_SQL, delta, employerId) == 0) {
+            recount(employerId);
+        }
+    }
+
+    /**
+     * Record quotes added to an employer.
+     *
+     * @param employerId the id of the employer.
+     * @param count the number of quotes added.
+     * @param latestQuoteDate the latest date of the added quotes.
+     */
+    public void addQuotes(Long employerId, long count, LocalDate latestQuoteDate) {
+        log.debug("Request to add {} quotes to the stats of Employer : {}", count, employerId);
+        if (jdbcTemplate.update(ADD_QUOTES_SQL, count, latestQuoteDate, latestQuoteDate, employerId) == 0) {
+            recount(employerId);
+        }
+    }
+
+    /**
+     * Record quotes removed from an employer. The latest quote date is recomputed only if it was the date of a removed
+     * quote.
+     *
+     * @param employerId the id of the employer.
+     * @param count the number of quotes removed.
+     * @param latestQuoteDate the latest date of the removed quotes.
+     */
+    public void removeQuotes(Long employerId, long count, LocalDate latestQuoteDate) {
+        log.debug("Request to remove {} quotes from the stats of Employer : {}", count, employerId);
+        // The latest quote date is read with SQL, so pending entity changes must be written first
+        entityManager.flush();
+        if (jdbcTemplate.update(REMOVE_QUOTES_SQL, count, employerId) == 0) {
+            recount(employerId);
+        } else {
+            jdbcTemplate.update(RECOUNT_LATEST_QUOTE_DATE_SQL, employerId, employerId, latestQuoteDate);
+        }
+    }
+
+    /**
+     * Remove an employee about to be updated from the stats of its current employer, if the update moves it to another
+     * one. The current employer is read by the statement, from the row at the version of the update: nothing is removed
+     * if the update is going to fail.
+     *
+     * @param employee the employee to update, with the version it was read at.
+     * @return whether the employee was removed, and must be added to its new employer with {@link #addEmployees} once
+     * updated.
+     */
+    public boolean removeUpdatedEmployee(Employee employee) {
+        log.debug("Request to remove the updated Employee : {} from the stats of its Employer", employee.getId());
+        return jdbcTemplate.update(REMOVE_UPDATED_EMPLOYEE_SQL, employee.getId(), employee.getVersion(), employee.getEmployer().getId()) > 0;
+    }
+
+    /**
+     * Remove a quote about to be updated from the stats of its current employer, if the update changes its employer or
+     * its date. The current employer and date are read by the statement, from the row at the version of the update:
+     * nothing is removed if the update is going to fail. The latest quote date is recomputed only if it was the date of
+     * the quote.
+     *
+     * @param quote the quote to update, with the version it was read at.
+     * @return whether the quote was removed, and must be added with {@link #addQuotes} once updated.
+     */
+    public boolean removeUpdatedQuote(Quote quote) {
+        log.debug("Request to remove the updated Quote : {} from the stats of its Employer", quote.getId());
+        Long id = quote.getId();
+        int removed = jdbcTemplate.update(REMOVE_UPDATED_QUOTE_SQL, id, id, id, quote.getVersion(), quote.getEmployer().getId(), quote.getQuoteDate());
+        return removed > 0;
+    }
+
+    /**
+     * Recompute the employee counts of employers from their employees.
+     *
+     * @param employerIds the ids of the employers, {@code null} ids are ignored.
+     */
+    public void recountEmployees(Collection<Long> employerIds) {
+        recount(employerIds, RECOUNT_EMPLOYEES_SQL, 2);
+    }
+
+    /**
+     * Recompute the quote counts and latest quote dates of employers from their quotes.
+     *
+     * @param employerIds the ids of the employers, {@code null} ids are ignored.
+     */
+    public void recountQuotes(Collection<Long> employerIds) {
+        recount(employerIds, RECOUNT_QUOTES_SQL, 3);
+    }
+
+    /**
+     * Recompute the stats of employers from their employees and quotes.
+     *
+     * @param employerIds the ids of the employers, {@code null} ids are ignored.
+     */
+    public void recount(Collection<Long> employerIds) {
+        recount(employerIds, RECOUNT_SQL, 4);
+    }
+
+    /**
+     * Remove the stats of an employer that is about to be deleted.
+     *
+     * @param employerId the id of the employer.
+     */
+    public void delete(Long employerId) {
+        jdbcTemplate.update(DELETE_SQL, employerId);
+    }
+
+    private void recount(Long employerId) {
+        recount(List.of(employerId), RECOUNT_SQL, 4);
+    }
+
+    /**
+     * @param sql the recount statement, whose parameters are all the id of the employer.
+     * @param parameterCount the number of parameters of the statement.
+     */
+    private void recount(Collection<Long> employerIds, String sql, int parameterCount) {
+        // The counts are read with SQL, so pending entity changes must be written first
+        entityManager.flush();
+        employerIds
+            .stream()
+            .filter(Objects::nonNull)
+            .distinct()
+            .forEach(
+                employerId -> {
+                    log.debug("Request to recount the stats of Employer : {}", employerId);
+                    Object[] parameters = Collections.nCopies(parameterCount, employerId).toArray();
+                    if (jdbcTemplate.update(sql, parameters) == 0) {
+                        try {
+                            // The new row has all its counters computed
+                            jdbcTemplate.update(INSERT_SQL, employerId);
+                        } catch (DuplicateKeyException e) {
+                            // Inserted meanwhile by a concurrent transaction
+                            jdbcTemplate.update(sql, parameters);
+                        }
+                    }
+                }
+            );
+    }
+}
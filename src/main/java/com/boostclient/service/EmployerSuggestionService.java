@@ -0,0 +1,333 @@
+package com.boostclient.service;
+
+import com.boostclient.config.ApplicationProperties;
+import com.boostclient.domain.Employer;
+import com.boostclient.repository.EmployerRepository;
+import com.boostclient.service.dto.EmployerSummaryDTO;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service suggesting {@link Employer}s from the first letters of one of the words of their name, for type-ahead fields.
+ * <p>
+ * The names of all the employers are kept in memory, sorted, so suggestions never query the database. They are loaded
+ * when the application is ready, kept current by a Hibernate listener called when employer writes are committed, and
+ * rebuilt from the database every {@code application.employer-suggestions.refresh-interval}, for the employers written
+ * by other instances or without Hibernate and not passed to {@link #writtenAfterCommit(Long, String)}.
+ */
+@Service
+public class EmployerSuggestionService
+    implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]+");
+
+    private final transient Logger log = LoggerFactory.getLogger(EmployerSuggestionService.class);
+
+    private final transient EmployerRepository employerRepository;
+
+    private final transient TransactionTemplate transactionTemplate;
+
+    private final transient ApplicationProperties applicationProperties;
+
+    /**
+     * Guards the writes to the suggestions, so that a rebuild does not lose the changes committed while it reads the
+     * database.
+     */
+    private final transient Object lock = new Object();
+
+    private transient volatile Suggestions suggestions = new Suggestions();
+
+    private transient Suggestions rebuilt;
+
+    public EmployerSuggestionService(
+        EntityManagerFactory entityManagerFactory,
+        EmployerRepository employerRepository,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.employerRepository = employerRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.applicationProperties = applicationProperties;
+        EventListenerRegistry registry = entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    /**
+     * Suggest the employers having a word of their name starting with the prefix, ignoring case, accents and
+     * punctuation. A prefix of several words matches consecutive words of the name, the last one being incomplete.
+     *
+     * @param prefix the first letters typed.
+     * @param size the maximum number of employers, capped by {@code application.employer-suggestions.max-size}.
+     * @return the employers, sorted by their name from the matching word on.
+     */
+    public List<EmployerSummaryDTO> suggest(String prefix, int size) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        int limit = Math.min(size, applicationProperties.getEmployerSuggestions().getMaxSize());
+        Suggestions current = suggestions;
+        Map<Long, String> found = new LinkedHashMap<>();
+        for (Key key : current.keys.tailSet(new Key(normalized, Long.MIN_VALUE))) {
+            if (found.size() >= limit || !key.text.startsWith(normalized)) {
+                break;
+            }
+            String name = current.names.get(key.id);
+            if (name != null) {
+                found.putIfAbsent(key.id, name);
+            }
+        }
+        List<EmployerSummaryDTO> result = new ArrayList<>(found.size());
+        found.forEach((id, name) -> result.add(new EmployerSummaryDTO(id, name)));
+        return result;
+    }
+
+    /**
+     * Rebuild the suggestions from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+        initialDelayString = "${application.employer-suggestions.refresh-interval:PT5M}",
+        fixedDelayString = "${application.employer-suggestions.refresh-interval:PT5M}"
+    )
+    public synchronized void rebuild() {
+        Suggestions next = new Suggestions();
+        synchronized (lock) {
+            rebuilt = next;
+        }
+        try {
+            List<EmployerSummaryDTO> employers = transactionTemplate.execute(status -> employerRepository.findAllSummaries());
+            synchronized (lock) {
+                for (EmployerSummaryDTO employer : employers) {
+                    // Employers written since the read started are already up to date
+                    if (!next.written.contains(employer.getId())) {
+                        next.put(employer.getId(), employer.getName());
+                    }
+                }
+                suggestions = next;
+            }
+            log.debug("Rebuilt the suggestions of {} employers", employers.size());
+        } finally {
+            synchronized (lock) {
+                rebuilt = null;
+            }
+        }
+    }
+
+    /**
+     * Update the suggestions for an employer renamed or deleted without Hibernate, once the current transaction is
+     * committed.
+     *
+     * @param id the id of the employer.
+     * @param name the new name of the employer, or {@code null} if it was deleted.
+     */
+    public void writtenAfterCommit(Long id, String name) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        put(id, name);
+                    }
+                }
+            );
+        } else {
+            put(id, name);
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return Employer.class.equals(persister.getMappedClass());
+    }
+
+    /**
+     * Still abstract in Hibernate 5.4, which calls {@link #requiresPostCommitHandling(EntityPersister)} instead.
+     */
+    @Override
+    @Deprecated
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return requiresPostCommitHandling(persister);
+    }
+
+    /**
+     * Listeners are called for all the entities of the transactions needing post-commit handling, not only employers.
+     */
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Employer) {
+            put((Long) event.getId(), ((Employer) event.getEntity()).getName());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Employer) {
+            put((Long) event.getId(), ((Employer) event.getEntity()).getName());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Employer) {
+            put((Long) event.getId(), null);
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Nothing was changed
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing was changed
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Nothing was changed
+    }
+
+    private void put(Long id, String name) {
+        synchronized (lock) {
+            suggestions.put(id, name);
+            if (rebuilt != null) {
+                rebuilt.written.add(id);
+                rebuilt.put(id, name);
+            }
+        }
+    }
+
+    /**
+     * Lower case the text, strip its accents, and separate its words with single spaces.
+     */
+    static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String words = SEPARATORS.matcher(ACCENTS.matcher(decomposed).replaceAll("")).replaceAll(" ");
+        return words.strip().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The suggestions, readable while they are written.
+     */
+    private static final class Suggestions {
+
+        /**
+         * The normalized names of the employers from each of their words on, so that a prefix of any word is found
+         * with a single range scan.
+         */
+        private final NavigableSet<Key> keys = new ConcurrentSkipListSet<>();
+
+        private final Map<Long, String> names = new ConcurrentHashMap<>();
+
+        /**
+         * The employers written while these suggestions are rebuilt.
+         */
+        private final Set<Long> written = new HashSet<>();
+
+        private void put(Long id, String name) {
+            String previous = name != null ? names.put(id, name) : names.remove(id);
+            if (previous != null) {
+                for (String text : texts(previous)) {
+                    keys.remove(new Key(text, id));
+                }
+            }
+            if (name != null) {
+                for (String text : texts(name)) {
+                    keys.add(new Key(text, id));
+                }
+            }
+        }
+
+        private static Set<String> texts(String name) {
+            String normalized = normalize(name);
+            Set<String> texts = new HashSet<>();
+            Matcher word = WORD.matcher(normalized);
+            while (word.find()) {
+                texts.add(normalized.substring(word.start()));
+            }
+            return texts;
+        }
+    }
+
+    private static final class Key implements Comparable<Key> {
+
+        private final String text;
+
+        private final long id;
+
+        private Key(String text, long id) {
+            this.text = text;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int comparison = text.compareTo(other.text);
+            return comparison != 0 ? comparison : Long.compare(id, other.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return id == other.id && text.equals(other.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(text, id);
+        }
+    }
+}
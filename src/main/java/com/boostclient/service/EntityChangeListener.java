@@ -0,0 +1,129 @@
+package com.boostclient.service;
+
+import com.boostclient.config.Constants;
+import com.boostclient.domain.Employee;
+import com.boostclient.domain.Employer;
+import com.boostclient.domain.EntityChange;
+import com.boostclient.domain.Quote;
+import com.boostclient.domain.enumeration.EntityChangeAction;
+import com.boostclient.security.SecurityUtils;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Set;
+import java.util.StringJoiner;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Service;
+
+/**
+ * Hibernate listener recording the committed changes of the audited entities to the {@link EntityChangeWriter}.
+ * <p>
+ * A single listener is registered for the whole session factory, and it is only called once the transaction is
+ * committed: rolled back changes are not recorded.
+ */
+@Service
+public class EntityChangeListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    static final Set<Class<?>> AUDITED_ENTITIES = Set.of(Employer.class, Employee.class, Quote.class);
+
+    /**
+     * Properties changed with any other one, which are not worth recording.
+     */
+    private static final Set<String> AUDITING_PROPERTIES = Set.of("createdBy", "createdDate", "lastModifiedBy", "lastModifiedDate");
+
+    private static final int MAX_CHANGED_FIELDS_LENGTH = 1024;
+
+    private final transient EntityChangeWriter entityChangeWriter;
+
+    public EntityChangeListener(EntityManagerFactory entityManagerFactory, EntityChangeWriter entityChangeWriter) {
+        this.entityChangeWriter = entityChangeWriter;
+        EventListenerRegistry registry = entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return AUDITED_ENTITIES.contains(persister.getMappedClass());
+    }
+
+    /**
+     * Still abstract in Hibernate 5.4, which calls {@link #requiresPostCommitHandling(EntityPersister)} instead.
+     */
+    @Override
+    @Deprecated
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return requiresPostCommitHandling(persister);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        append(event.getPersister(), event.getId(), EntityChangeAction.CREATE, null);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        String changedFields = null;
+        if (event.getDirtyProperties() != null) {
+            String[] propertyNames = event.getPersister().getPropertyNames();
+            StringJoiner joiner = new StringJoiner(",");
+            for (int property : event.getDirtyProperties()) {
+                if (!AUDITING_PROPERTIES.contains(propertyNames[property])) {
+                    joiner.add(propertyNames[property]);
+                }
+            }
+            changedFields = joiner.toString();
+            if (changedFields.length() > MAX_CHANGED_FIELDS_LENGTH) {
+                changedFields = changedFields.substring(0, MAX_CHANGED_FIELDS_LENGTH);
+            }
+        }
+        append(event.getPersister(), event.getId(), EntityChangeAction.UPDATE, changedFields);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        append(event.getPersister(), event.getId(), EntityChangeAction.DELETE, null);
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Nothing was changed
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing was changed
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Nothing was changed
+    }
+
+    private void append(EntityPersister persister, Serializable id, EntityChangeAction action, String changedFields) {
+        entityChangeWriter.append(
+            new EntityChange()
+                .entityType(persister.getMappedClass().getSimpleName())
+                .entityId((Long) id)
+                .action(action)
+                .changedBy(SecurityUtils.getCurrentUserLogin().orElse(Constants.SYSTEM))
+                .changedDate(Instant.now())
+                .changedFields(changedFields)
+        );
+    }
+}
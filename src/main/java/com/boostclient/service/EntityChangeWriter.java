@@ -0,0 +1,207 @@
+package com.boostclient.service;
+
+import com.boostclient.config.ApplicationProperties;
+import com.boostclient.domain.EntityChange;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service appending {@link EntityChange}s to the change log.
+ * <p>
+ * Changes are queued in memory and written by a dedicated thread, in JDBC batches of {@code application.batch.size}:
+ * recording a change only costs its callers a queue insertion. When the queue is full, callers write the queued changes
+ * themselves instead of dropping them. Queued changes are lost if the application is killed before writing them.
+ */
+@Service
+public class EntityChangeWriter implements SmartLifecycle {
+
+    private static final String INSERT_SQL =
+        "insert into jhi_entity_change (entity_type, entity_id, action, changed_by, changed_date, changed_fields) " +
+        "values (?, ?, ?, ?, ?, ?)";
+
+    private static final long POLL_TIMEOUT_MS = 500;
+
+    private final Logger log = LoggerFactory.getLogger(EntityChangeWriter.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final BlockingQueue<EntityChange> queue;
+
+    private final AtomicLong appended = new AtomicLong();
+
+    private final AtomicLong processed = new AtomicLong();
+
+    private volatile Thread writer;
+
+    public EntityChangeWriter(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.applicationProperties = applicationProperties;
+        this.queue = new ArrayBlockingQueue<>(applicationProperties.getAudit().getQueueCapacity());
+    }
+
+    /**
+     * Queue a change to be written.
+     *
+     * @param change the change.
+     */
+    public void append(EntityChange change) {
+        appended.incrementAndGet();
+        if (!queue.offer(change)) {
+            // The writer thread is behind: help it rather than block or drop the change
+            writeQueued();
+            if (!queue.offer(change)) {
+                write(List.of(change));
+            }
+        }
+    }
+
+    /**
+     * Queue changes to be written once the current transaction, if any, is committed.
+     *
+     * @param changes the changes.
+     */
+    public void appendAfterCommit(Collection<EntityChange> changes) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        changes.forEach(EntityChangeWriter.this::append);
+                    }
+                }
+            );
+        } else {
+            changes.forEach(this::append);
+        }
+    }
+
+    /**
+     * Write the changes appended so far, in the calling thread, and wait for the ones the writer thread is writing.
+     */
+    public void flush() {
+        long target = appended.get();
+        writeQueued();
+        synchronized (processed) {
+            while (processed.get() < target) {
+                try {
+                    processed.wait(POLL_TIMEOUT_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        Thread thread = new Thread(this::run, "boostclient-entity-change-writer");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread thread = writer;
+        writer = null;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        writeQueued();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return writer != null;
+    }
+
+    private void run() {
+        int batchSize = applicationProperties.getBatch().getSize();
+        while (writer == Thread.currentThread()) {
+            try {
+                EntityChange first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    List<EntityChange> batch = new ArrayList<>(batchSize);
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    write(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void writeQueued() {
+        int batchSize = applicationProperties.getBatch().getSize();
+        List<EntityChange> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<EntityChange> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(
+                status ->
+                    jdbcTemplate.batchUpdate(
+                        INSERT_SQL,
+                        batch,
+                        batch.size(),
+                        (statement, change) -> {
+                            statement.setString(1, change.getEntityType());
+                            statement.setLong(2, change.getEntityId());
+                            statement.setString(3, change.getAction().name());
+                            statement.setString(4, change.getChangedBy());
+                            // Stored in UTC, as Hibernate does (hibernate.jdbc.time_zone)
+                            statement.setObject(5, LocalDateTime.ofInstant(change.getChangedDate(), ZoneOffset.UTC));
+                            statement.setString(6, change.getChangedFields());
+                        }
+                    )
+            );
+            log.debug("Wrote {} entity changes", batch.size());
+        } catch (RuntimeException e) {
+            log.error("Could not write {} entity changes", batch.size(), e);
+        } finally {
+            synchronized (processed) {
+                processed.addAndGet(batch.size());
+                processed.notifyAll();
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.boostclient.service;
+
+import com.boostclient.config.ApplicationProperties;
+import com.boostclient.domain.Employee;
+import com.boostclient.domain.Employer;
+import com.boostclient.domain.Quote;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import javax.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for exporting entities as newline-delimited JSON.
+ * <p>
+ * Rows are read through a forward-only {@link ScrollableResults} and written one by one, and the persistence context
+ * is cleared regularly, so an export never holds more than a small window of entities in memory.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ExportService {
+
+    private static final int CLEAR_INTERVAL = 1000;
+
+    private static final byte NEW_LINE = '\n';
+
+    private final Logger log = LoggerFactory.getLogger(ExportService.class);
+
+    private final EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+
+    private final ApplicationProperties applicationProperties;
+
+    public ExportService(EntityManager entityManager, ObjectMapper objectMapper, ApplicationProperties applicationProperties) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.applicationProperties = applicationProperties;
+    }
+
+    public long exportQuotes(OutputStream out) throws IOException {
+        return export("select quote from Quote quote join fetch quote.employer order by quote.id", Quote.class, out);
+    }
+
+    public long exportEmployees(OutputStream out) throws IOException {
+        return export("select employee from Employee employee join fetch employee.employer order by employee.id", Employee.class, out);
+    }
+
+    public long exportEmployers(OutputStream out) throws IOException {
+        return export("select employer from Employer employer order by employer.id", Employer.class, out);
+    }
+
+    private <T> long export(String query, Class<T> type, OutputStream out) throws IOException {
+        log.debug("Exporting {}", type.getSimpleName());
+        ObjectWriter writer = objectMapper
+            .writerFor(type)
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        Session session = entityManager.unwrap(Session.class);
+        long count = 0;
+        try (
+            ScrollableResults results = session
+                .createQuery(query, type)
+                .setFetchSize(applicationProperties.getExport().getFetchSize())
+                .setReadOnly(true)
+                .setCacheMode(CacheMode.IGNORE)
+                .scroll(ScrollMode.FORWARD_ONLY)
+        ) {
+            while (results.next()) {
+                writer.writeValue(out, results.get(0));
+                out.write(NEW_LINE);
+                if (++count % CLEAR_INTERVAL == 0) {
+                    session.clear();
+                }
+            }
+        }
+        out.flush();
+        log.debug("Exported {} {}", count, type.getSimpleName());
+        return count;
+    }
+}
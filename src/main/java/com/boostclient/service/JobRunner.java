@@ -0,0 +1,130 @@
+package com.boostclient.service;
+
+import com.boostclient.domain.JobLock;
+import com.boostclient.domain.JobRun;
+import com.boostclient.domain.enumeration.JobRunStatus;
+import com.boostclient.repository.JobLockRepository;
+import com.boostclient.repository.JobRunRepository;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service running scheduled jobs on a single instance of the application at a time.
+ * <p>
+ * Every instance fires the same schedules: the first one to take the {@link JobLock} of a job runs it, the others
+ * skip it. Each run is recorded as a {@link JobRun}, with its duration and outcome.
+ */
+@Service
+public class JobRunner {
+
+    private static final int MAX_ERROR_LENGTH = 1024;
+
+    private final Logger log = LoggerFactory.getLogger(JobRunner.class);
+
+    private final JobLockRepository jobLockRepository;
+
+    private final JobRunRepository jobRunRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final String node;
+
+    public JobRunner(
+        JobLockRepository jobLockRepository,
+        JobRunRepository jobRunRepository,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.jobLockRepository = jobLockRepository;
+        this.jobRunRepository = jobRunRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.node = ManagementFactory.getRuntimeMXBean().getName();
+    }
+
+    /**
+     * Run a job in the calling thread, unless another instance holds its lock.
+     *
+     * @param name the name of the job, which is the name of its lock.
+     * @param lockAtMostFor how long the lock is held if this instance dies while running the job: it must be longer
+     *                      than the job.
+     * @param lockAtLeastFor how long the lock is held after the job started, even if it ended before: the instances
+     *                       whose clocks are slightly late must not run the job once more.
+     * @param job the job.
+     * @return whether the job was run.
+     */
+    public boolean run(String name, Duration lockAtMostFor, Duration lockAtLeastFor, Runnable job) {
+        Instant start = Instant.now();
+        if (!lock(name, start, start.plus(lockAtMostFor))) {
+            log.debug("Job {} is locked by another instance", name);
+            return false;
+        }
+        JobRun run = transactionTemplate.execute(
+            status -> jobRunRepository.save(new JobRun().jobName(name).node(node).status(JobRunStatus.RUNNING).startDate(start))
+        );
+        long startNanos = System.nanoTime();
+        try {
+            job.run();
+            finish(run, JobRunStatus.SUCCEEDED, null, startNanos);
+        } catch (RuntimeException e) {
+            finish(run, JobRunStatus.FAILED, e.toString(), startNanos);
+            throw e;
+        } finally {
+            Instant minLockUntil = start.plus(lockAtLeastFor);
+            Instant now = Instant.now();
+            Instant lockUntil = now.isAfter(minLockUntil) ? now : minLockUntil;
+            transactionTemplate.executeWithoutResult(status -> jobLockRepository.unlock(name, lockUntil, node));
+        }
+        return true;
+    }
+
+    /**
+     * Delete the runs started before the given date.
+     *
+     * @param startDate the date.
+     * @return the number of runs deleted.
+     */
+    public int removeRunsBefore(Instant startDate) {
+        return transactionTemplate.execute(status -> jobRunRepository.deleteByStartDateBefore(startDate));
+    }
+
+    private boolean lock(String name, Instant now, Instant lockUntil) {
+        try {
+            return transactionTemplate.execute(
+                status -> {
+                    if (jobLockRepository.lock(name, now, lockUntil, node) > 0) {
+                        return true;
+                    }
+                    if (jobLockRepository.existsById(name)) {
+                        return false;
+                    }
+                    // First run of the job
+                    jobLockRepository.saveAndFlush(new JobLock().name(name).lockUntil(lockUntil).lockedAt(now).lockedBy(node));
+                    return true;
+                }
+            );
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the lock first
+            return false;
+        }
+    }
+
+    private void finish(JobRun run, JobRunStatus status, String error, long startNanos) {
+        long durationMs = (System.nanoTime() - startNanos) / 1_000_000;
+        run.status(status).endDate(Instant.now()).durationMs(durationMs);
+        run.setError(error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        transactionTemplate.executeWithoutResult(s -> jobRunRepository.save(run));
+        if (status == JobRunStatus.SUCCEEDED) {
+            log.info("Job {} succeeded in {} ms", run.getJobName(), durationMs);
+        } else {
+            log.warn("Job {} failed after {} ms: {}", run.getJobName(), durationMs, error);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.boostclient.service;
+
+import com.boostclient.config.ApplicationProperties;
+import com.boostclient.config.Constants;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Generates employers, employees and quotes for load tests.
+ * <p>
+ * With the {@code loadtest} profile, the data is generated once the application has started and before it is reported
+ * as ready, unless the database already holds employers. Rows are written with JDBC batches, one chunk per transaction,
+ * so the sizes set in {@code application.load-test} can go well past the {@code fake-data} sets. The search index is
+ * rebuilt once the rows are written.
+ */
+@Service
+@Profile(Constants.SPRING_PROFILE_LOADTEST)
+public class LoadTestDataGenerator implements ApplicationRunner {
+
+    private static final String INSERT_EMPLOYER_SQL = "insert into employer (name) values (?)";
+
+    private static final String INSERT_EMPLOYEE_SQL = "insert into employee (name, date_of_birth, employer_id) values (?, ?, ?)";
+
+    private static final String INSERT_QUOTE_SQL = "insert into quote (name, quote_date, employer_id) values (?, ?, ?)";
+
+    private static final String[] COMPANY_WORDS = {
+        "Acme",
+        "Northwind",
+        "Globex",
+        "Initech",
+        "Umbrella",
+        "Stark",
+        "Wayne",
+        "Tyrell",
+        "Cyberdyne",
+        "Hooli",
+    };
+
+    private static final String[] COMPANY_KINDS = { "Logistics", "Foods", "Systems", "Health", "Retail", "Energy", "Finance", "Media" };
+
+    private static final String[] FIRST_NAMES = {
+        "Alice",
+        "Bob",
+        "Carol",
+        "David",
+        "Emma",
+        "Farid",
+        "Grace",
+        "Hugo",
+        "Ines",
+        "Jun",
+        "Karin",
+        "Liam",
+        "Maya",
+        "Noah",
+        "Olga",
+        "Pablo",
+    };
+
+    private static final String[] LAST_NAMES = {
+        "Martin",
+        "Smith",
+        "Garcia",
+        "Nguyen",
+        "Kowalski",
+        "Rossi",
+        "Dubois",
+        "Schmidt",
+        "Tanaka",
+        "Okafor",
+        "Silva",
+        "Jensen",
+    };
+
+    private static final String[] QUOTE_KINDS = { "Health", "Dental", "Vision", "Life", "Disability", "Pension" };
+
+    private static final LocalDate OLDEST_BIRTH_DATE = LocalDate.of(1955, 1, 1);
+
+    private static final int BIRTH_DATE_RANGE_DAYS = 50 * 365;
+
+    private static final int QUOTE_DATE_RANGE_DAYS = 5 * 365;
+
+    private final Logger log = LoggerFactory.getLogger(LoadTestDataGenerator.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final EmployerStatsService employerStatsService;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final SearchService searchService;
+
+    public LoadTestDataGenerator(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        EmployerStatsService employerStatsService,
+        ApplicationProperties applicationProperties,
+        SearchService searchService
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.employerStatsService = employerStatsService;
+        this.applicationProperties = applicationProperties;
+        this.searchService = searchService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Long existing = jdbcTemplate.queryForObject("select count(*) from employer", Long.class);
+        if (existing != null && existing > 0) {
+            log.info("Skipping load test data generation, the database already holds {} employers", existing);
+            return;
+        }
+        ApplicationProperties.LoadTest loadTest = applicationProperties.getLoadTest();
+        generate(loadTest.getEmployers(), loadTest.getEmployees(), loadTest.getQuotes(), loadTest.getSeed());
+        try {
+            searchService.reindex();
+        } catch (InterruptedException e) {
+            log.warn("Interrupted while rebuilding the search index of the load test data");
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Generate data and commit it.
+     *
+     * @param employers the number of employers.
+     * @param employees the number of employees, spread over the new employers.
+     * @param quotes the number of quotes, spread over the new employers.
+     * @param seed the seed of the generator.
+     * @return the ids of the new employers.
+     */
+    public List<Long> generate(int employers, int employees, int quotes, long seed) {
+        if (employers <= 0) {
+            throw new IllegalArgumentException("At least one employer must be generated");
+        }
+        long start = System.currentTimeMillis();
+        Random random = new Random(seed);
+        LocalDate today = LocalDate.now();
+
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from employer", Long.class);
+        insert(INSERT_EMPLOYER_SQL, employers, i -> companyName(random, i), (statement, name) -> statement.setString(1, name));
+        List<Long> employerIds = jdbcTemplate.queryForList(
+            "select id from employer where id > ? order by id",
+            Long.class,
+            maxId == null ? 0L : maxId
+        );
+        long[] ids = employerIds.stream().mapToLong(Long::longValue).toArray();
+
+        insert(
+            INSERT_EMPLOYEE_SQL,
+            employees,
+            i ->
+                new Row(
+                    pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES),
+                    OLDEST_BIRTH_DATE.plusDays(random.nextInt(BIRTH_DATE_RANGE_DAYS)),
+                    ids[random.nextInt(ids.length)]
+                ),
+            Row::set
+        );
+        insert(
+            INSERT_QUOTE_SQL,
+            quotes,
+            i ->
+                new Row(
+                    pick(random, QUOTE_KINDS) + " quote " + (i + 1),
+                    today.minusDays(random.nextInt(QUOTE_DATE_RANGE_DAYS)),
+                    ids[random.nextInt(ids.length)]
+                ),
+            Row::set
+        );
+        transactionTemplate.executeWithoutResult(status -> employerStatsService.recount(employerIds));
+
+        log.info(
+            "Generated {} employers, {} employees and {} quotes in {} ms",
+            employers,
+            employees,
+            quotes,
+            System.currentTimeMillis() - start
+        );
+        return employerIds;
+    }
+
+    /**
+     * Insert {@code count} generated rows, one chunk of JDBC batches per transaction.
+     */
+    private <T> void insert(String sql, int count, IntFunction<T> generator, ParameterizedPreparedStatementSetter<T> setter) {
+        int batchSize = applicationProperties.getBatch().getSize();
+        int chunkSize = batchSize * 10;
+        List<T> chunk = new ArrayList<>(Math.min(count, chunkSize));
+        for (int i = 0; i < count; i++) {
+            chunk.add(generator.apply(i));
+            if (chunk.size() == chunkSize || i == count - 1) {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, chunk, batchSize, setter));
+                chunk.clear();
+            }
+        }
+    }
+
+    private static String companyName(Random random, int index) {
+        return pick(random, COMPANY_WORDS) + " " + pick(random, COMPANY_KINDS) + " " + (index + 1);
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * An employee or a quote: both have a name, a date and an employer.
+     */
+    private static final class Row {
+
+        private final String name;
+
+        private final LocalDate date;
+
+        private final long employerId;
+
+        private Row(String name, LocalDate date, long employerId) {
+            this.name = name;
+            this.date = date;
+            this.employerId = employerId;
+        }
+
+        private static void set(PreparedStatement statement, Row row) throws SQLException {
+            statement.setString(1, row.name);
+            statement.setObject(2, row.date);
+            statement.setLong(3, row.employerId);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.boostclient.service;
+
+import com.boostclient.config.ApplicationProperties;
+import com.boostclient.domain.OutboxMail;
+import com.boostclient.domain.enumeration.MailStatus;
+import com.boostclient.repository.OutboxMailRepository;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Service sending the mails of the outbox.
+ * <p>
+ * Due mails are claimed in batches: they are locked, pushed back by the claim timeout and committed, so that other
+ * dispatchers skip them while they are sent. Each batch is sent over a single SMTP connection. Sent mails are deleted;
+ * failed ones are retried with an exponential backoff, and left as {@link MailStatus#FAILED} after the last attempt.
+ * <p>
+ * At most {@code application.mail.concurrency} batches are sent at the same time, on the {@code mailTaskExecutor}.
+ */
+@Service
+public class MailDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 1024;
+
+    private final Logger log = LoggerFactory.getLogger(MailDispatcher.class);
+
+    private final OutboxMailRepository outboxMailRepository;
+
+    private final JavaMailSender javaMailSender;
+
+    private final JHipsterProperties jHipsterProperties;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Executor mailTaskExecutor;
+
+    private final Semaphore workers;
+
+    public MailDispatcher(
+        OutboxMailRepository outboxMailRepository,
+        JavaMailSender javaMailSender,
+        JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager,
+        @Qualifier("mailTaskExecutor") Executor mailTaskExecutor
+    ) {
+        this.outboxMailRepository = outboxMailRepository;
+        this.javaMailSender = javaMailSender;
+        this.jHipsterProperties = jHipsterProperties;
+        this.applicationProperties = applicationProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.mailTaskExecutor = mailTaskExecutor;
+        this.workers = new Semaphore(applicationProperties.getMail().getConcurrency());
+    }
+
+    /**
+     * Drain the outbox once the current transaction, if any, is committed.
+     */
+    public void wakeUpAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        wakeUp();
+                    }
+                }
+            );
+        } else {
+            wakeUp();
+        }
+    }
+
+    /**
+     * Drain the outbox in the background, unless all the dispatcher threads are busy.
+     */
+    public void wakeUp() {
+        if (!workers.tryAcquire()) {
+            return;
+        }
+        try {
+            mailTaskExecutor.execute(
+                () -> {
+                    try {
+                        drain();
+                    } finally {
+                        workers.release();
+                    }
+                }
+            );
+        } catch (RejectedExecutionException e) {
+            workers.release();
+            log.warn("Mail dispatcher could not be started, the outbox will be drained at the next poll", e);
+        }
+    }
+
+    /**
+     * Mails that are due for a retry, or written by other instances, are picked up here.
+     */
+    @Scheduled(fixedDelayString = "${application.mail.poll-interval:PT10S}")
+    public void poll() {
+        wakeUp();
+    }
+
+    /**
+     * Send the due mails in the calling thread, batch after batch, until none is due.
+     *
+     * @return the number of mails sent.
+     */
+    public int drain() {
+        int batchSize = applicationProperties.getMail().getBatchSize();
+        int sent = 0;
+        List<OutboxMail> batch;
+        while (!(batch = claim(batchSize)).isEmpty()) {
+            if (batch.size() == batchSize) {
+                // More mails are likely due: let another thread send them meanwhile
+                wakeUp();
+            }
+            sent += send(batch);
+        }
+        return sent;
+    }
+
+    private List<OutboxMail> claim(int batchSize) {
+        return transactionTemplate.execute(
+            status -> {
+                Instant now = Instant.now();
+                List<OutboxMail> mails = outboxMailRepository.findDueForUpdate(MailStatus.PENDING, now, PageRequest.of(0, batchSize));
+                Instant claimedUntil = now.plus(applicationProperties.getMail().getClaimTimeout());
+                mails.forEach(mail -> mail.setNextAttemptDate(claimedUntil));
+                return mails;
+            }
+        );
+    }
+
+    private int send(List<OutboxMail> batch) {
+        Map<Long, String> errors = new HashMap<>();
+        List<MimeMessage> messages = new ArrayList<>(batch.size());
+        Map<MimeMessage, Long> ids = new HashMap<>();
+        for (OutboxMail mail : batch) {
+            try {
+                MimeMessage message = toMimeMessage(mail);
+                messages.add(message);
+                ids.put(message, mail.getId());
+            } catch (MessagingException e) {
+                errors.put(mail.getId(), e.getMessage());
+            }
+        }
+
+        if (!messages.isEmpty()) {
+            try {
+                // One SMTP connection for the whole batch
+                javaMailSender.send(messages.toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                e.getFailedMessages().forEach((message, cause) -> errors.put(ids.get(message), String.valueOf(cause.getMessage())));
+                if (e.getFailedMessages().isEmpty()) {
+                    ids.values().forEach(id -> errors.put(id, String.valueOf(e.getMessage())));
+                }
+            } catch (MailException e) {
+                ids.values().forEach(id -> errors.put(id, String.valueOf(e.getMessage())));
+            }
+        }
+
+        List<Long> sent = new ArrayList<>(batch.size());
+        batch.stream().map(OutboxMail::getId).filter(id -> !errors.containsKey(id)).forEach(sent::add);
+        transactionTemplate.executeWithoutResult(
+            status -> {
+                if (!sent.isEmpty()) {
+                    outboxMailRepository.deleteByIdIn(sent);
+                }
+                outboxMailRepository.findAllById(errors.keySet()).forEach(mail -> retryLater(mail, errors.get(mail.getId())));
+            }
+        );
+        log.debug("Sent {} mails, {} failed", sent.size(), errors.size());
+        return sent.size();
+    }
+
+    private void retryLater(OutboxMail mail, String error) {
+        ApplicationProperties.Mail properties = applicationProperties.getMail();
+        int attempts = mail.getAttempts() + 1;
+        mail.setAttempts(attempts);
+        mail.setLastError(error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        if (attempts >= properties.getMaxAttempts()) {
+            log.warn("Email could not be sent to '{}' after {} attempts: {}", mail.getRecipient(), attempts, error);
+            mail.setStatus(MailStatus.FAILED);
+        } else {
+            log.debug("Email could not be sent to '{}', attempt {}: {}", mail.getRecipient(), attempts, error);
+            mail.setNextAttemptDate(Instant.now().plus(retryDelay(attempts, properties)));
+        }
+    }
+
+    /**
+     * The delay after the given number of failed attempts: the retry delay, doubled after each attempt, up to the
+     * maximum delay.
+     */
+    static Duration retryDelay(int attempts, ApplicationProperties.Mail properties) {
+        Duration delay = properties.getRetryDelay();
+        for (int i = 1; i < attempts && delay.compareTo(properties.getMaxRetryDelay()) < 0; i++) {
+            delay = delay.multipliedBy(2);
+        }
+        return delay.compareTo(properties.getMaxRetryDelay()) < 0 ? delay : properties.getMaxRetryDelay();
+    }
+
+    private MimeMessage toMimeMessage(OutboxMail mail) throws MessagingException {
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper message = new MimeMessageHelper(mimeMessage, mail.getMultipart(), StandardCharsets.UTF_8.name());
+        message.setTo(mail.getRecipient());
+        message.setFrom(jHipsterProperties.getMail().getFrom());
+        message.setSubject(mail.getSubject());
+        message.setText(mail.getContent(), mail.getHtml());
+        return mimeMessage;
+    }
+}
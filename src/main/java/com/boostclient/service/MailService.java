@@ -1,112 +1,121 @@
 package com.boostclient.service;
 
+import com.boostclient.domain.OutboxMail;
 import com.boostclient.domain.User;
-import java.nio.charset.StandardCharsets;
-import java.util.Locale;
-import javax.mail.MessagingException;
-import javax.mail.internet.MimeMessage;
+import com.boostclient.domain.enumeration.MailStatus;
+import com.boostclient.repository.OutboxMailRepository;
+import com.boostclient.service.MailTemplateRenderer.RenderedMail;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.MessageSource;
-import org.springframework.mail.MailException;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.context.Context;
-import org.thymeleaf.spring5.SpringTemplateEngine;
-import tech.jhipster.config.JHipsterProperties;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service for sending emails.
  * <p>
- * We use the {@link Async} annotation to send emails asynchronously.
+ * Emails are rendered in the calling thread by the {@link MailTemplateRenderer} and written to a persistent outbox,
+ * from which the {@link MailDispatcher} sends them in the background, so that they survive restarts and failures of the
+ * mail server.
  */
 @Service
 public class MailService {
 
     private final Logger log = LoggerFactory.getLogger(MailService.class);
 
-    private static final String USER = "user";
+    private final OutboxMailRepository outboxMailRepository;
 
-    private static final String BASE_URL = "baseUrl";
+    private final MailDispatcher mailDispatcher;
 
-    private final JHipsterProperties jHipsterProperties;
-
-    private final JavaMailSender javaMailSender;
-
-    private final MessageSource messageSource;
-
-    private final SpringTemplateEngine templateEngine;
+    private final MailTemplateRenderer mailTemplateRenderer;
 
     public MailService(
-        JHipsterProperties jHipsterProperties,
-        JavaMailSender javaMailSender,
-        MessageSource messageSource,
-        SpringTemplateEngine templateEngine
+        OutboxMailRepository outboxMailRepository,
+        MailDispatcher mailDispatcher,
+        MailTemplateRenderer mailTemplateRenderer
     ) {
-        this.jHipsterProperties = jHipsterProperties;
-        this.javaMailSender = javaMailSender;
-        this.messageSource = messageSource;
-        this.templateEngine = templateEngine;
+        this.outboxMailRepository = outboxMailRepository;
+        this.mailDispatcher = mailDispatcher;
+        this.mailTemplateRenderer = mailTemplateRenderer;
     }
 
-    @Async
+    /**
+     * Write an email to the outbox. It is sent by the {@link MailDispatcher} once the current transaction, if any, is
+     * committed, and not at all if it is rolled back.
+     */
     public void sendEmail(String to, String subject, String content, boolean isMultipart, boolean isHtml) {
         log.debug(
-            "Send email[multipart '{}' and html '{}'] to '{}' with subject '{}' and content={}",
+            "Queue email[multipart '{}' and html '{}'] to '{}' with subject '{}' and content={}",
             isMultipart,
             isHtml,
             to,
             subject,
             content
         );
-
-        // Prepare message using a Spring helper
-        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
-        try {
-            MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart, StandardCharsets.UTF_8.name());
-            message.setTo(to);
-            message.setFrom(jHipsterProperties.getMail().getFrom());
-            message.setSubject(subject);
-            message.setText(content, isHtml);
-            javaMailSender.send(mimeMessage);
-            log.debug("Sent email to User '{}'", to);
-        } catch (MailException | MessagingException e) {
-            log.warn("Email could not be sent to user '{}'", to, e);
-        }
+        outboxMailRepository.save(outboxMail(to, subject, content, isMultipart, isHtml, Instant.now()));
+        mailDispatcher.wakeUpAfterCommit();
     }
 
-    @Async
     public void sendEmailFromTemplate(User user, String templateName, String titleKey) {
         if (user.getEmail() == null) {
             log.debug("Email doesn't exist for user '{}'", user.getLogin());
             return;
         }
-        Locale locale = Locale.forLanguageTag(user.getLangKey());
-        Context context = new Context(locale);
-        context.setVariable(USER, user);
-        context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
-        String content = templateEngine.process(templateName, context);
-        String subject = messageSource.getMessage(titleKey, null, locale);
-        sendEmail(user.getEmail(), subject, content, false, true);
+        RenderedMail mail = mailTemplateRenderer.render(user, templateName, titleKey);
+        sendEmail(mail.getTo(), mail.getSubject(), mail.getContent(), false, true);
+    }
+
+    /**
+     * Send a template to many users, such as a campaign: the mails are rendered in one pass per language and written
+     * to the outbox in one transaction.
+     *
+     * @param users the recipients, users without email are skipped.
+     * @param templateName the name of the template.
+     * @param titleKey the message key of the subject.
+     * @return the number of queued mails.
+     */
+    @Transactional
+    public int sendEmailFromTemplate(Collection<User> users, String templateName, String titleKey) {
+        List<RenderedMail> mails = mailTemplateRenderer.renderAll(users, templateName, titleKey);
+        log.debug("Queue {} emails from template '{}'", mails.size(), templateName);
+        Instant now = Instant.now();
+        outboxMailRepository.saveAll(
+            mails
+                .stream()
+                .map(mail -> outboxMail(mail.getTo(), mail.getSubject(), mail.getContent(), false, true, now))
+                .collect(Collectors.toList())
+        );
+        mailDispatcher.wakeUpAfterCommit();
+        return mails.size();
     }
 
-    @Async
     public void sendActivationEmail(User user) {
         log.debug("Sending activation email to '{}'", user.getEmail());
         sendEmailFromTemplate(user, "mail/activationEmail", "email.activation.title");
     }
 
-    @Async
     public void sendCreationEmail(User user) {
         log.debug("Sending creation email to '{}'", user.getEmail());
         sendEmailFromTemplate(user, "mail/creationEmail", "email.activation.title");
     }
 
-    @Async
     public void sendPasswordResetMail(User user) {
         log.debug("Sending password reset email to '{}'", user.getEmail());
         sendEmailFromTemplate(user, "mail/passwordResetEmail", "email.reset.title");
     }
+
+    private static OutboxMail outboxMail(String to, String subject, String content, boolean isMultipart, boolean isHtml, Instant now) {
+        return new OutboxMail()
+            .recipient(to)
+            .subject(subject)
+            .content(content)
+            .multipart(isMultipart)
+            .html(isHtml)
+            .status(MailStatus.PENDING)
+            .nextAttemptDate(now)
+            .createdDate(now);
+    }
 }
@@ -0,0 +1,193 @@
+package com.boostclient.service;
+
+import com.boostclient.config.Constants;
+import com.boostclient.domain.User;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.MessageSource;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Service rendering the mail templates for users.
+ * <p>
+ * Parsed templates are kept by the Thymeleaf template cache, which is filled at startup. The locale and the subject of
+ * each language are resolved once and kept, unless the template cache is disabled ({@code spring.thymeleaf.cache}), so
+ * that edited templates and messages are picked up in development.
+ */
+@Service
+public class MailTemplateRenderer {
+
+    static final String USER = "user";
+
+    static final String BASE_URL = "baseUrl";
+
+    /**
+     * The templates parsed at startup.
+     */
+    static final List<String> TEMPLATES = List.of("mail/activationEmail", "mail/creationEmail", "mail/passwordResetEmail");
+
+    private final Logger log = LoggerFactory.getLogger(MailTemplateRenderer.class);
+
+    private final JHipsterProperties jHipsterProperties;
+
+    private final MessageSource messageSource;
+
+    private final SpringTemplateEngine templateEngine;
+
+    private final boolean cache;
+
+    private final ConcurrentMap<String, LocaleMessages> localeMessages = new ConcurrentHashMap<>();
+
+    public MailTemplateRenderer(
+        JHipsterProperties jHipsterProperties,
+        MessageSource messageSource,
+        SpringTemplateEngine templateEngine,
+        ThymeleafProperties thymeleafProperties
+    ) {
+        this.jHipsterProperties = jHipsterProperties;
+        this.messageSource = messageSource;
+        this.templateEngine = templateEngine;
+        this.cache = thymeleafProperties.isCache();
+    }
+
+    /**
+     * Parse the mail templates into the template cache, so that the first mails do not pay for it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void parseTemplates() {
+        if (!cache) {
+            return;
+        }
+        User user = new User();
+        user.setLogin(Constants.SYSTEM);
+        user.setLangKey(Constants.DEFAULT_LANGUAGE);
+        TEMPLATES.forEach(template -> templateEngine.process(template, context(messages(user.getLangKey()), user)));
+        log.debug("Parsed mail templates {}", TEMPLATES);
+    }
+
+    /**
+     * Render a template for one user.
+     *
+     * @param user the recipient, which must have an email.
+     * @param templateName the name of the template.
+     * @param titleKey the message key of the subject.
+     * @return the mail.
+     */
+    public RenderedMail render(User user, String templateName, String titleKey) {
+        LocaleMessages messages = messages(user.getLangKey());
+        String content = templateEngine.process(templateName, context(messages, user));
+        return new RenderedMail(user.getEmail(), messages.subject(titleKey), content);
+    }
+
+    /**
+     * Render a template for many users in one pass per language: the subject and the template context are resolved
+     * once per language.
+     *
+     * @param users the recipients, users without email are skipped.
+     * @param templateName the name of the template.
+     * @param titleKey the message key of the subject.
+     * @return the mails, grouped by language.
+     */
+    public List<RenderedMail> renderAll(Collection<User> users, String templateName, String titleKey) {
+        Map<String, List<User>> usersByLangKey = new LinkedHashMap<>();
+        for (User user : users) {
+            if (user.getEmail() != null) {
+                usersByLangKey.computeIfAbsent(langKey(user.getLangKey()), key -> new ArrayList<>()).add(user);
+            }
+        }
+        List<RenderedMail> mails = new ArrayList<>(users.size());
+        usersByLangKey.forEach(
+            (langKey, recipients) -> {
+                LocaleMessages messages = messages(langKey);
+                String subject = messages.subject(titleKey);
+                Context context = context(messages, null);
+                for (User user : recipients) {
+                    context.setVariable(USER, user);
+                    mails.add(new RenderedMail(user.getEmail(), subject, templateEngine.process(templateName, context)));
+                }
+            }
+        );
+        return mails;
+    }
+
+    private Context context(LocaleMessages messages, User user) {
+        Context context = new Context(messages.locale);
+        context.setVariable(USER, user);
+        context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
+        return context;
+    }
+
+    private LocaleMessages messages(String langKey) {
+        String key = langKey(langKey);
+        if (!cache) {
+            return new LocaleMessages(key);
+        }
+        return localeMessages.computeIfAbsent(key, LocaleMessages::new);
+    }
+
+    private static String langKey(String langKey) {
+        return langKey != null ? langKey : Constants.DEFAULT_LANGUAGE;
+    }
+
+    /**
+     * The locale of a language and its subjects by message key.
+     */
+    private final class LocaleMessages {
+
+        private final Locale locale;
+
+        private final ConcurrentMap<String, String> subjects = new ConcurrentHashMap<>();
+
+        private LocaleMessages(String langKey) {
+            this.locale = Locale.forLanguageTag(langKey);
+        }
+
+        private String subject(String titleKey) {
+            return subjects.computeIfAbsent(titleKey, key -> messageSource.getMessage(key, null, locale));
+        }
+    }
+
+    /**
+     * A rendered mail.
+     */
+    public static final class RenderedMail {
+
+        private final String to;
+
+        private final String subject;
+
+        private final String content;
+
+        RenderedMail(String to, String subject, String content) {
+            this.to = to;
+            this.subject = subject;
+            this.content = content;
+        }
+
+        public String getTo() {
+            return to;
+        }
+
+        public String getSubject() {
+            return subject;
+        }
+
+        public String getContent() {
+            return content;
+        }
+    }
+}
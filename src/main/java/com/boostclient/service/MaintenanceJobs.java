@@ -0,0 +1,62 @@
+package com.boostclient.service;
+
+import com.boostclient.config.ApplicationProperties;
+import java.time.Duration;
+import java.time.Instant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * The scheduled maintenance jobs, each run by one instance of the application through the {@link JobRunner}.
+ */
+@Service
+public class MaintenanceJobs {
+
+    static final String REMOVE_NOT_ACTIVATED_USERS = "removeNotActivatedUsers";
+
+    static final String REMOVE_OLD_JOB_RUNS = "removeOldJobRuns";
+
+    private final Logger log = LoggerFactory.getLogger(MaintenanceJobs.class);
+
+    private final JobRunner jobRunner;
+
+    private final UserService userService;
+
+    private final ApplicationProperties applicationProperties;
+
+    public MaintenanceJobs(JobRunner jobRunner, UserService userService, ApplicationProperties applicationProperties) {
+        this.jobRunner = jobRunner;
+        this.userService = userService;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Not activated users should be automatically deleted after 3 days.
+     * <p>
+     * This is scheduled to get fired everyday, at 01:00 (am).
+     */
+    @Scheduled(cron = "0 0 1 * * ?")
+    public void removeNotActivatedUsers() {
+        jobRunner.run(REMOVE_NOT_ACTIVATED_USERS, Duration.ofHours(1), Duration.ofMinutes(5), userService::removeNotActivatedUsers);
+    }
+
+    /**
+     * The job runs are kept for {@code application.jobs.run-history-retention}.
+     * <p>
+     * This is scheduled to get fired everyday, at 01:30 (am).
+     */
+    @Scheduled(cron = "0 30 1 * * ?")
+    public void removeOldJobRuns() {
+        jobRunner.run(
+            REMOVE_OLD_JOB_RUNS,
+            Duration.ofMinutes(10),
+            Duration.ofMinutes(5),
+            () -> {
+                Instant startDate = Instant.now().minus(applicationProperties.getJobs().getRunHistoryRetention());
+                log.debug("Deleted {} job runs started before {}", jobRunner.removeRunsBefore(startDate), startDate);
+            }
+        );
+    }
+}
@@ -0,0 +1,191 @@
+package com.boostclient.service;
+
+import com.boostclient.config.Constants;
+import com.boostclient.domain.EntityChange;
+import com.boostclient.domain.enumeration.EntityChangeAction;
+import com.boostclient.security.SecurityUtils;
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validator;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service applying merge patches to audited entities with a single {@code UPDATE} of the patched columns.
+ * <p>
+ * The entities are neither read nor dirty checked: the statement is built from the Hibernate mapping and run with
+ * plain JDBC. As Hibernate does not see it, the auditing columns and the version are set here, the updated entity is
+ * evicted from the second-level cache, the cached queries on its table are invalidated, the change is sent to the
+ * {@link EntityChangeWriter} and the entity is passed to the {@link SearchService}.
+ */
+@Service
+@Transactional
+public class PartialUpdateService {
+
+    private static final Set<String> AUDITING_PROPERTIES = Set.of("createdBy", "createdDate", "lastModifiedBy", "lastModifiedDate");
+
+    private final Logger log = LoggerFactory.getLogger(PartialUpdateService.class);
+
+    private final EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Validator validator;
+
+    private final EntityChangeWriter entityChangeWriter;
+
+    private final SearchService searchService;
+
+    public PartialUpdateService(
+        EntityManager entityManager,
+        JdbcTemplate jdbcTemplate,
+        Validator validator,
+        EntityChangeWriter entityChangeWriter,
+        SearchService searchService
+    ) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.validator = validator;
+        this.entityChangeWriter = entityChangeWriter;
+        this.searchService = searchService;
+    }
+
+    /**
+     * Update the given properties of an entity, and increment its version.
+     *
+     * @param type the type of the entity, an auditing and versioned one.
+     * @param id the id of the entity.
+     * @param version the version the entity must still be at, or {@code null} to update any version.
+     * @param values the new values of the patched properties, by name: basic properties only, {@code null} values
+     *               excluded. An empty patch writes nothing, and only checks that the entity exists.
+     * @return {@code false} if no entity has this id, at this version if given.
+     * @throws ConstraintViolationException if a value is not valid.
+     * @throws IllegalArgumentException if a property cannot be patched.
+     */
+    public boolean update(Class<?> type, Long id, Long version, Map<String, Object> values) {
+        log.debug("Request to partially update {} {} at version {} : {}", type.getSimpleName(), id, version, values.keySet());
+        validate(type, values);
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        AbstractEntityPersister persister = (AbstractEntityPersister) session.getFactory().getMetamodel().entityPersister(type);
+        Object managed = session.getPersistenceContextInternal().getEntity(session.generateEntityKey(id, persister));
+        if (managed != null) {
+            // The patched entity must be read again from the database, not from this stale copy
+            entityManager.flush();
+            entityManager.detach(managed);
+        }
+
+        List<Object> arguments = new ArrayList<>();
+        StringJoiner assignments = new StringJoiner(", ");
+        for (Map.Entry<String, Object> value : values.entrySet()) {
+            assignments.add(column(persister, value.getKey()) + " = ?");
+            arguments.add(value.getValue());
+        }
+        String where = " where " + persister.getIdentifierColumnNames()[0] + " = ?";
+        List<Object> keys = new ArrayList<>(List.of(id));
+        if (version != null) {
+            where += " and " + versionColumn(persister) + " = ?";
+            keys.add(version);
+        }
+        if (values.isEmpty()) {
+            return !jdbcTemplate.queryForList("select 1 from " + persister.getTableName() + where, Integer.class, keys.toArray()).isEmpty();
+        }
+
+        String login = SecurityUtils.getCurrentUserLogin().orElse(Constants.SYSTEM);
+        Instant now = Instant.now();
+        assignments.add(persister.getPropertyColumnNames("lastModifiedBy")[0] + " = ?");
+        arguments.add(login);
+        assignments.add(persister.getPropertyColumnNames("lastModifiedDate")[0] + " = ?");
+        // In UTC, as Hibernate stores it (hibernate.jdbc.time_zone)
+        arguments.add(LocalDateTime.ofInstant(now, ZoneOffset.UTC));
+        assignments.add(versionColumn(persister) + " = " + versionColumn(persister) + " + 1");
+        arguments.addAll(keys);
+        if (jdbcTemplate.update("update " + persister.getTableName() + " set " + assignments + where, arguments.toArray()) == 0) {
+            return false;
+        }
+
+        evictAfterUpdate(session, persister, id);
+        entityChangeWriter.appendAfterCommit(
+            List.of(
+                new EntityChange()
+                    .entityType(type.getSimpleName())
+                    .entityId(id)
+                    .action(EntityChangeAction.UPDATE)
+                    .changedBy(login)
+                    .changedDate(now)
+                    .changedFields(String.join(",", values.keySet()))
+            )
+        );
+        searchService.index(type, List.of(id));
+        return true;
+    }
+
+    private void validate(Class<?> type, Map<String, Object> values) {
+        for (Map.Entry<String, Object> value : values.entrySet()) {
+            Set<? extends ConstraintViolation<?>> violations = validator.validateValue(type, value.getKey(), value.getValue());
+            if (!violations.isEmpty()) {
+                throw new ConstraintViolationException(violations);
+            }
+        }
+    }
+
+    /**
+     * Evict the entity from the second-level cache, and invalidate the cached queries on its table, as Hibernate does
+     * for its own updates: right away, so that this transaction reads the update, and again once it is completed, in
+     * case other transactions cached the previous state in between.
+     */
+    private void evictAfterUpdate(SessionImplementor session, AbstractEntityPersister persister, Serializable id) {
+        CacheImplementor cache = session.getFactory().getCache();
+        TimestampsCache timestampsCache = cache.getTimestampsCache();
+        String[] spaces = (String[]) persister.getQuerySpaces();
+        cache.evictEntityData(persister.getEntityName(), id);
+        timestampsCache.preInvalidate(spaces, session);
+        session
+            .getActionQueue()
+            .registerProcess(
+                (success, completedSession) -> {
+                    cache.evictEntityData(persister.getEntityName(), id);
+                    timestampsCache.invalidate(spaces, completedSession);
+                }
+            );
+    }
+
+    private static String column(AbstractEntityPersister persister, String property) {
+        if (
+            property.equals(persister.getIdentifierPropertyName()) ||
+            (persister.isVersioned() && property.equals(persister.getPropertyNames()[persister.getVersionProperty()])) ||
+            AUDITING_PROPERTIES.contains(property) ||
+            persister.getPropertyType(property).isAssociationType()
+        ) {
+            throw new IllegalArgumentException(property + " of " + persister.getEntityName() + " cannot be partially updated");
+        }
+        String[] columns = persister.getPropertyColumnNames(property);
+        if (columns.length != 1) {
+            throw new IllegalArgumentException(property + " of " + persister.getEntityName() + " cannot be partially updated");
+        }
+        return columns[0];
+    }
+
+    private static String versionColumn(AbstractEntityPersister persister) {
+        if (!persister.isVersioned()) {
+            throw new IllegalArgumentException(persister.getEntityName() + " is not versioned");
+        }
+        return persister.getPropertyColumnNames(persister.getVersionProperty())[0];
+    }
+}
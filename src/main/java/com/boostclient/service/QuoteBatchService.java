@@ -0,0 +1,293 @@
+package com.boostclient.service;
+
+import com.boostclient.config.ApplicationProperties;
+import com.boostclient.config.Constants;
+import com.boostclient.domain.Employer;
+import com.boostclient.domain.EntityChange;
+import com.boostclient.domain.Quote;
+import com.boostclient.domain.enumeration.EntityChangeAction;
+import com.boostclient.repository.EmployerRepository;
+import com.boostclient.repository.QuoteRepository;
+import com.boostclient.security.SecurityUtils;
+import com.boostclient.service.dto.BatchItemResultDTO;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManagerFactory;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for creating and updating many {@link Quote}s in one call.
+ * <p>
+ * The quotes are written with plain JDBC batches: Hibernate cannot batch inserts of entities with
+ * {@link javax.persistence.GenerationType#IDENTITY} ids, as it needs each generated key before going on.
+ * Invalid items are reported as failed and do not prevent the other items from being written, as are the updates of
+ * quotes updated since the version given. As Hibernate does not
+ * see these writes, the auditing columns are set here, the changes are sent to the {@link EntityChangeWriter} and the
+ * written quotes are passed to the {@link SearchService}.
+ */
+@Service
+@Transactional
+public class QuoteBatchService {
+
+    private static final String INSERT_SQL =
+        "insert into quote (name, quote_date, employer_id, created_by, created_date, last_modified_by, last_modified_date) " +
+        "values (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_SQL =
+        "update quote set name = ?, quote_date = ?, employer_id = ?, last_modified_by = ?, last_modified_date = ?, version = version + 1 " +
+        "where id = ? and version = ?";
+
+    private static final String UPDATED_FIELDS = "name,quoteDate,employer";
+
+    private final Logger log = LoggerFactory.getLogger(QuoteBatchService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final EmployerRepository employerRepository;
+
+    private final QuoteRepository quoteRepository;
+
+    private final EmployerStatsService employerStatsService;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final Validator validator;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final EntityChangeWriter entityChangeWriter;
+
+    private final SearchService searchService;
+
+    public QuoteBatchService(
+        JdbcTemplate jdbcTemplate,
+        EmployerRepository employerRepository,
+        QuoteRepository quoteRepository,
+        EmployerStatsService employerStatsService,
+        EntityManagerFactory entityManagerFactory,
+        Validator validator,
+        ApplicationProperties applicationProperties,
+        EntityChangeWriter entityChangeWriter,
+        SearchService searchService
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.employerRepository = employerRepository;
+        this.quoteRepository = quoteRepository;
+        this.employerStatsService = employerStatsService;
+        this.entityManagerFactory = entityManagerFactory;
+        this.validator = validator;
+        this.applicationProperties = applicationProperties;
+        this.entityChangeWriter = entityChangeWriter;
+        this.searchService = searchService;
+    }
+
+    /**
+     * Insert the quotes without an id and update the quotes with one.
+     *
+     * @param quotes the quotes to write.
+     * @return one result per quote, in the same order.
+     */
+    public List<BatchItemResultDTO> save(List<Quote> quotes) {
+        log.debug("Request to save a batch of {} Quotes", quotes.size());
+        BatchItemResultDTO[] results = new BatchItemResultDTO[quotes.size()];
+        Set<Long> employerIds = findExistingEmployerIds(quotes);
+        List<Integer> inserts = new ArrayList<>();
+        List<Integer> updates = new ArrayList<>();
+        for (int i = 0; i < quotes.size(); i++) {
+            Quote quote = quotes.get(i);
+            Set<ConstraintViolation<Quote>> violations = validator.validate(quote);
+            if (!violations.isEmpty()) {
+                results[i] = BatchItemResultDTO.failed(i, quote.getId(), describe(violations));
+            } else if (!employerIds.contains(quote.getEmployer().getId())) {
+                results[i] = BatchItemResultDTO.failed(i, quote.getId(), "employer: not found");
+            } else if (quote.getId() == null) {
+                inserts.add(i);
+            } else if (quote.getVersion() == null) {
+                results[i] = BatchItemResultDTO.failed(i, quote.getId(), "version: must not be null");
+            } else {
+                updates.add(i);
+            }
+        }
+
+        // The updates may move quotes away from these employers
+        Set<Long> recountedEmployerIds = updates.isEmpty()
+            ? new HashSet<>()
+            : new HashSet<>(
+                quoteRepository.findEmployerIdsByIdIn(updates.stream().map(i -> quotes.get(i).getId()).collect(Collectors.toList()))
+            );
+
+        Auditing auditing = new Auditing(SecurityUtils.getCurrentUserLogin().orElse(Constants.SYSTEM), Instant.now());
+        int batchSize = applicationProperties.getBatch().getSize();
+        for (int from = 0; from < inserts.size(); from += batchSize) {
+            insert(quotes, inserts.subList(from, Math.min(from + batchSize, inserts.size())), results, auditing);
+        }
+        for (int from = 0; from < updates.size(); from += batchSize) {
+            update(quotes, updates.subList(from, Math.min(from + batchSize, updates.size())), results, auditing);
+        }
+        List<EntityChange> changes = changes(results, auditing);
+        entityChangeWriter.appendAfterCommit(changes);
+        searchService.index(Quote.class, changes.stream().map(EntityChange::getEntityId).collect(Collectors.toList()));
+
+        updates.stream().map(i -> quotes.get(i).getEmployer().getId()).forEach(recountedEmployerIds::add);
+        employerStatsService.recountQuotes(recountedEmployerIds);
+        inserts
+            .stream()
+            .map(quotes::get)
+            .collect(Collectors.groupingBy(quote -> quote.getEmployer().getId()))
+            .forEach(
+                (employerId, inserted) ->
+                    employerStatsService.addQuotes(
+                        employerId,
+                        inserted.size(),
+                        inserted.stream().map(Quote::getQuoteDate).max(Comparator.naturalOrder()).orElseThrow()
+                    )
+            );
+        return Arrays.asList(results);
+    }
+
+    private Set<Long> findExistingEmployerIds(List<Quote> quotes) {
+        Set<Long> requested = quotes
+            .stream()
+            .map(Quote::getEmployer)
+            .filter(Objects::nonNull)
+            .map(Employer::getId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        if (requested.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return new HashSet<>(employerRepository.findExistingIds(requested));
+    }
+
+    private void insert(List<Quote> quotes, List<Integer> indexes, BatchItemResultDTO[] results, Auditing auditing) {
+        jdbcTemplate.execute(
+            (ConnectionCallback<Void>) connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                    for (int index : indexes) {
+                        Quote quote = quotes.get(index);
+                        statement.setString(1, quote.getName());
+                        statement.setObject(2, quote.getQuoteDate());
+                        statement.setLong(3, quote.getEmployer().getId());
+                        statement.setString(4, auditing.login);
+                        statement.setObject(5, auditing.date);
+                        statement.setString(6, auditing.login);
+                        statement.setObject(7, auditing.date);
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        for (int index : indexes) {
+                            Long id = keys.next() ? keys.getLong(1) : null;
+                            results[index] = BatchItemResultDTO.created(index, id);
+                        }
+                    }
+                }
+                return null;
+            }
+        );
+    }
+
+    private void update(List<Quote> quotes, List<Integer> indexes, BatchItemResultDTO[] results, Auditing auditing) {
+        int[] counts = jdbcTemplate.batchUpdate(
+            UPDATE_SQL,
+            indexes.stream().map(quotes::get).collect(Collectors.toList()),
+            indexes.size(),
+            (statement, quote) -> {
+                statement.setString(1, quote.getName());
+                statement.setObject(2, quote.getQuoteDate());
+                statement.setLong(3, quote.getEmployer().getId());
+                statement.setString(4, auditing.login);
+                statement.setObject(5, auditing.date);
+                statement.setLong(6, quote.getId());
+                statement.setLong(7, quote.getVersion());
+            }
+        )[0];
+        Set<Long> existingIds = findExistingIdsOfFailedUpdates(quotes, indexes, counts);
+        for (int i = 0; i < indexes.size(); i++) {
+            int index = indexes.get(i);
+            Long id = quotes.get(index).getId();
+            if (counts[i] == 0) {
+                results[index] = existingIds.contains(id)
+                    ? BatchItemResultDTO.failed(index, id, "version: updated since it was read")
+                    : BatchItemResultDTO.failed(index, id, "id: not found");
+            } else {
+                entityManagerFactory.getCache().evict(Quote.class, id);
+                results[index] = BatchItemResultDTO.updated(index, id);
+            }
+        }
+    }
+
+    /**
+     * Tell the quotes updated since their version from the missing ones, only when some updates matched no row.
+     */
+    private Set<Long> findExistingIdsOfFailedUpdates(List<Quote> quotes, List<Integer> indexes, int[] counts) {
+        List<Long> failedIds = new ArrayList<>();
+        for (int i = 0; i < indexes.size(); i++) {
+            if (counts[i] == 0) {
+                failedIds.add(quotes.get(indexes.get(i)).getId());
+            }
+        }
+        return failedIds.isEmpty() ? Collections.emptySet() : new HashSet<>(quoteRepository.findExistingIds(failedIds));
+    }
+
+    private List<EntityChange> changes(BatchItemResultDTO[] results, Auditing auditing) {
+        List<EntityChange> changes = new ArrayList<>();
+        for (BatchItemResultDTO result : results) {
+            if (result.getStatus() != BatchItemResultDTO.Status.FAILED && result.getId() != null) {
+                boolean created = result.getStatus() == BatchItemResultDTO.Status.CREATED;
+                changes.add(
+                    new EntityChange()
+                        .entityType(Quote.class.getSimpleName())
+                        .entityId(result.getId())
+                        .action(created ? EntityChangeAction.CREATE : EntityChangeAction.UPDATE)
+                        .changedBy(auditing.login)
+                        .changedDate(auditing.now)
+                        .changedFields(created ? null : UPDATED_FIELDS)
+                );
+            }
+        }
+        return changes;
+    }
+
+    private String describe(Set<ConstraintViolation<Quote>> violations) {
+        return violations
+            .stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Who writes the batch, and when.
+     */
+    private static final class Auditing {
+
+        private final String login;
+
+        private final Instant now;
+
+        /**
+         * {@code now} in UTC, as Hibernate stores it ({@code hibernate.jdbc.time_zone}).
+         */
+        private final LocalDateTime date;
+
+        private Auditing(String login, Instant now) {
+            this.login = login;
+            this.now = now;
+            this.date = LocalDateTime.ofInstant(now, ZoneOffset.UTC);
+        }
+    }
+}
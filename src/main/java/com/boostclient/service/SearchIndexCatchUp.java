@@ -0,0 +1,185 @@
+package com.boostclient.service;
+
+import com.boostclient.config.ApplicationProperties;
+import com.boostclient.domain.EntityChange;
+import com.boostclient.repository.EntityChangeRepository;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service bringing the search index of this instance up to date with the writes of all the instances, read from the
+ * entity change log.
+ * <p>
+ * The changes are polled after a high-water mark, the id of the last change applied, kept in a file with the index.
+ * Each changed entity is read again and indexed, or removed from the index if it was deleted, so applying a change
+ * twice is harmless. The ids of the change log are allocated when the changes are inserted, so a change may become
+ * visible after changes with greater ids: the mark only moves up to the last change read by the previous poll, and the
+ * changes after it are read again, but applied only once.
+ * <p>
+ * When the mark file is missing, the index is new or was lost with it: it is built from the database, and the mark
+ * starts at the last change.
+ */
+@Service
+public class SearchIndexCatchUp {
+
+    private static final Map<String, Class<?>> TYPES = EntityChangeListener.AUDITED_ENTITIES
+        .stream()
+        .collect(Collectors.toMap(Class::getSimpleName, Function.identity()));
+
+    private final Logger log = LoggerFactory.getLogger(SearchIndexCatchUp.class);
+
+    private final EntityChangeRepository entityChangeRepository;
+
+    private final SearchService searchService;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * The last change applied, and all the changes before it.
+     */
+    private long highWaterMark = -1;
+
+    /**
+     * The last change read by the previous poll.
+     */
+    private long lastRead;
+
+    /**
+     * The changes after the high-water mark that were already applied.
+     */
+    private final Set<Long> applied = new HashSet<>();
+
+    public SearchIndexCatchUp(
+        EntityChangeRepository entityChangeRepository,
+        SearchService searchService,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.entityChangeRepository = entityChangeRepository;
+        this.searchService = searchService;
+        this.applicationProperties = applicationProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Read the high-water mark, or start it at the last change and build the index if it is empty.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        Long stored = readHighWaterMark();
+        if (stored != null) {
+            highWaterMark = stored;
+            log.info("Catching up the search index after entity change {}", highWaterMark);
+        } else {
+            // Before building the index, so that the changes made meanwhile are applied
+            Long last = entityChangeRepository.findMaxId();
+            highWaterMark = last != null ? last : 0;
+            writeHighWaterMark();
+            searchService.indexIfEmpty();
+        }
+        lastRead = highWaterMark;
+    }
+
+    /**
+     * Apply the changes logged since the previous poll.
+     */
+    @Scheduled(
+        initialDelayString = "${application.search.poll-interval:PT10S}",
+        fixedDelayString = "${application.search.poll-interval:PT10S}"
+    )
+    public synchronized void catchUp() {
+        if (highWaterMark < 0) {
+            return;
+        }
+        int batchSize = applicationProperties.getBatch().getSize();
+        long read = highWaterMark;
+        List<EntityChange> changes;
+        do {
+            changes = entityChangeRepository.findAllByIdGreaterThanOrderByIdAsc(read, PageRequest.of(0, batchSize));
+            if (!changes.isEmpty()) {
+                apply(changes);
+                read = changes.get(changes.size() - 1).getId();
+            }
+        } while (changes.size() == batchSize);
+
+        // The changes up to the last one read by the previous poll were all inserted by now
+        if (lastRead > highWaterMark) {
+            highWaterMark = lastRead;
+            applied.removeIf(id -> id <= highWaterMark);
+            writeHighWaterMark();
+        }
+        lastRead = read;
+    }
+
+    private void apply(List<EntityChange> changes) {
+        List<EntityChange> unapplied = changes.stream().filter(change -> !applied.contains(change.getId())).collect(Collectors.toList());
+        Map<Class<?>, List<Long>> ids = unapplied
+            .stream()
+            .filter(change -> TYPES.containsKey(change.getEntityType()))
+            .collect(
+                Collectors.groupingBy(
+                    change -> TYPES.get(change.getEntityType()),
+                    Collectors.mapping(EntityChange::getEntityId, Collectors.collectingAndThen(Collectors.toSet(), List::copyOf))
+                )
+            );
+        if (!ids.isEmpty()) {
+            log.debug("Applying {} entity changes to the search index", unapplied.size());
+            transactionTemplate.executeWithoutResult(status -> ids.forEach(searchService::refresh));
+        }
+        unapplied.forEach(change -> applied.add(change.getId()));
+    }
+
+    private Long readHighWaterMark() {
+        Path file = highWaterMarkFile();
+        if (file == null || !Files.exists(file)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(Files.readString(file, StandardCharsets.UTF_8).trim());
+        } catch (IOException | NumberFormatException e) {
+            log.warn("Could not read the search index high-water mark {}, catching up from the last entity change", file, e);
+            return null;
+        }
+    }
+
+    private void writeHighWaterMark() {
+        Path file = highWaterMarkFile();
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path temporary = Files.writeString(file.resolveSibling(file.getFileName() + ".tmp"), Long.toString(highWaterMark));
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path highWaterMarkFile() {
+        String file = applicationProperties.getSearch().getHighWaterMarkFile();
+        return file == null || file.isBlank() ? null : Paths.get(file);
+    }
+}
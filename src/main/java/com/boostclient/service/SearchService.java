@@ -0,0 +1,321 @@
+package com.boostclient.service;
+
+import com.boostclient.domain.Employee;
+import com.boostclient.domain.Employer;
+import com.boostclient.domain.Quote;
+import com.boostclient.service.dto.EmployeeSummaryDTO;
+import com.boostclient.service.dto.EmployerSummaryDTO;
+import com.boostclient.service.dto.QuoteSummaryDTO;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.search.engine.search.common.BooleanOperator;
+import org.hibernate.search.engine.search.predicate.dsl.PredicateFinalStep;
+import org.hibernate.search.engine.search.predicate.dsl.SearchPredicateFactory;
+import org.hibernate.search.engine.search.predicate.dsl.SimpleQueryFlag;
+import org.hibernate.search.engine.search.query.SearchResult;
+import org.hibernate.search.engine.search.sort.dsl.CompositeSortComponentsStep;
+import org.hibernate.search.engine.search.sort.dsl.SearchSortFactory;
+import org.hibernate.search.engine.search.sort.dsl.SortOrder;
+import org.hibernate.search.mapper.orm.Search;
+import org.hibernate.search.mapper.orm.session.SearchSession;
+import org.hibernate.search.mapper.orm.work.SearchIndexingPlan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for the full-text search of {@link Employee}s, {@link Employer}s and {@link Quote}s by name.
+ * <p>
+ * The index is embedded: it is kept by Hibernate Search next to each instance, and updated when entities are written
+ * through Hibernate. Rows written with plain JDBC must be passed to {@link #index(Class, Collection)}, and rows deleted
+ * with bulk statements to {@link #purge(Class, Collection)}. The writes of the other instances are applied from the
+ * entity change log by the {@link SearchIndexCatchUp}. Search results are read from the index only: employers of
+ * employees and quotes are indexed by id, and their names are read from the second-level cache, so renaming an employer
+ * does not reindex its employees and quotes.
+ */
+@Service
+@Transactional(readOnly = true)
+public class SearchService {
+
+    static final String ID = "id";
+
+    static final String NAME = "name";
+
+    static final String NAME_SORT = "name_sort";
+
+    static final String EMPLOYER_ID = "employer.id";
+
+    /**
+     * The search syntax: {@code +}, {@code |} and {@code -} operators, quoted phrases and parentheses. Prefix and
+     * fuzzy queries are left out, as every word is already matched as a prefix.
+     */
+    private static final SimpleQueryFlag[] QUERY_FLAGS = {
+        SimpleQueryFlag.AND,
+        SimpleQueryFlag.OR,
+        SimpleQueryFlag.NOT,
+        SimpleQueryFlag.PHRASE,
+        SimpleQueryFlag.PRECEDENCE,
+        SimpleQueryFlag.ESCAPE,
+        SimpleQueryFlag.WHITESPACE,
+    };
+
+    private final Logger log = LoggerFactory.getLogger(SearchService.class);
+
+    private final EntityManager entityManager;
+
+    public SearchService(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Search employees by name: every searched word must start one of the words of the name.
+     *
+     * @param query the searched words.
+     * @param pageable the pagination information, sorted by relevance unless {@code id}, {@code name} or
+     *                 {@code dateOfBirth} are given.
+     * @return the page of employees.
+     */
+    public Page<EmployeeSummaryDTO> searchEmployees(String query, Pageable pageable) {
+        log.debug("Request to search for a page of Employees for query {}", query);
+        SearchResult<List<?>> result = Search
+            .session(entityManager)
+            .search(Employee.class)
+            .select(
+                f ->
+                    f.composite(
+                        f.field(ID, Long.class),
+                        f.field(NAME, String.class),
+                        f.field("dateOfBirth", LocalDate.class),
+                        f.field(EMPLOYER_ID, Long.class)
+                    )
+            )
+            .where(f -> matchName(f, query))
+            .sort(f -> sort(f, pageable.getSort()))
+            .fetch(offset(pageable), limit(pageable));
+        EmployerNames employerNames = new EmployerNames();
+        List<EmployeeSummaryDTO> content = new ArrayList<>(result.hits().size());
+        for (List<?> hit : result.hits()) {
+            Long employerId = (Long) hit.get(3);
+            String employerName = employerNames.get(employerId);
+            content.add(new EmployeeSummaryDTO((Long) hit.get(0), (String) hit.get(1), (LocalDate) hit.get(2), employerId, employerName));
+        }
+        return new PageImpl<>(content, pageable, result.total().hitCount());
+    }
+
+    /**
+     * Search employers by name: every searched word must start one of the words of the name.
+     *
+     * @param query the searched words.
+     * @param pageable the pagination information, sorted by relevance unless {@code id} or {@code name} are given.
+     * @return the page of employers.
+     */
+    public Page<EmployerSummaryDTO> searchEmployers(String query, Pageable pageable) {
+        log.debug("Request to search for a page of Employers for query {}", query);
+        SearchResult<EmployerSummaryDTO> result = Search
+            .session(entityManager)
+            .search(Employer.class)
+            .select(f -> f.composite(EmployerSummaryDTO::new, f.field(ID, Long.class), f.field(NAME, String.class)))
+            .where(f -> matchName(f, query))
+            .sort(f -> sort(f, pageable.getSort()))
+            .fetch(offset(pageable), limit(pageable));
+        return new PageImpl<>(result.hits(), pageable, result.total().hitCount());
+    }
+
+    /**
+     * Search quotes by name: every searched word must start one of the words of the name.
+     *
+     * @param query the searched words.
+     * @param pageable the pagination information, sorted by relevance unless {@code id}, {@code name} or
+     *                 {@code quoteDate} are given.
+     * @return the page of quotes.
+     */
+    public Page<QuoteSummaryDTO> searchQuotes(String query, Pageable pageable) {
+        log.debug("Request to search for a page of Quotes for query {}", query);
+        SearchResult<List<?>> result = Search
+            .session(entityManager)
+            .search(Quote.class)
+            .select(
+                f ->
+                    f.composite(
+                        f.field(ID, Long.class),
+                        f.field(NAME, String.class),
+                        f.field("quoteDate", LocalDate.class),
+                        f.field(EMPLOYER_ID, Long.class)
+                    )
+            )
+            .where(f -> matchName(f, query))
+            .sort(f -> sort(f, pageable.getSort()))
+            .fetch(offset(pageable), limit(pageable));
+        EmployerNames employerNames = new EmployerNames();
+        List<QuoteSummaryDTO> content = new ArrayList<>(result.hits().size());
+        for (List<?> hit : result.hits()) {
+            Long employerId = (Long) hit.get(3);
+            String employerName = employerNames.get(employerId);
+            content.add(new QuoteSummaryDTO((Long) hit.get(0), (String) hit.get(1), (LocalDate) hit.get(2), employerId, employerName));
+        }
+        return new PageImpl<>(content, pageable, result.total().hitCount());
+    }
+
+    /**
+     * Index entities written without Hibernate, when the current transaction commits.
+     *
+     * @param type the type of the entities.
+     * @param ids the ids of the entities.
+     */
+    @Transactional
+    public void index(Class<?> type, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        SearchSession session = Search.session(entityManager);
+        entityManager
+            .unwrap(Session.class)
+            .byMultipleIds(type)
+            .multiLoad(new ArrayList<>(ids))
+            .forEach(
+                entity -> {
+                    if (entity != null) {
+                        session.indexingPlan().addOrUpdate(entity);
+                    }
+                }
+            );
+    }
+
+    /**
+     * Remove entities deleted without Hibernate from the index, when the current transaction commits.
+     *
+     * @param type the type of the entities.
+     * @param ids the ids of the entities.
+     */
+    @Transactional
+    public void purge(Class<?> type, Collection<Long> ids) {
+        SearchIndexingPlan indexingPlan = Search.session(entityManager).indexingPlan();
+        ids.forEach(id -> indexingPlan.purge(type, id, null));
+    }
+
+    /**
+     * Index the entities that still exist, and remove the others from the index, when the current transaction commits.
+     *
+     * @param type the type of the entities.
+     * @param ids the ids of the entities, written or deleted.
+     */
+    @Transactional
+    public void refresh(Class<?> type, List<Long> ids) {
+        SearchIndexingPlan indexingPlan = Search.session(entityManager).indexingPlan();
+        // The second-level cache of this instance misses the writes of the others
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        ids.forEach(id -> cache.evict(type, id));
+        List<?> entities = entityManager.unwrap(Session.class).byMultipleIds(type).multiLoad(ids);
+        for (int i = 0; i < ids.size(); i++) {
+            Object entity = entities.get(i);
+            if (entity != null) {
+                indexingPlan.addOrUpdate(entity);
+            } else {
+                indexingPlan.purge(type, ids.get(i), null);
+            }
+        }
+    }
+
+    /**
+     * Build the index of the types whose index is empty while their table is not, such as when the index directory
+     * was lost or on the first start with search. Indexing runs in the background: the search results are
+     * incomplete until it is done.
+     */
+    public void indexIfEmpty() {
+        SearchSession session = Search.session(entityManager);
+        List<Class<?>> types = new ArrayList<>();
+        for (Class<?> type : List.of(Employer.class, Employee.class, Quote.class)) {
+            if (session.search(type).where(SearchPredicateFactory::matchAll).fetchTotalHitCount() == 0 && hasRows(type)) {
+                types.add(type);
+            }
+        }
+        if (types.isEmpty()) {
+            return;
+        }
+        log.info("Building the search index of {}", types);
+        session
+            .massIndexer(types)
+            .start()
+            .whenComplete(
+                (done, error) -> {
+                    if (error != null) {
+                        log.error("Search index of {} could not be built", types, error);
+                    } else {
+                        log.info("Built the search index of {}", types);
+                    }
+                }
+            );
+    }
+
+    /**
+     * Rebuild the whole index, and wait for it to be done.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public void reindex() throws InterruptedException {
+        log.info("Rebuilding the search index");
+        Search.session(entityManager).massIndexer().startAndWait();
+    }
+
+    private boolean hasRows(Class<?> type) {
+        return !entityManager.createQuery("select e.id from " + type.getSimpleName() + " e").setMaxResults(1).getResultList().isEmpty();
+    }
+
+    private static PredicateFinalStep matchName(SearchPredicateFactory f, String query) {
+        return f.simpleQueryString().field(NAME).matching(query).defaultOperator(BooleanOperator.AND).flags(QUERY_FLAGS);
+    }
+
+    private static CompositeSortComponentsStep<?> sort(SearchSortFactory f, Sort sort) {
+        CompositeSortComponentsStep<?> composite = f.composite();
+        if (sort.isUnsorted()) {
+            composite.add(f.score());
+        }
+        for (Sort.Order order : sort) {
+            String field = NAME.equals(order.getProperty()) ? NAME_SORT : order.getProperty();
+            composite.add(f.field(field).order(order.isAscending() ? SortOrder.ASC : SortOrder.DESC));
+        }
+        // Stable pages when the scores or sort keys are equal
+        return composite.add(f.field(ID));
+    }
+
+    private static int offset(Pageable pageable) {
+        return pageable.isPaged() ? (int) pageable.getOffset() : 0;
+    }
+
+    private static Integer limit(Pageable pageable) {
+        return pageable.isPaged() ? pageable.getPageSize() : null;
+    }
+
+    /**
+     * The names of the employers of a page, read once per employer from the second-level cache.
+     */
+    private final class EmployerNames {
+
+        private final Map<Long, String> names = new HashMap<>();
+
+        private String get(Long id) {
+            if (id == null) {
+                return null;
+            }
+            return names.computeIfAbsent(
+                id,
+                key -> {
+                    Employer employer = entityManager.find(Employer.class, key);
+                    return employer != null ? employer.getName() : null;
+                }
+            );
+        }
+    }
+}
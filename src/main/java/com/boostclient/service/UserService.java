@@ -1,5 +1,6 @@
 package com.boostclient.service;
 
+import com.boostclient.config.ApplicationProperties;
 import com.boostclient.config.Constants;
 import com.boostclient.domain.Authority;
 import com.boostclient.domain.User;
@@ -9,19 +10,29 @@ import com.boostclient.security.AuthoritiesConstants;
 import com.boostclient.security.SecurityUtils;
 import com.boostclient.service.dto.AdminUserDTO;
 import com.boostclient.service.dto.UserDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
+import javax.persistence.EntityManagerFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import tech.jhipster.security.RandomUtil;
 
 /**
@@ -41,16 +52,39 @@ public class UserService {
 
     private final CacheManager cacheManager;
 
+    private final JdbcTemplate jdbcTemplate;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final Timer purgeTimer;
+
+    private final Counter purgedUsers;
+
     public UserService(
         UserRepository userRepository,
         PasswordEncoder passwordEncoder,
         AuthorityRepository authorityRepository,
-        CacheManager cacheManager
+        CacheManager cacheManager,
+        JdbcTemplate jdbcTemplate,
+        EntityManagerFactory entityManagerFactory,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
         this.cacheManager = cacheManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.applicationProperties = applicationProperties;
+        this.purgeTimer = Timer.builder("users.purge").description("Purges of the not activated users").register(meterRegistry);
+        this.purgedUsers = Counter.builder("users.purge.deleted").description("Not activated users deleted").register(meterRegistry);
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -312,19 +346,37 @@ public class UserService {
     /**
      * Not activated users should be automatically deleted after 3 days.
      * <p>
-     * This is scheduled to get fired everyday, at 01:00 (am).
+     * This is run everyday by {@link MaintenanceJobs}. Users are deleted in chunks of
+     * {@code application.user-purge.chunk-size}, one transaction per chunk, so that the {@code jhi_user} rows are only
+     * locked for the time of a chunk.
      */
-    @Scheduled(cron = "0 0 1 * * ?")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void removeNotActivatedUsers() {
-        userRepository
-            .findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant.now().minus(3, ChronoUnit.DAYS))
-            .forEach(
-                user -> {
-                    log.debug("Deleting not activated user {}", user.getLogin());
-                    userRepository.delete(user);
-                    this.clearUserCaches(user);
-                }
-            );
+        Instant createdBefore = Instant.now().minus(3, ChronoUnit.DAYS);
+        Pageable chunk = PageRequest.of(0, applicationProperties.getUserPurge().getChunkSize(), Sort.by("id"));
+        Timer.Sample sample = Timer.start();
+        int deleted = 0;
+        List<User> users;
+        do {
+            users = transactionTemplate.execute(status -> deleteNotActivatedUsers(createdBefore, chunk));
+            this.clearUserCaches(users);
+            purgedUsers.increment(users.size());
+            deleted += users.size();
+        } while (users.size() == chunk.getPageSize());
+        long duration = sample.stop(purgeTimer);
+        log.info("Deleted {} not activated users in {} ms", deleted, duration / 1_000_000);
+    }
+
+    private List<User> deleteNotActivatedUsers(Instant createdBefore, Pageable chunk) {
+        List<User> users = userRepository.findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(createdBefore, chunk);
+        if (!users.isEmpty()) {
+            Object[] ids = users.stream().map(User::getId).toArray();
+            String in = String.join(", ", Collections.nCopies(ids.length, "?"));
+            jdbcTemplate.update("delete from jhi_user_authority where user_id in (" + in + ")", ids);
+            jdbcTemplate.update("delete from jhi_user where id in (" + in + ")", ids);
+            log.debug("Deleted {} not activated users", users.size());
+        }
+        return users;
     }
 
     /**
@@ -342,4 +394,21 @@ public class UserService {
             Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).evict(user.getEmail());
         }
     }
+
+    /**
+     * Clear the caches of users deleted with plain SQL, which Hibernate does not know about.
+     */
+    private void clearUserCaches(Collection<User> users) {
+        Cache usersByLogin = Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE));
+        Cache usersByEmail = Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE));
+        org.hibernate.Cache secondLevelCache = entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class);
+        for (User user : users) {
+            usersByLogin.evict(user.getLogin());
+            if (user.getEmail() != null) {
+                usersByEmail.evict(user.getEmail());
+            }
+            secondLevelCache.evictEntityData(User.class, user.getId());
+            secondLevelCache.evictCollectionData(User.class.getName() + ".authorities", user.getId());
+        }
+    }
 }
@@ -0,0 +1,87 @@
+package com.boostclient.service.dto;
+
+/**
+ * A DTO representing the outcome of one item of a batch write.
+ */
+public class BatchItemResultDTO {
+
+    public enum Status {
+        CREATED,
+        UPDATED,
+        FAILED,
+    }
+
+    private int index;
+
+    private Long id;
+
+    private Status status;
+
+    private String message;
+
+    public BatchItemResultDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public BatchItemResultDTO(int index, Long id, Status status, String message) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.message = message;
+    }
+
+    public static BatchItemResultDTO created(int index, Long id) {
+        return new BatchItemResultDTO(index, id, Status.CREATED, null);
+    }
+
+    public static BatchItemResultDTO updated(int index, Long id) {
+        return new BatchItemResultDTO(index, id, Status.UPDATED, null);
+    }
+
+    public static BatchItemResultDTO failed(int index, Long id, String message) {
+        return new BatchItemResultDTO(index, id, Status.FAILED, message);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BatchItemResultDTO{" +
+            "index=" + index +
+            ", id=" + id +
+            ", status=" + status +
+            ", message='" + message + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,57 @@
+package com.boostclient.service.dto;
+
+/**
+ * A DTO reporting the number of rows removed by a bulk or cascading deletion.
+ */
+public class DeletedCountsDTO {
+
+    private long employers;
+
+    private long employees;
+
+    private long quotes;
+
+    public DeletedCountsDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public DeletedCountsDTO(long employers, long employees, long quotes) {
+        this.employers = employers;
+        this.employees = employees;
+        this.quotes = quotes;
+    }
+
+    public long getEmployers() {
+        return employers;
+    }
+
+    public void setEmployers(long employers) {
+        this.employers = employers;
+    }
+
+    public long getEmployees() {
+        return employees;
+    }
+
+    public void setEmployees(long employees) {
+        this.employees = employees;
+    }
+
+    public long getQuotes() {
+        return quotes;
+    }
+
+    public void setQuotes(long quotes) {
+        this.quotes = quotes;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "DeletedCountsDTO{" +
+            "employers=" + employers +
+            ", employees=" + employees +
+            ", quotes=" + quotes +
+            "}";
+    }
+}
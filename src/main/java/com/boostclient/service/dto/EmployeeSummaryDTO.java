@@ -0,0 +1,73 @@
+package com.boostclient.service.dto;
+
+import java.time.LocalDate;
+
+/**
+ * A DTO representing an employee in the employee list.
+ * <p>
+ * It is built by a JPA constructor expression, so listing employees reads only these columns in one joined query.
+ */
+public class EmployeeSummaryDTO {
+
+    private Long id;
+
+    private String name;
+
+    private LocalDate dateOfBirth;
+
+    private EmployerSummaryDTO employer;
+
+    public EmployeeSummaryDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public EmployeeSummaryDTO(Long id, String name, LocalDate dateOfBirth, Long employerId, String employerName) {
+        this.id = id;
+        this.name = name;
+        this.dateOfBirth = dateOfBirth;
+        this.employer = new EmployerSummaryDTO(employerId, employerName);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public LocalDate getDateOfBirth() {
+        return dateOfBirth;
+    }
+
+    public void setDateOfBirth(LocalDate dateOfBirth) {
+        this.dateOfBirth = dateOfBirth;
+    }
+
+    public EmployerSummaryDTO getEmployer() {
+        return employer;
+    }
+
+    public void setEmployer(EmployerSummaryDTO employer) {
+        this.employer = employer;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EmployeeSummaryDTO{" +
+            "id=" + id +
+            ", name='" + name + "'" +
+            ", dateOfBirth='" + dateOfBirth + "'" +
+            ", employer=" + employer +
+            "}";
+    }
+}
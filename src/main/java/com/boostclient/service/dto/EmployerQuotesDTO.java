@@ -0,0 +1,59 @@
+package com.boostclient.service.dto;
+
+import java.time.LocalDate;
+
+/**
+ * A DTO counting some quotes of an employer, with their latest date, as used to keep the employer stats.
+ */
+public class EmployerQuotesDTO {
+
+    private Long employerId;
+
+    private long count;
+
+    private LocalDate latestQuoteDate;
+
+    public EmployerQuotesDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public EmployerQuotesDTO(Long employerId, long count, LocalDate latestQuoteDate) {
+        this.employerId = employerId;
+        this.count = count;
+        this.latestQuoteDate = latestQuoteDate;
+    }
+
+    public Long getEmployerId() {
+        return employerId;
+    }
+
+    public void setEmployerId(Long employerId) {
+        this.employerId = employerId;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public LocalDate getLatestQuoteDate() {
+        return latestQuoteDate;
+    }
+
+    public void setLatestQuoteDate(LocalDate latestQuoteDate) {
+        this.latestQuoteDate = latestQuoteDate;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EmployerQuotesDTO{" +
+            "employerId=" + employerId +
+            ", count=" + count +
+            ", latestQuoteDate='" + latestQuoteDate + "'" +
+            "}";
+    }
+}
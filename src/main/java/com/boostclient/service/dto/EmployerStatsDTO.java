@@ -0,0 +1,86 @@
+package com.boostclient.service.dto;
+
+import java.time.LocalDate;
+
+/**
+ * A DTO representing the aggregates of an employer.
+ */
+public class EmployerStatsDTO {
+
+    private Long id;
+
+    private String name;
+
+    private long employeeCount;
+
+    private long quoteCount;
+
+    private LocalDate latestQuoteDate;
+
+    public EmployerStatsDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    /**
+     * The counts are {@code null} for an employer that never had an employee or a quote, hence no stats row.
+     */
+    public EmployerStatsDTO(Long id, String name, Long employeeCount, Long quoteCount, LocalDate latestQuoteDate) {
+        this.id = id;
+        this.name = name;
+        this.employeeCount = employeeCount == null ? 0 : employeeCount;
+        this.quoteCount = quoteCount == null ? 0 : quoteCount;
+        this.latestQuoteDate = latestQuoteDate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getEmployeeCount() {
+        return employeeCount;
+    }
+
+    public void setEmployeeCount(long employeeCount) {
+        this.employeeCount = employeeCount;
+    }
+
+    public long getQuoteCount() {
+        return quoteCount;
+    }
+
+    public void setQuoteCount(long quoteCount) {
+        this.quoteCount = quoteCount;
+    }
+
+    public LocalDate getLatestQuoteDate() {
+        return latestQuoteDate;
+    }
+
+    public void setLatestQuoteDate(LocalDate latestQuoteDate) {
+        this.latestQuoteDate = latestQuoteDate;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EmployerStatsDTO{" +
+            "id=" + getId() +
+            ", name='" + getName() + "'" +
+            ", employeeCount=" + getEmployeeCount() +
+            ", quoteCount=" + getQuoteCount() +
+            ", latestQuoteDate='" + getLatestQuoteDate() + "'" +
+            "}";
+    }
+}
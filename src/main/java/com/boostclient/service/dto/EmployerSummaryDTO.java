@@ -0,0 +1,45 @@
+package com.boostclient.service.dto;
+
+/**
+ * A DTO representing an employer as shown in the quote and employee lists: its id and name only.
+ */
+public class EmployerSummaryDTO {
+
+    private Long id;
+
+    private String name;
+
+    public EmployerSummaryDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public EmployerSummaryDTO(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EmployerSummaryDTO{" +
+            "id=" + id +
+            ", name='" + name + "'" +
+            "}";
+    }
+}
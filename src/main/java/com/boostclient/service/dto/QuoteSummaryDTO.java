@@ -0,0 +1,73 @@
+package com.boostclient.service.dto;
+
+import java.time.LocalDate;
+
+/**
+ * A DTO representing a quote in the quote list.
+ * <p>
+ * It is built by a JPQL constructor expression, so listing quotes reads only these columns in one joined query.
+ */
+public class QuoteSummaryDTO {
+
+    private Long id;
+
+    private String name;
+
+    private LocalDate quoteDate;
+
+    private EmployerSummaryDTO employer;
+
+    public QuoteSummaryDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public QuoteSummaryDTO(Long id, String name, LocalDate quoteDate, Long employerId, String employerName) {
+        this.id = id;
+        this.name = name;
+        this.quoteDate = quoteDate;
+        this.employer = new EmployerSummaryDTO(employerId, employerName);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public LocalDate getQuoteDate() {
+        return quoteDate;
+    }
+
+    public void setQuoteDate(LocalDate quoteDate) {
+        this.quoteDate = quoteDate;
+    }
+
+    public EmployerSummaryDTO getEmployer() {
+        return employer;
+    }
+
+    public void setEmployer(EmployerSummaryDTO employer) {
+        this.employer = employer;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "QuoteSummaryDTO{" +
+            "id=" + id +
+            ", name='" + name + "'" +
+            ", quoteDate='" + quoteDate + "'" +
+            ", employer=" + employer +
+            "}";
+    }
+}
@@ -0,0 +1,65 @@
+package com.boostclient.web.rest;
+
+import com.boostclient.web.rest.errors.BadRequestAlertException;
+import com.boostclient.web.rest.errors.PreconditionFailedAlertException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Utility class for the entity tags of versioned entities: the tag of an entity is its version.
+ */
+public final class ETagUtil {
+
+    private static final Pattern VERSION_TAG = Pattern.compile("\"(\\d{1,18})\"");
+
+    private ETagUtil() {}
+
+    /**
+     * The strong entity tag of a version, such as {@code "3"}.
+     *
+     * @param version the version of the entity.
+     * @return the entity tag.
+     */
+    public static String toETag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * The version an update applies to: the one of the {@code If-Match} header when given, else the one of the body.
+     *
+     * @param ifMatch the {@code If-Match} header, if any.
+     * @param version the version in the body, if any.
+     * @param entityName the name of the entity, for the alerts.
+     * @return the version.
+     * @throws BadRequestAlertException if there is no version.
+     * @throws PreconditionFailedAlertException if the {@code If-Match} header is not the tag of a single version.
+     */
+    public static Long expectedVersion(String ifMatch, Long version, String entityName) {
+        Long expected = expectedVersionIfAny(ifMatch, version, entityName);
+        if (expected == null) {
+            throw new BadRequestAlertException("The version is required, in If-Match or in the body", entityName, "versionnull");
+        }
+        return expected;
+    }
+
+    /**
+     * The version a conditional update applies to, as {@link #expectedVersion(String, Long, String)}, or {@code null}
+     * when there is none and any version may be updated.
+     *
+     * @param ifMatch the {@code If-Match} header, if any.
+     * @param version the version in the body, if any.
+     * @param entityName the name of the entity, for the alerts.
+     * @return the version, if any.
+     * @throws PreconditionFailedAlertException if the {@code If-Match} header is not the tag of a single version.
+     */
+    public static Long expectedVersionIfAny(String ifMatch, Long version, String entityName) {
+        if (ifMatch == null || "*".equals(ifMatch.trim())) {
+            return version;
+        }
+        Matcher matcher = VERSION_TAG.matcher(ifMatch.trim());
+        if (!matcher.matches()) {
+            throw new PreconditionFailedAlertException("If-Match does not match the current version", entityName, "versionmismatch");
+        }
+        return Long.valueOf(matcher.group(1));
+    }
+}
@@ -0,0 +1,102 @@
+package com.boostclient.web.rest;
+
+import com.boostclient.domain.EmployeeImport;
+import com.boostclient.domain.enumeration.ImportStatus;
+import com.boostclient.service.EmployeeImportService;
+import com.boostclient.web.rest.errors.BadRequestAlertException;
+import com.boostclient.web.rest.errors.ConflictAlertException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller for importing employee rosters, see {@link EmployeeImportService}.
+ */
+@RestController
+@RequestMapping("/api")
+public class EmployeeImportResource {
+
+    private final Logger log = LoggerFactory.getLogger(EmployeeImportResource.class);
+
+    private static final String ENTITY_NAME = "employeeImport";
+
+    @Value("${jhipster.clientApp.name}")
+    private String applicationName;
+
+    private final EmployeeImportService employeeImportService;
+
+    public EmployeeImportResource(EmployeeImportService employeeImportService) {
+        this.employeeImportService = employeeImportService;
+    }
+
+    /**
+     * {@code POST  /employee-imports} : Upload an employee roster and start importing it.
+     *
+     * @param file the {@code ;}-separated CSV roster.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and with body the pending import, or with status {@code 400 (Bad Request)} if the file is empty.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     * @throws IOException if the file could not be read.
+     */
+    @PostMapping(value = "/employee-imports", consumes = "multipart/form-data")
+    public ResponseEntity<EmployeeImport> createEmployeeImport(@RequestParam("file") MultipartFile file)
+        throws URISyntaxException, IOException {
+        log.debug("REST request to import the employee roster : {}", file.getOriginalFilename());
+        if (file.isEmpty()) {
+            throw new BadRequestAlertException("The roster is empty", ENTITY_NAME, "fileempty");
+        }
+        EmployeeImport result;
+        try (InputStream content = file.getInputStream()) {
+            result = employeeImportService.create(String.valueOf(file.getOriginalFilename()), content);
+        }
+        employeeImportService.submit(result.getId());
+        return ResponseEntity
+            .accepted()
+            .location(new URI("/api/employee-imports/" + result.getId()))
+            .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+            .body(result);
+    }
+
+    /**
+     * {@code POST  /employee-imports/:id/resume} : Resume an interrupted or failed import after its last committed chunk.
+     *
+     * @param id the id of the import to resume.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and with body the import,
+     * or with status {@code 400 (Bad Request)} if the import is not found or already completed,
+     * or with status {@code 409 (Conflict)} if the import is still running.
+     */
+    @PostMapping("/employee-imports/{id}/resume")
+    public ResponseEntity<EmployeeImport> resumeEmployeeImport(@PathVariable Long id) {
+        log.debug("REST request to resume EmployeeImport : {}", id);
+        EmployeeImport employeeImport = employeeImportService
+            .findOne(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        if (employeeImport.getStatus() == ImportStatus.COMPLETED) {
+            throw new BadRequestAlertException("The import is already completed", ENTITY_NAME, "importcompleted");
+        }
+        if (!employeeImportService.resume(id)) {
+            throw new ConflictAlertException("The import is running", ENTITY_NAME, "importrunning");
+        }
+        return ResponseEntity.accepted().body(employeeImport);
+    }
+
+    /**
+     * {@code GET  /employee-imports/:id} : get the progress of the "id" import.
+     *
+     * @param id the id of the import to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the import, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/employee-imports/{id}")
+    public ResponseEntity<EmployeeImport> getEmployeeImport(@PathVariable Long id) {
+        log.debug("REST request to get EmployeeImport : {}", id);
+        return ResponseUtil.wrapOrNotFound(employeeImportService.findOne(id));
+    }
+}
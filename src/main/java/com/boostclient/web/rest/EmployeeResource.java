@@ -1,11 +1,28 @@
 package com.boostclient.web.rest;
 
+import com.boostclient.config.ApplicationProperties;
 import com.boostclient.domain.Employee;
+import com.boostclient.domain.Employee_;
+import com.boostclient.repository.EmployerRepository;
 import com.boostclient.repository.EmployeeRepository;
+import com.boostclient.service.BulkDeleteService;
+import com.boostclient.service.EmployerStatsService;
+import com.boostclient.service.ExportService;
+import com.boostclient.service.PartialUpdateService;
+import com.boostclient.service.SearchService;
+import com.boostclient.service.dto.DeletedCountsDTO;
+import com.boostclient.service.dto.EmployeeSummaryDTO;
 import com.boostclient.web.rest.errors.BadRequestAlertException;
+import com.boostclient.web.rest.errors.PreconditionFailedAlertException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import javax.validation.Valid;
@@ -13,10 +30,23 @@ import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
 import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -31,13 +61,45 @@ public class EmployeeResource {
 
     private static final String ENTITY_NAME = "employee";
 
+    private static final List<String> ALLOWED_ORDERED_PROPERTIES = Collections.unmodifiableList(Arrays.asList("id", "name", "dateOfBirth"));
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final EmployeeRepository employeeRepository;
 
-    public EmployeeResource(EmployeeRepository employeeRepository) {
+    private final EmployerRepository employerRepository;
+
+    private final ExportService exportService;
+
+    private final EmployerStatsService employerStatsService;
+
+    private final SearchService searchService;
+
+    private final PartialUpdateService partialUpdateService;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final BulkDeleteService bulkDeleteService;
+
+    public EmployeeResource(
+        EmployeeRepository employeeRepository,
+        EmployerRepository employerRepository,
+        ExportService exportService,
+        EmployerStatsService employerStatsService,
+        SearchService searchService,
+        PartialUpdateService partialUpdateService,
+        ApplicationProperties applicationProperties,
+        BulkDeleteService bulkDeleteService
+    ) {
         this.employeeRepository = employeeRepository;
+        this.employerRepository = employerRepository;
+        this.exportService = exportService;
+        this.employerStatsService = employerStatsService;
+        this.searchService = searchService;
+        this.partialUpdateService = partialUpdateService;
+        this.applicationProperties = applicationProperties;
+        this.bulkDeleteService = bulkDeleteService;
     }
 
     /**
@@ -54,6 +116,7 @@ public class EmployeeResource {
             throw new BadRequestAlertException("A new employee cannot already have an ID", ENTITY_NAME, "idexists");
         }
         Employee result = employeeRepository.save(employee);
+        employerStatsService.addEmployees(result.getEmployer().getId(), 1);
         return ResponseEntity
             .created(new URI("/api/employees/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
@@ -62,17 +125,23 @@ public class EmployeeResource {
 
     /**
      * {@code PUT  /employees/:id} : Updates an existing employee.
+     * <p>
+     * The employee is written with a single {@code UPDATE} of the version it was read at, which fails if it was updated since.
+     * It is not read first: the employer stats change only if the statement updating them finds it moved to another employer.
      *
      * @param id the id of the employee to save.
+     * @param ifMatch the entity tag of the version the update applies to, else the version in the body.
      * @param employee the employee to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated employee,
-     * or with status {@code 400 (Bad Request)} if the employee is not valid,
+     * or with status {@code 400 (Bad Request)} if the employee is not valid or does not exist,
+     * or with status {@code 412 (Precondition Failed)} if the employee was updated since it was read,
      * or with status {@code 500 (Internal Server Error)} if the employee couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/employees/{id}")
     public ResponseEntity<Employee> updateEmployee(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody Employee employee
     ) throws URISyntaxException {
         log.debug("REST request to update Employee : {}, {}", id, employee);
@@ -83,31 +152,49 @@ public class EmployeeResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!employeeRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        employee.setVersion(ETagUtil.expectedVersion(ifMatch, employee.getVersion(), ENTITY_NAME));
+        // Only the id of the employer is written, and its reference may lack the version Hibernate needs to see it saved
+        employee.setEmployer(employerRepository.getOne(employee.getEmployer().getId()));
 
-        Employee result = employeeRepository.save(employee);
+        Employee result;
+        try {
+            boolean moved = employerStatsService.removeUpdatedEmployee(employee);
+            result = employeeRepository.update(employee);
+            if (moved) {
+                employerStatsService.addEmployees(result.getEmployer().getId(), 1);
+            }
+        } catch (OptimisticLockingFailureException e) {
+            if (!employeeRepository.existsById(id)) {
+                throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+            }
+            throw new PreconditionFailedAlertException("The employee was updated since it was read", ENTITY_NAME, "versionmismatch");
+        }
         return ResponseEntity
             .ok()
+            .eTag(ETagUtil.toETag(result.getVersion()))
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, employee.getId().toString()))
             .body(result);
     }
 
     /**
      * {@code PATCH  /employees/:id} : Partial updates given fields of an existing employee, field will ignore if it is null
+     * <p>
+     * The employee is not read first: the given fields are written with a single {@code UPDATE} of these columns only, of
+     * the given version if any.
      *
      * @param id the id of the employee to save.
+     * @param ifMatch the entity tag of the version the update applies to, else the version in the body, if any.
      * @param employee the employee to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated employee,
      * or with status {@code 400 (Bad Request)} if the employee is not valid,
-     * or with status {@code 404 (Not Found)} if the employee is not found,
+     * or with status {@code 412 (Precondition Failed)} if the employee was updated since the given version,
      * or with status {@code 500 (Internal Server Error)} if the employee couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/employees/{id}", consumes = "application/merge-patch+json")
     public ResponseEntity<Employee> partialUpdateEmployee(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody Employee employee
     ) throws URISyntaxException {
         log.debug("REST request to partial update Employee partially : {}, {}", id, employee);
@@ -118,41 +205,136 @@ public class EmployeeResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!employeeRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        Long version = ETagUtil.expectedVersionIfAny(ifMatch, employee.getVersion(), ENTITY_NAME);
+        Map<String, Object> values = new LinkedHashMap<>();
+        if (employee.getName() != null) {
+            values.put(Employee_.NAME, employee.getName());
+        }
+        if (employee.getDateOfBirth() != null) {
+            values.put(Employee_.DATE_OF_BIRTH, employee.getDateOfBirth());
+        }
+        if (!partialUpdateService.update(Employee.class, id, version, values)) {
+            if (version == null || !employeeRepository.existsById(id)) {
+                throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+            }
+            throw new PreconditionFailedAlertException("The employee was updated since it was read", ENTITY_NAME, "versionmismatch");
+        }
+
+        Employee result = employeeRepository.findById(id).orElseThrow();
+        return ResponseEntity
+            .ok()
+            .eTag(ETagUtil.toETag(result.getVersion()))
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, employee.getId().toString()))
+            .body(result);
+    }
+
+    /**
+     * {@code GET  /employees} : get the employees, optionally filtered.
+     * <p>
+     * By default the employees are paged with an offset, and the {@code X-Total-Count} and {@code Link} headers are set.
+     * When {@code afterName} and {@code afterId} are given, a keyset page is returned instead: the matching employees
+     * ordered by {@code (name, id)} that come strictly after that position, without a total count. The {@code Link}
+     * header then carries the position of the next page.
+     *
+     * @param pageable the pagination information.
+     * @param employerId the id of the employer the employees must belong to.
+     * @param namePrefix the prefix the employee names must start with.
+     * @param dateOfBirthFrom the earliest date of birth, inclusive.
+     * @param dateOfBirthTo the latest date of birth, inclusive.
+     * @param afterName the name of the last employee of the previous keyset page.
+     * @param afterId the id of the last employee of the previous keyset page.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of employees in body.
+     */
+    @GetMapping("/employees")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<EmployeeSummaryDTO>> getAllEmployees(
+        Pageable pageable,
+        @RequestParam(value = "employerId", required = false) Long employerId,
+        @RequestParam(value = "namePrefix", required = false) String namePrefix,
+        @RequestParam(value = "dateOfBirthFrom", required = false) LocalDate dateOfBirthFrom,
+        @RequestParam(value = "dateOfBirthTo", required = false) LocalDate dateOfBirthTo,
+        @RequestParam(value = "afterName", required = false) String afterName,
+        @RequestParam(value = "afterId", required = false) Long afterId
+    ) {
+        log.debug("REST request to get a page of Employees");
+        Specification<Employee> specification = Specification.where(null);
+        if (employerId != null) {
+            specification = specification.and(EmployeeRepository.employerIs(employerId));
+        }
+        if (namePrefix != null && !namePrefix.isEmpty()) {
+            specification = specification.and(EmployeeRepository.nameStartsWith(namePrefix));
+        }
+        if (dateOfBirthFrom != null) {
+            specification = specification.and(EmployeeRepository.bornOnOrAfter(dateOfBirthFrom));
+        }
+        if (dateOfBirthTo != null) {
+            specification = specification.and(EmployeeRepository.bornOnOrBefore(dateOfBirthTo));
+        }
+
+        if (afterName != null || afterId != null) {
+            return getEmployeesAfter(specification, pageable, afterName, afterId);
+        }
+        if (!onlyContainsAllowedProperties(pageable)) {
+            return ResponseEntity.badRequest().build();
         }
 
-        Optional<Employee> result = employeeRepository
-            .findById(employee.getId())
-            .map(
-                existingEmployee -> {
-                    if (employee.getName() != null) {
-                        existingEmployee.setName(employee.getName());
-                    }
-                    if (employee.getDateOfBirth() != null) {
-                        existingEmployee.setDateOfBirth(employee.getDateOfBirth());
-                    }
+        Page<EmployeeSummaryDTO> page = employeeRepository.findSummaries(specification, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
 
-                    return existingEmployee;
-                }
-            )
-            .map(employeeRepository::save);
+    private ResponseEntity<List<EmployeeSummaryDTO>> getEmployeesAfter(
+        Specification<Employee> specification,
+        Pageable pageable,
+        String afterName,
+        Long afterId
+    ) {
+        if (afterName == null || afterId == null) {
+            throw new BadRequestAlertException("Both afterName and afterId are required", ENTITY_NAME, "keysetincomplete");
+        }
+        if (pageable.getSort().isSorted()) {
+            throw new BadRequestAlertException("Keyset pages are always sorted by name and id", ENTITY_NAME, "keysetsorted");
+        }
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, employee.getId().toString())
+        Slice<EmployeeSummaryDTO> slice = employeeRepository.findSummarySlice(
+            specification.and(EmployeeRepository.after(afterName, afterId)),
+            Sort.by("name", "id"),
+            pageable.getPageSize()
         );
+        HttpHeaders headers = new HttpHeaders();
+        if (slice.hasNext()) {
+            EmployeeSummaryDTO last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            // The query string of the request is already encoded: only the new name is
+            String next = ServletUriComponentsBuilder
+                .fromCurrentRequest()
+                .replaceQueryParam("page")
+                .replaceQueryParam("afterName", UriUtils.encode(last.getName(), StandardCharsets.UTF_8))
+                .replaceQueryParam("afterId", last.getId())
+                .build()
+                .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
+    private boolean onlyContainsAllowedProperties(Pageable pageable) {
+        return pageable.getSort().stream().map(Sort.Order::getProperty).allMatch(ALLOWED_ORDERED_PROPERTIES::contains);
     }
 
     /**
-     * {@code GET  /employees} : get all the employees.
+     * {@code GET  /employees/export} : stream all the employees as newline-delimited JSON.
+     * <p>
+     * The employees are written while they are read from the database, so the export is never held in memory.
+     * They are read by the {@link ExportService} in its own transaction, once this method has returned: the class
+     * transaction is not needed here.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of employees in body.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the employees, one JSON object per line, in body.
      */
-    @GetMapping("/employees")
-    public List<Employee> getAllEmployees() {
-        log.debug("REST request to get all Employees");
-        return employeeRepository.findAll();
+    @GetMapping(value = "/employees/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<StreamingResponseBody> exportEmployees() {
+        log.debug("REST request to export Employees");
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(exportService::exportEmployees);
     }
 
     /**
@@ -162,10 +344,13 @@ public class EmployeeResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the employee, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/employees/{id}")
+    @Transactional(readOnly = true)
     public ResponseEntity<Employee> getEmployee(@PathVariable Long id) {
         log.debug("REST request to get Employee : {}", id);
         Optional<Employee> employee = employeeRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(employee);
+        HttpHeaders headers = new HttpHeaders();
+        employee.ifPresent(found -> headers.setETag(ETagUtil.toETag(found.getVersion())));
+        return ResponseUtil.wrapOrNotFound(employee, headers);
     }
 
     /**
@@ -177,10 +362,52 @@ public class EmployeeResource {
     @DeleteMapping("/employees/{id}")
     public ResponseEntity<Void> deleteEmployee(@PathVariable Long id) {
         log.debug("REST request to delete Employee : {}", id);
+        Optional<Long> employerId = employeeRepository.findEmployerIdById(id);
         employeeRepository.deleteById(id);
+        employerId.ifPresent(employer -> employerStatsService.addEmployees(employer, -1));
         return ResponseEntity
             .noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * {@code DELETE  /employees?ids=:ids} : delete many employees at once.
+     * <p>
+     * The employees are deleted with bulk statements, without loading them. The ids of employees that do not exist are ignored.
+     *
+     * @param ids the ids of the employees to delete.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the number of employees deleted in body,
+     * or with status {@code 400 (Bad Request)} if there are more ids than {@code application.batch.max-items}.
+     */
+    @DeleteMapping(value = "/employees", params = "ids")
+    public ResponseEntity<DeletedCountsDTO> deleteEmployees(@RequestParam("ids") List<Long> ids) {
+        log.debug("REST request to delete {} Employees", ids.size());
+        if (ids.size() > applicationProperties.getBatch().getMaxItems()) {
+            throw new BadRequestAlertException("Too many employees in one batch", ENTITY_NAME, "batchtoolarge");
+        }
+        return ResponseEntity.ok(bulkDeleteService.deleteEmployees(ids));
+    }
+
+    /**
+     * {@code SEARCH  /_search/employees?q=:query} : search for the employees whose name matches the query.
+     * <p>
+     * Every word of the query must start a word of the name. The results are read from the embedded search index, and
+     * sorted by relevance unless a sort is given.
+     *
+     * @param query the query of the employee search.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of employees in body.
+     */
+    @GetMapping("/_search/employees")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<EmployeeSummaryDTO>> searchEmployees(@RequestParam("q") String query, Pageable pageable) {
+        log.debug("REST request to search for a page of Employees for query {}", query);
+        if (!onlyContainsAllowedProperties(pageable)) {
+            return ResponseEntity.badRequest().build();
+        }
+        Page<EmployeeSummaryDTO> page = searchService.searchEmployees(query, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
 }
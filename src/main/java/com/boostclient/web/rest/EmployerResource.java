@@ -1,11 +1,31 @@
 package com.boostclient.web.rest;
 
 import com.boostclient.domain.Employer;
+import com.boostclient.domain.Employer_;
+import com.boostclient.repository.EmployeeRepository;
 import com.boostclient.repository.EmployerRepository;
+import com.boostclient.repository.QuoteRepository;
+import com.boostclient.service.BulkDeleteService;
+import com.boostclient.service.EmployerStatsService;
+import com.boostclient.service.EmployerSuggestionService;
+import com.boostclient.service.ExportService;
+import com.boostclient.service.PartialUpdateService;
+import com.boostclient.service.SearchService;
+import com.boostclient.service.dto.DeletedCountsDTO;
+import com.boostclient.service.dto.EmployeeSummaryDTO;
+import com.boostclient.service.dto.EmployerSummaryDTO;
+import com.boostclient.service.dto.EmployerStatsDTO;
+import com.boostclient.service.dto.QuoteSummaryDTO;
 import com.boostclient.web.rest.errors.BadRequestAlertException;
+import com.boostclient.web.rest.errors.PreconditionFailedAlertException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import javax.validation.Valid;
@@ -13,10 +33,22 @@ import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -31,13 +63,59 @@ public class EmployerResource {
 
     private static final String ENTITY_NAME = "employer";
 
+    private static final int MAX_PAGE_SIZE = 2000;
+
+    private static final List<String> ALLOWED_ORDERED_PROPERTIES = Collections.unmodifiableList(Arrays.asList("id", "name"));
+
+    private static final List<String> ALLOWED_EMPLOYEE_ORDERED_PROPERTIES = Collections.unmodifiableList(
+        Arrays.asList("id", "name", "dateOfBirth")
+    );
+
+    private static final List<String> ALLOWED_QUOTE_ORDERED_PROPERTIES = Collections.unmodifiableList(
+        Arrays.asList("id", "name", "quoteDate")
+    );
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final EmployerRepository employerRepository;
 
-    public EmployerResource(EmployerRepository employerRepository) {
+    private final EmployeeRepository employeeRepository;
+
+    private final QuoteRepository quoteRepository;
+
+    private final ExportService exportService;
+
+    private final EmployerStatsService employerStatsService;
+
+    private final SearchService searchService;
+
+    private final EmployerSuggestionService employerSuggestionService;
+
+    private final PartialUpdateService partialUpdateService;
+
+    private final BulkDeleteService bulkDeleteService;
+
+    public EmployerResource(
+        EmployerRepository employerRepository,
+        EmployeeRepository employeeRepository,
+        QuoteRepository quoteRepository,
+        ExportService exportService,
+        EmployerStatsService employerStatsService,
+        SearchService searchService,
+        EmployerSuggestionService employerSuggestionService,
+        PartialUpdateService partialUpdateService,
+        BulkDeleteService bulkDeleteService
+    ) {
         this.employerRepository = employerRepository;
+        this.employeeRepository = employeeRepository;
+        this.quoteRepository = quoteRepository;
+        this.exportService = exportService;
+        this.employerStatsService = employerStatsService;
+        this.searchService = searchService;
+        this.employerSuggestionService = employerSuggestionService;
+        this.partialUpdateService = partialUpdateService;
+        this.bulkDeleteService = bulkDeleteService;
     }
 
     /**
@@ -62,17 +140,22 @@ public class EmployerResource {
 
     /**
      * {@code PUT  /employers/:id} : Updates an existing employer.
+     * <p>
+     * The employer is written with a single {@code UPDATE} of the version it was read at, which fails if it was updated since.
      *
      * @param id the id of the employer to save.
+     * @param ifMatch the entity tag of the version the update applies to, else the version in the body.
      * @param employer the employer to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated employer,
      * or with status {@code 400 (Bad Request)} if the employer is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the employer was updated since it was read,
      * or with status {@code 500 (Internal Server Error)} if the employer couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/employers/{id}")
     public ResponseEntity<Employer> updateEmployer(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody Employer employer
     ) throws URISyntaxException {
         log.debug("REST request to update Employer : {}, {}", id, employer);
@@ -83,31 +166,43 @@ public class EmployerResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!employerRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        employer.setVersion(ETagUtil.expectedVersion(ifMatch, employer.getVersion(), ENTITY_NAME));
 
-        Employer result = employerRepository.save(employer);
+        Employer result;
+        try {
+            result = employerRepository.update(employer);
+        } catch (OptimisticLockingFailureException e) {
+            if (!employerRepository.existsById(id)) {
+                throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+            }
+            throw new PreconditionFailedAlertException("The employer was updated since it was read", ENTITY_NAME, "versionmismatch");
+        }
         return ResponseEntity
             .ok()
+            .eTag(ETagUtil.toETag(result.getVersion()))
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, employer.getId().toString()))
             .body(result);
     }
 
     /**
      * {@code PATCH  /employers/:id} : Partial updates given fields of an existing employer, field will ignore if it is null
+     * <p>
+     * The employer is not read first: the given fields are written with a single {@code UPDATE} of these columns only, of
+     * the given version if any.
      *
      * @param id the id of the employer to save.
+     * @param ifMatch the entity tag of the version the update applies to, else the version in the body, if any.
      * @param employer the employer to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated employer,
      * or with status {@code 400 (Bad Request)} if the employer is not valid,
-     * or with status {@code 404 (Not Found)} if the employer is not found,
+     * or with status {@code 412 (Precondition Failed)} if the employer was updated since the given version,
      * or with status {@code 500 (Internal Server Error)} if the employer couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/employers/{id}", consumes = "application/merge-patch+json")
     public ResponseEntity<Employer> partialUpdateEmployer(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody Employer employer
     ) throws URISyntaxException {
         log.debug("REST request to partial update Employer partially : {}, {}", id, employer);
@@ -118,38 +213,193 @@ public class EmployerResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!employerRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        Long version = ETagUtil.expectedVersionIfAny(ifMatch, employer.getVersion(), ENTITY_NAME);
+        Map<String, Object> values = new LinkedHashMap<>();
+        if (employer.getName() != null) {
+            values.put(Employer_.NAME, employer.getName());
+        }
+        if (!partialUpdateService.update(Employer.class, id, version, values)) {
+            if (version == null || !employerRepository.existsById(id)) {
+                throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+            }
+            throw new PreconditionFailedAlertException("The employer was updated since it was read", ENTITY_NAME, "versionmismatch");
+        }
+        if (employer.getName() != null) {
+            employerSuggestionService.writtenAfterCommit(id, employer.getName());
+        }
+
+        Employer result = employerRepository.findById(id).orElseThrow();
+        return ResponseEntity
+            .ok()
+            .eTag(ETagUtil.toETag(result.getVersion()))
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, employer.getId().toString()))
+            .body(result);
+    }
+
+    /**
+     * {@code GET  /employers} : get the ids and names of the employers, or of the employers with a given name.
+     * <p>
+     * The employers are ordered by id by default, and paged: a page holds at most {@value #MAX_PAGE_SIZE} employers,
+     * which is also the default page size. The results and their count are served from the Hibernate query cache until
+     * an employer is written through this instance, and for at most the time to live of the {@code employerQueries}
+     * cache region: the writes of other instances are seen once it expires. They are read from the primary database,
+     * not from a replica, as read-only transactions on replicas do not fill the cache.
+     *
+     * @param name the name of the employers to find, all the employers when not set.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of employers in body, or with status {@code 400 (Bad Request)} if the sort is not by id or name.
+     */
+    @GetMapping("/employers")
+    public ResponseEntity<List<EmployerSummaryDTO>> getAllEmployers(
+        @RequestParam(value = "name", required = false) String name,
+        @PageableDefault(size = MAX_PAGE_SIZE, sort = "id") Pageable pageable
+    ) {
+        log.debug("REST request to get a page of Employers");
+        if (!onlyContainsAllowedProperties(pageable, ALLOWED_ORDERED_PROPERTIES)) {
+            return ResponseEntity.badRequest().build();
         }
+        Pageable capped = PageRequest.of(pageable.getPageNumber(), Math.min(pageable.getPageSize(), MAX_PAGE_SIZE), pageable.getSort());
+        Page<EmployerSummaryDTO> page = name != null
+            ? employerRepository.findAllCachedSummariesByName(name, capped)
+            : employerRepository.findAllCachedSummaries(capped);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
 
-        Optional<Employer> result = employerRepository
-            .findById(employer.getId())
-            .map(
-                existingEmployer -> {
-                    if (employer.getName() != null) {
-                        existingEmployer.setName(employer.getName());
-                    }
+    /**
+     * {@code GET  /employers/export} : stream all the employers as newline-delimited JSON.
+     * <p>
+     * The employers are written while they are read from the database, so the export is never held in memory.
+     * They are read by the {@link ExportService} in its own transaction, once this method has returned: the class
+     * transaction is not needed here.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the employers, one JSON object per line, in body.
+     */
+    @GetMapping(value = "/employers/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<StreamingResponseBody> exportEmployers() {
+        log.debug("REST request to export Employers");
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(exportService::exportEmployers);
+    }
 
-                    return existingEmployer;
-                }
-            )
-            .map(employerRepository::save);
+    /**
+     * {@code GET  /employers/stats} : get the employee count, quote count and latest quote date of the employers.
+     * <p>
+     * The aggregates are read from a summary maintained with each write, not computed from the employees and quotes.
+     *
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of employer stats in body.
+     */
+    @GetMapping("/employers/stats")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<EmployerStatsDTO>> getAllEmployerStats(Pageable pageable) {
+        log.debug("REST request to get a page of Employer stats");
+        if (!onlyContainsAllowedProperties(pageable, ALLOWED_ORDERED_PROPERTIES)) {
+            return ResponseEntity.badRequest().build();
+        }
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, employer.getId().toString())
-        );
+        Page<EmployerStatsDTO> page = employerStatsService.findAll(pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
     /**
-     * {@code GET  /employers} : get all the employers.
+     * {@code GET  /employers/suggest?prefix=:prefix} : suggest the employers having a word of their name starting with the prefix.
+     * <p>
+     * The employers are read from memory, not from the database, for type-ahead fields.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of employers in body.
+     * @param prefix the first letters of a word of the names, ignoring case and accents.
+     * @param size the maximum number of employers.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of employers in body, or with status {@code 400 (Bad Request)} if the size is not positive.
      */
-    @GetMapping("/employers")
-    public List<Employer> getAllEmployers() {
-        log.debug("REST request to get all Employers");
-        return employerRepository.findAll();
+    @GetMapping("/employers/suggest")
+    public ResponseEntity<List<EmployerSummaryDTO>> suggestEmployers(
+        @RequestParam("prefix") String prefix,
+        @RequestParam(value = "size", defaultValue = "10") int size
+    ) {
+        log.debug("REST request to suggest Employers for prefix {}", prefix);
+        if (size < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(employerSuggestionService.suggest(prefix, size));
+    }
+
+    /**
+     * {@code GET  /employers/:id/stats} : get the employee count, quote count and latest quote date of the "id" employer.
+     *
+     * @param id the id of the employer.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the employer stats, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/employers/{id}/stats")
+    @Transactional(readOnly = true)
+    public ResponseEntity<EmployerStatsDTO> getEmployerStats(@PathVariable Long id) {
+        log.debug("REST request to get the stats of Employer : {}", id);
+        return ResponseUtil.wrapOrNotFound(employerStatsService.findOne(id));
+    }
+
+    /**
+     * {@code GET  /employers/:id/employees} : get a page of the employees of the "id" employer.
+     *
+     * @param id the id of the employer.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of employees in body, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/employers/{id}/employees")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<EmployeeSummaryDTO>> getEmployerEmployees(@PathVariable Long id, Pageable pageable) {
+        log.debug("REST request to get a page of the Employees of Employer : {}", id);
+        if (!onlyContainsAllowedProperties(pageable, ALLOWED_EMPLOYEE_ORDERED_PROPERTIES)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!employerRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Page<EmployeeSummaryDTO> page = employeeRepository.findSummaries(EmployeeRepository.employerIs(id), pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /employers/:id/quotes?from=:from&to=:to} : get a page of the quotes of the "id" employer dated between two days.
+     * <p>
+     * The quotes are ordered by {@code (quoteDate, id)} unless a sort is given.
+     *
+     * @param id the id of the employer.
+     * @param from the first quote date, included.
+     * @param to the last quote date, included.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of quotes in body, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/employers/{id}/quotes")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<QuoteSummaryDTO>> getEmployerQuotes(
+        @PathVariable Long id,
+        @RequestParam("from") LocalDate from,
+        @RequestParam("to") LocalDate to,
+        Pageable pageable
+    ) {
+        log.debug("REST request to get a page of the Quotes of Employer : {}", id);
+        if (!onlyContainsAllowedProperties(pageable, ALLOWED_QUOTE_ORDERED_PROPERTIES)) {
+            return ResponseEntity.badRequest().build();
+        }
+        QuoteResource.checkDateRange(from, to);
+        if (!employerRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Page<QuoteSummaryDTO> page = quoteRepository.findAllSummariesByEmployerIdAndQuoteDateBetween(
+            id,
+            from,
+            to,
+            QuoteResource.sortedByQuoteDateByDefault(pageable)
+        );
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    private boolean onlyContainsAllowedProperties(Pageable pageable, List<String> allowedProperties) {
+        return pageable.getSort().stream().map(Sort.Order::getProperty).allMatch(allowedProperties::contains);
     }
 
     /**
@@ -159,14 +409,17 @@ public class EmployerResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the employer, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/employers/{id}")
+    @Transactional(readOnly = true)
     public ResponseEntity<Employer> getEmployer(@PathVariable Long id) {
         log.debug("REST request to get Employer : {}", id);
         Optional<Employer> employer = employerRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(employer);
+        HttpHeaders headers = new HttpHeaders();
+        employer.ifPresent(found -> headers.setETag(ETagUtil.toETag(found.getVersion())));
+        return ResponseUtil.wrapOrNotFound(employer, headers);
     }
 
     /**
-     * {@code DELETE  /employers/:id} : delete the "id" employer.
+     * {@code DELETE  /employers/:id} : delete the "id" employer, which must not have employees or quotes anymore.
      *
      * @param id the id of the employer to delete.
      * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
@@ -174,10 +427,52 @@ public class EmployerResource {
     @DeleteMapping("/employers/{id}")
     public ResponseEntity<Void> deleteEmployer(@PathVariable Long id) {
         log.debug("REST request to delete Employer : {}", id);
+        employerStatsService.delete(id);
         employerRepository.deleteById(id);
         return ResponseEntity
             .noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * {@code DELETE  /employers/:id?cascade=true} : delete the "id" employer with all its employees and quotes.
+     * <p>
+     * The quotes and employees are deleted with bulk statements, without loading them.
+     *
+     * @param id the id of the employer to delete.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the numbers of employers, employees and quotes
+     * deleted in body.
+     */
+    @DeleteMapping(value = "/employers/{id}", params = "cascade=true")
+    public ResponseEntity<DeletedCountsDTO> deleteEmployerWithEmployeesAndQuotes(@PathVariable Long id) {
+        log.debug("REST request to delete Employer with its employees and quotes : {}", id);
+        DeletedCountsDTO result = bulkDeleteService.deleteEmployer(id);
+        return ResponseEntity
+            .ok()
+            .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
+            .body(result);
+    }
+
+    /**
+     * {@code SEARCH  /_search/employers?q=:query} : search for the employers whose name matches the query.
+     * <p>
+     * Every word of the query must start a word of the name. The results are read from the embedded search index, and
+     * sorted by relevance unless a sort is given.
+     *
+     * @param query the query of the employer search.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of employers in body.
+     */
+    @GetMapping("/_search/employers")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<EmployerSummaryDTO>> searchEmployers(@RequestParam("q") String query, Pageable pageable) {
+        log.debug("REST request to search for a page of Employers for query {}", query);
+        if (!onlyContainsAllowedProperties(pageable, ALLOWED_ORDERED_PROPERTIES)) {
+            return ResponseEntity.badRequest().build();
+        }
+        Page<EmployerSummaryDTO> page = searchService.searchEmployers(query, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
 }
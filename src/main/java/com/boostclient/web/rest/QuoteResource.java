@@ -1,11 +1,29 @@
 package com.boostclient.web.rest;
 
+import com.boostclient.config.ApplicationProperties;
 import com.boostclient.domain.Quote;
+import com.boostclient.domain.Quote_;
+import com.boostclient.repository.EmployerRepository;
 import com.boostclient.repository.QuoteRepository;
+import com.boostclient.service.BulkDeleteService;
+import com.boostclient.service.EmployerStatsService;
+import com.boostclient.service.ExportService;
+import com.boostclient.service.PartialUpdateService;
+import com.boostclient.service.QuoteBatchService;
+import com.boostclient.service.SearchService;
+import com.boostclient.service.dto.BatchItemResultDTO;
+import com.boostclient.service.dto.DeletedCountsDTO;
+import com.boostclient.service.dto.QuoteSummaryDTO;
 import com.boostclient.web.rest.errors.BadRequestAlertException;
+import com.boostclient.web.rest.errors.PreconditionFailedAlertException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import javax.validation.Valid;
@@ -13,10 +31,22 @@ import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -31,13 +61,49 @@ public class QuoteResource {
 
     private static final String ENTITY_NAME = "quote";
 
+    private static final List<String> ALLOWED_ORDERED_PROPERTIES = Collections.unmodifiableList(Arrays.asList("id", "name", "quoteDate"));
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final QuoteRepository quoteRepository;
 
-    public QuoteResource(QuoteRepository quoteRepository) {
+    private final EmployerRepository employerRepository;
+
+    private final ExportService exportService;
+
+    private final QuoteBatchService quoteBatchService;
+
+    private final EmployerStatsService employerStatsService;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final SearchService searchService;
+
+    private final PartialUpdateService partialUpdateService;
+
+    private final BulkDeleteService bulkDeleteService;
+
+    public QuoteResource(
+        QuoteRepository quoteRepository,
+        EmployerRepository employerRepository,
+        ExportService exportService,
+        QuoteBatchService quoteBatchService,
+        EmployerStatsService employerStatsService,
+        ApplicationProperties applicationProperties,
+        SearchService searchService,
+        PartialUpdateService partialUpdateService,
+        BulkDeleteService bulkDeleteService
+    ) {
         this.quoteRepository = quoteRepository;
+        this.employerRepository = employerRepository;
+        this.exportService = exportService;
+        this.quoteBatchService = quoteBatchService;
+        this.employerStatsService = employerStatsService;
+        this.applicationProperties = applicationProperties;
+        this.searchService = searchService;
+        this.partialUpdateService = partialUpdateService;
+        this.bulkDeleteService = bulkDeleteService;
     }
 
     /**
@@ -54,25 +120,54 @@ public class QuoteResource {
             throw new BadRequestAlertException("A new quote cannot already have an ID", ENTITY_NAME, "idexists");
         }
         Quote result = quoteRepository.save(quote);
+        employerStatsService.addQuotes(result.getEmployer().getId(), 1, result.getQuoteDate());
         return ResponseEntity
             .created(new URI("/api/quotes/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
             .body(result);
     }
 
+    /**
+     * {@code POST  /quotes/batch} : Create or update many quotes.
+     * <p>
+     * Quotes without an ID are created and quotes with an ID are updated, if still at their version. Each quote is
+     * validated on its own: an invalid quote, or one updated since its version, is reported as failed and does not
+     * prevent the others from being saved.
+     *
+     * @param quotes the quotes to save.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body one result per quote, in the request order,
+     * or with status {@code 400 (Bad Request)} if there are too many quotes.
+     */
+    @PostMapping("/quotes/batch")
+    public ResponseEntity<List<BatchItemResultDTO>> saveQuotes(@NotNull @RequestBody List<Quote> quotes) {
+        log.debug("REST request to save a batch of {} Quotes", quotes.size());
+        if (quotes.size() > applicationProperties.getBatch().getMaxItems()) {
+            throw new BadRequestAlertException("Too many quotes in one batch", ENTITY_NAME, "batchtoolarge");
+        }
+        return ResponseEntity.ok(quoteBatchService.save(quotes));
+    }
+
     /**
      * {@code PUT  /quotes/:id} : Updates an existing quote.
+     * <p>
+     * The quote is written with a single {@code UPDATE} of the version it was read at, which fails if it was updated since.
+     * It is not read first: the employer stats change only if the statement updating them finds its employer or date changed.
      *
      * @param id the id of the quote to save.
+     * @param ifMatch the entity tag of the version the update applies to, else the version in the body.
      * @param quote the quote to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated quote,
-     * or with status {@code 400 (Bad Request)} if the quote is not valid,
+     * or with status {@code 400 (Bad Request)} if the quote is not valid or does not exist,
+     * or with status {@code 412 (Precondition Failed)} if the quote was updated since it was read,
      * or with status {@code 500 (Internal Server Error)} if the quote couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/quotes/{id}")
-    public ResponseEntity<Quote> updateQuote(@PathVariable(value = "id", required = false) final Long id, @Valid @RequestBody Quote quote)
-        throws URISyntaxException {
+    public ResponseEntity<Quote> updateQuote(
+        @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @Valid @RequestBody Quote quote
+    ) throws URISyntaxException {
         log.debug("REST request to update Quote : {}, {}", id, quote);
         if (quote.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
@@ -81,31 +176,49 @@ public class QuoteResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!quoteRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        quote.setVersion(ETagUtil.expectedVersion(ifMatch, quote.getVersion(), ENTITY_NAME));
+        // Only the id of the employer is written, and its reference may lack the version Hibernate needs to see it saved
+        quote.setEmployer(employerRepository.getOne(quote.getEmployer().getId()));
 
-        Quote result = quoteRepository.save(quote);
+        Quote result;
+        try {
+            boolean moved = employerStatsService.removeUpdatedQuote(quote);
+            result = quoteRepository.update(quote);
+            if (moved) {
+                employerStatsService.addQuotes(result.getEmployer().getId(), 1, result.getQuoteDate());
+            }
+        } catch (OptimisticLockingFailureException e) {
+            if (!quoteRepository.existsById(id)) {
+                throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+            }
+            throw new PreconditionFailedAlertException("The quote was updated since it was read", ENTITY_NAME, "versionmismatch");
+        }
         return ResponseEntity
             .ok()
+            .eTag(ETagUtil.toETag(result.getVersion()))
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, quote.getId().toString()))
             .body(result);
     }
 
     /**
      * {@code PATCH  /quotes/:id} : Partial updates given fields of an existing quote, field will ignore if it is null
+     * <p>
+     * The quote is not read first: the given fields are written with a single {@code UPDATE} of these columns only, of
+     * the given version if any.
      *
      * @param id the id of the quote to save.
+     * @param ifMatch the entity tag of the version the update applies to, else the version in the body, if any.
      * @param quote the quote to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated quote,
      * or with status {@code 400 (Bad Request)} if the quote is not valid,
-     * or with status {@code 404 (Not Found)} if the quote is not found,
+     * or with status {@code 412 (Precondition Failed)} if the quote was updated since the given version,
      * or with status {@code 500 (Internal Server Error)} if the quote couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/quotes/{id}", consumes = "application/merge-patch+json")
     public ResponseEntity<Quote> partialUpdateQuote(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody Quote quote
     ) throws URISyntaxException {
         log.debug("REST request to partial update Quote partially : {}, {}", id, quote);
@@ -116,41 +229,148 @@ public class QuoteResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!quoteRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        Long version = ETagUtil.expectedVersionIfAny(ifMatch, quote.getVersion(), ENTITY_NAME);
+        Map<String, Object> values = new LinkedHashMap<>();
+        if (quote.getName() != null) {
+            values.put(Quote_.NAME, quote.getName());
+        }
+        if (quote.getQuoteDate() != null) {
+            values.put(Quote_.QUOTE_DATE, quote.getQuoteDate());
+        }
+        if (!partialUpdateService.update(Quote.class, id, version, values)) {
+            if (version == null || !quoteRepository.existsById(id)) {
+                throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+            }
+            throw new PreconditionFailedAlertException("The quote was updated since it was read", ENTITY_NAME, "versionmismatch");
         }
 
-        Optional<Quote> result = quoteRepository
-            .findById(quote.getId())
-            .map(
-                existingQuote -> {
-                    if (quote.getName() != null) {
-                        existingQuote.setName(quote.getName());
-                    }
-                    if (quote.getQuoteDate() != null) {
-                        existingQuote.setQuoteDate(quote.getQuoteDate());
-                    }
-
-                    return existingQuote;
-                }
-            )
-            .map(quoteRepository::save);
-
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, quote.getId().toString())
-        );
+        Quote result = quoteRepository.findById(id).orElseThrow();
+        if (quote.getQuoteDate() != null) {
+            employerStatsService.recountQuotes(List.of(result.getEmployer().getId()));
+        }
+        return ResponseEntity
+            .ok()
+            .eTag(ETagUtil.toETag(result.getVersion()))
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, quote.getId().toString()))
+            .body(result);
     }
 
     /**
      * {@code GET  /quotes} : get all the quotes.
+     * <p>
+     * By default the quotes are paged with an offset, and the {@code X-Total-Count} and {@code Link} headers are set.
+     * When {@code afterQuoteDate} and {@code afterId} are given, a keyset page is returned instead: the quotes ordered by
+     * {@code (quoteDate, id)} that come strictly after that position, without a total count. The {@code Link} header then
+     * carries the position of the next page.
+     * <p>
+     * When {@code from} and {@code to} are given, only the quotes dated between these days, included, are returned,
+     * ordered by {@code (quoteDate, id)} unless a sort is given.
      *
+     * @param pageable the pagination information.
+     * @param afterQuoteDate the quote date of the last quote of the previous keyset page.
+     * @param afterId the id of the last quote of the previous keyset page.
+     * @param from the first quote date of the range.
+     * @param to the last quote date of the range.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of quotes in body.
      */
     @GetMapping("/quotes")
-    public List<Quote> getAllQuotes() {
-        log.debug("REST request to get all Quotes");
-        return quoteRepository.findAll();
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<QuoteSummaryDTO>> getAllQuotes(
+        Pageable pageable,
+        @RequestParam(value = "afterQuoteDate", required = false) LocalDate afterQuoteDate,
+        @RequestParam(value = "afterId", required = false) Long afterId,
+        @RequestParam(value = "from", required = false) LocalDate from,
+        @RequestParam(value = "to", required = false) LocalDate to
+    ) {
+        log.debug("REST request to get a page of Quotes");
+        if ((afterQuoteDate != null || afterId != null) && (from != null || to != null)) {
+            throw new BadRequestAlertException("Keyset pages cannot be restricted to a date range", ENTITY_NAME, "keysetrange");
+        }
+        if (afterQuoteDate != null || afterId != null) {
+            return getQuotesAfter(pageable, afterQuoteDate, afterId);
+        }
+        if (!onlyContainsAllowedProperties(pageable)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Page<QuoteSummaryDTO> page;
+        if (from != null || to != null) {
+            checkDateRange(from, to);
+            page = quoteRepository.findAllSummariesByQuoteDateBetween(from, to, sortedByQuoteDateByDefault(pageable));
+        } else {
+            page = quoteRepository.findAllSummaries(pageable);
+        }
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    private ResponseEntity<List<QuoteSummaryDTO>> getQuotesAfter(Pageable pageable, LocalDate afterQuoteDate, Long afterId) {
+        if (afterQuoteDate == null || afterId == null) {
+            throw new BadRequestAlertException("Both afterQuoteDate and afterId are required", ENTITY_NAME, "keysetincomplete");
+        }
+        if (pageable.getSort().isSorted()) {
+            throw new BadRequestAlertException("Keyset pages are always sorted by quoteDate and id", ENTITY_NAME, "keysetsorted");
+        }
+
+        Slice<QuoteSummaryDTO> slice = quoteRepository.findAllSummariesAfter(
+            afterQuoteDate,
+            afterId,
+            PageRequest.of(0, pageable.getPageSize())
+        );
+        HttpHeaders headers = new HttpHeaders();
+        if (slice.hasNext()) {
+            QuoteSummaryDTO last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            String next = ServletUriComponentsBuilder
+                .fromCurrentRequest()
+                .replaceQueryParam("page")
+                .replaceQueryParam("afterQuoteDate", last.getQuoteDate())
+                .replaceQueryParam("afterId", last.getId())
+                .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
+    private boolean onlyContainsAllowedProperties(Pageable pageable) {
+        return pageable.getSort().stream().map(Sort.Order::getProperty).allMatch(ALLOWED_ORDERED_PROPERTIES::contains);
+    }
+
+    /**
+     * Check that a date range has both bounds, in order.
+     */
+    static void checkDateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new BadRequestAlertException("Both from and to are required", ENTITY_NAME, "daterangeincomplete");
+        }
+        if (from.isAfter(to)) {
+            throw new BadRequestAlertException("The from date must not be after the to date", ENTITY_NAME, "daterangeinvalid");
+        }
+    }
+
+    /**
+     * Sort unsorted pages of a date range like the quote date indexes, so that no sort is needed.
+     */
+    static Pageable sortedByQuoteDateByDefault(Pageable pageable) {
+        if (pageable.getSort().isSorted() || pageable.isUnpaged()) {
+            return pageable;
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("quoteDate", "id"));
+    }
+
+    /**
+     * {@code GET  /quotes/export} : stream all the quotes as newline-delimited JSON.
+     * <p>
+     * The quotes are written while they are read from the database, so the export is never held in memory.
+     * They are read by the {@link ExportService} in its own transaction, once this method has returned: the class
+     * transaction is not needed here.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the quotes, one JSON object per line, in body.
+     */
+    @GetMapping(value = "/quotes/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<StreamingResponseBody> exportQuotes() {
+        log.debug("REST request to export Quotes");
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(exportService::exportQuotes);
     }
 
     /**
@@ -160,10 +380,13 @@ public class QuoteResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the quote, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/quotes/{id}")
+    @Transactional(readOnly = true)
     public ResponseEntity<Quote> getQuote(@PathVariable Long id) {
         log.debug("REST request to get Quote : {}", id);
         Optional<Quote> quote = quoteRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(quote);
+        HttpHeaders headers = new HttpHeaders();
+        quote.ifPresent(found -> headers.setETag(ETagUtil.toETag(found.getVersion())));
+        return ResponseUtil.wrapOrNotFound(quote, headers);
     }
 
     /**
@@ -175,10 +398,57 @@ public class QuoteResource {
     @DeleteMapping("/quotes/{id}")
     public ResponseEntity<Void> deleteQuote(@PathVariable Long id) {
         log.debug("REST request to delete Quote : {}", id);
-        quoteRepository.deleteById(id);
+        quoteRepository
+            .findById(id)
+            .ifPresent(
+                quote -> {
+                    quoteRepository.delete(quote);
+                    employerStatsService.removeQuotes(quote.getEmployer().getId(), 1, quote.getQuoteDate());
+                }
+            );
         return ResponseEntity
             .noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * {@code DELETE  /quotes?ids=:ids} : delete many quotes at once.
+     * <p>
+     * The quotes are deleted with bulk statements, without loading them. The ids of quotes that do not exist are ignored.
+     *
+     * @param ids the ids of the quotes to delete.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the number of quotes deleted in body,
+     * or with status {@code 400 (Bad Request)} if there are more ids than {@code application.batch.max-items}.
+     */
+    @DeleteMapping(value = "/quotes", params = "ids")
+    public ResponseEntity<DeletedCountsDTO> deleteQuotes(@RequestParam("ids") List<Long> ids) {
+        log.debug("REST request to delete {} Quotes", ids.size());
+        if (ids.size() > applicationProperties.getBatch().getMaxItems()) {
+            throw new BadRequestAlertException("Too many quotes in one batch", ENTITY_NAME, "batchtoolarge");
+        }
+        return ResponseEntity.ok(bulkDeleteService.deleteQuotes(ids));
+    }
+
+    /**
+     * {@code SEARCH  /_search/quotes?q=:query} : search for the quotes whose name matches the query.
+     * <p>
+     * Every word of the query must start a word of the name. The results are read from the embedded search index, and
+     * sorted by relevance unless a sort is given.
+     *
+     * @param query the query of the quote search.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of quotes in body.
+     */
+    @GetMapping("/_search/quotes")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<QuoteSummaryDTO>> searchQuotes(@RequestParam("q") String query, Pageable pageable) {
+        log.debug("REST request to search for a page of Quotes for query {}", query);
+        if (!onlyContainsAllowedProperties(pageable)) {
+            return ResponseEntity.badRequest().build();
+        }
+        Page<QuoteSummaryDTO> page = searchService.searchQuotes(query, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
 }
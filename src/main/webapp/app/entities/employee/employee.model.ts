@@ -3,13 +3,20 @@ import { IEmployer } from 'app/entities/employer/employer.model';
 
 export interface IEmployee {
   id?: number;
+  version?: number;
   name?: string;
   dateOfBirth?: dayjs.Dayjs;
   employer?: IEmployer;
 }
 
 export class Employee implements IEmployee {
-  constructor(public id?: number, public name?: string, public dateOfBirth?: dayjs.Dayjs, public employer?: IEmployer) {}
+  constructor(
+    public id?: number,
+    public name?: string,
+    public dateOfBirth?: dayjs.Dayjs,
+    public employer?: IEmployer,
+    public version?: number
+  ) {}
 }
 
 export function getEmployeeIdentifier(employee: IEmployee): number | undefined {
@@ -1,6 +1,9 @@
+jest.mock('@angular/router');
+
 import { ComponentFixture, TestBed } from '@angular/core/testing';
 import { HttpHeaders, HttpResponse } from '@angular/common/http';
 import { HttpClientTestingModule } from '@angular/common/http/testing';
+import { ActivatedRoute, Router } from '@angular/router';
 import { of } from 'rxjs';
 
 import { EmployeeService } from '../service/employee.service';
@@ -17,6 +20,24 @@ describe('Component Tests', () => {
       TestBed.configureTestingModule({
         imports: [HttpClientTestingModule],
         declarations: [EmployeeComponent],
+        providers: [
+          Router,
+          {
+            provide: ActivatedRoute,
+            useValue: {
+              data: of({
+                defaultSort: 'id,asc',
+              }),
+              queryParamMap: of(
+                jest.requireActual('@angular/router').convertToParamMap({
+                  page: '1',
+                  size: '1',
+                  sort: 'id,desc',
+                })
+              ),
+            },
+          },
+        ],
       })
         .overrideTemplate(EmployeeComponent, '')
         .compileComponents();
@@ -25,7 +46,7 @@ describe('Component Tests', () => {
       comp = fixture.componentInstance;
       service = TestBed.inject(EmployeeService);
 
-      const headers = new HttpHeaders().append('link', 'link;link');
+      const headers = new HttpHeaders().append('link', 'link;link').append('X-Total-Count', '41');
       spyOn(service, 'query').and.returnValue(
         of(
           new HttpResponse({
@@ -44,5 +65,37 @@ describe('Component Tests', () => {
       expect(service.query).toHaveBeenCalled();
       expect(comp.employees?.[0]).toEqual(jasmine.objectContaining({ id: 123 }));
     });
+
+    it('should load a page', () => {
+      // WHEN
+      comp.loadPage(1);
+
+      // THEN
+      expect(service.query).toHaveBeenCalledWith(expect.objectContaining({ page: 0, size: 20 }));
+      expect(comp.employees?.[0]).toEqual(jasmine.objectContaining({ id: 123 }));
+      expect(comp.totalItems).toEqual(41);
+    });
+
+    it('should calculate the sort attribute for an id', () => {
+      // WHEN
+      comp.ngOnInit();
+
+      // THEN
+      expect(service.query).toHaveBeenCalledWith(expect.objectContaining({ sort: ['id,desc'] }));
+    });
+
+    it('should calculate the sort attribute for a non-id attribute', () => {
+      // INIT
+      comp.ngOnInit();
+
+      // GIVEN
+      comp.predicate = 'name';
+
+      // WHEN
+      comp.loadPage(1);
+
+      // THEN
+      expect(service.query).toHaveBeenLastCalledWith(expect.objectContaining({ sort: ['name,desc', 'id'] }));
+    });
   });
 });
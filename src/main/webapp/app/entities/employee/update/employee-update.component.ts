@@ -21,6 +21,7 @@ export class EmployeeUpdateComponent implements OnInit {
 
   editForm = this.fb.group({
     id: [],
+    version: [],
     name: [null, [Validators.required]],
     dateOfBirth: [null, [Validators.required]],
     employer: [null, Validators.required],
@@ -81,6 +82,7 @@ export class EmployeeUpdateComponent implements OnInit {
   protected updateForm(employee: IEmployee): void {
     this.editForm.patchValue({
       id: employee.id,
+      version: employee.version,
       name: employee.name,
       dateOfBirth: employee.dateOfBirth,
       employer: employee.employer,
@@ -108,6 +110,7 @@ export class EmployeeUpdateComponent implements OnInit {
     return {
       ...new Employee(),
       id: this.editForm.get(['id'])!.value,
+      version: this.editForm.get(['version'])!.value,
       name: this.editForm.get(['name'])!.value,
       dateOfBirth: this.editForm.get(['dateOfBirth'])!.value,
       employer: this.editForm.get(['employer'])!.value,
@@ -2,12 +2,13 @@ import { IEmployee } from 'app/entities/employee/employee.model';
 
 export interface IEmployer {
   id?: number;
+  version?: number;
   name?: string;
   employees?: IEmployee[] | null;
 }
 
 export class Employer implements IEmployer {
-  constructor(public id?: number, public name?: string, public employees?: IEmployee[] | null) {}
+  constructor(public id?: number, public name?: string, public employees?: IEmployee[] | null, public version?: number) {}
 }
 
 export function getEmployerIdentifier(employer: IEmployer): number | undefined {
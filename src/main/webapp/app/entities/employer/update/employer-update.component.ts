@@ -17,6 +17,7 @@ export class EmployerUpdateComponent implements OnInit {
 
   editForm = this.fb.group({
     id: [],
+    version: [],
     name: [null, [Validators.required]],
   });
 
@@ -64,6 +65,7 @@ export class EmployerUpdateComponent implements OnInit {
   protected updateForm(employer: IEmployer): void {
     this.editForm.patchValue({
       id: employer.id,
+      version: employer.version,
       name: employer.name,
     });
   }
@@ -72,6 +74,7 @@ export class EmployerUpdateComponent implements OnInit {
     return {
       ...new Employer(),
       id: this.editForm.get(['id'])!.value,
+      version: this.editForm.get(['version'])!.value,
       name: this.editForm.get(['name'])!.value,
     };
   }
@@ -3,13 +3,20 @@ import { IEmployer } from 'app/entities/employer/employer.model';
 
 export interface IQuote {
   id?: number;
+  version?: number;
   name?: string;
   quoteDate?: dayjs.Dayjs;
   employer?: IEmployer;
 }
 
 export class Quote implements IQuote {
-  constructor(public id?: number, public name?: string, public quoteDate?: dayjs.Dayjs, public employer?: IEmployer) {}
+  constructor(
+    public id?: number,
+    public name?: string,
+    public quoteDate?: dayjs.Dayjs,
+    public employer?: IEmployer,
+    public version?: number
+  ) {}
 }
 
 export function getQuoteIdentifier(quote: IQuote): number | undefined {
@@ -11,6 +11,9 @@ const quoteRoute: Routes = [
   {
     path: '',
     component: QuoteComponent,
+    data: {
+      defaultSort: 'id,asc',
+    },
     canActivate: [UserRouteAccessService],
   },
   {
@@ -21,6 +21,7 @@ export class QuoteUpdateComponent implements OnInit {
 
   editForm = this.fb.group({
     id: [],
+    version: [],
     name: [null, [Validators.required]],
     quoteDate: [null, [Validators.required]],
     employer: [null, Validators.required],
@@ -81,6 +82,7 @@ export class QuoteUpdateComponent implements OnInit {
   protected updateForm(quote: IQuote): void {
     this.editForm.patchValue({
       id: quote.id,
+      version: quote.version,
       name: quote.name,
       quoteDate: quote.quoteDate,
       employer: quote.employer,
@@ -105,6 +107,7 @@ export class QuoteUpdateComponent implements OnInit {
     return {
       ...new Quote(),
       id: this.editForm.get(['id'])!.value,
+      version: this.editForm.get(['version'])!.value,
       name: this.editForm.get(['name'])!.value,
       quoteDate: this.editForm.get(['quoteDate'])!.value,
       employer: this.editForm.get(['employer'])!.value,
@@ -0,0 +1,91 @@
+package com.boostclient.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.ResourcePools;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.SizedResourcePool;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.jhipster.config.JHipsterProperties;
+
+class CacheConfigurationTest {
+
+    private JHipsterProperties jHipsterProperties;
+    private ApplicationProperties applicationProperties;
+
+    @BeforeEach
+    void setUp() {
+        jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getCache().getEhcache().setMaxEntries(100);
+        jHipsterProperties.getCache().getEhcache().setTimeToLiveSeconds(3600);
+        applicationProperties = new ApplicationProperties();
+    }
+
+    @Test
+    void shouldUseJHipsterSettingsForRegionsWithoutSettings() {
+        CacheConfiguration<Object, Object> configuration = build("usersByLogin");
+
+        ResourcePools resourcePools = configuration.getResourcePools();
+        assertThat(resourcePools.getResourceTypeSet()).containsExactly(ResourceType.Core.HEAP);
+        assertPool(resourcePools.getPoolForResource(ResourceType.Core.HEAP), 100, EntryUnit.ENTRIES);
+        assertThat(configuration.getExpiryPolicy().getExpiryForCreation(1, 1)).isEqualTo(Duration.ofSeconds(3600));
+        assertThat(configuration.getExpiryPolicy().getExpiryForAccess(1, () -> 1)).isNull();
+    }
+
+    @Test
+    void shouldAddOffHeapAndDiskTiers() {
+        ApplicationProperties.Cache.Region region = new ApplicationProperties.Cache.Region();
+        region.setHeapEntries(1000L);
+        region.setOffHeapMb(64);
+        region.setDiskMb(512);
+        region.setTimeToLiveSeconds(60L);
+        applicationProperties.getCache().getRegions().put("com.boostclient.domain.Quote", region);
+
+        CacheConfiguration<Object, Object> configuration = build("com.boostclient.domain.Quote");
+
+        ResourcePools resourcePools = configuration.getResourcePools();
+        assertPool(resourcePools.getPoolForResource(ResourceType.Core.HEAP), 1000, EntryUnit.ENTRIES);
+        assertPool(resourcePools.getPoolForResource(ResourceType.Core.OFFHEAP), 64, MemoryUnit.MB);
+        assertPool(resourcePools.getPoolForResource(ResourceType.Core.DISK), 512, MemoryUnit.MB);
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.DISK).isPersistent()).isFalse();
+        assertThat(configuration.getExpiryPolicy().getExpiryForCreation(1, 1)).isEqualTo(Duration.ofSeconds(60));
+    }
+
+    @Test
+    void shouldPreferTimeToIdle() {
+        ApplicationProperties.Cache.Region region = new ApplicationProperties.Cache.Region();
+        region.setTimeToIdleSeconds(900L);
+        applicationProperties.getCache().getRegions().put("usersByLogin", region);
+
+        CacheConfiguration<Object, Object> configuration = build("usersByLogin");
+
+        assertThat(configuration.getExpiryPolicy().getExpiryForCreation(1, 1)).isEqualTo(Duration.ofSeconds(900));
+        assertThat(configuration.getExpiryPolicy().getExpiryForAccess(1, () -> 1)).isEqualTo(Duration.ofSeconds(900));
+    }
+
+    @Test
+    void shouldNeverExpireWithZeroTimeToLive() {
+        ApplicationProperties.Cache.Region region = new ApplicationProperties.Cache.Region();
+        region.setTimeToLiveSeconds(0L);
+        applicationProperties.getCache().getRegions().put("default-update-timestamps-region", region);
+
+        CacheConfiguration<Object, Object> configuration = build("default-update-timestamps-region");
+
+        assertThat(configuration.getExpiryPolicy().getExpiryForCreation(1, 1)).isEqualTo(ExpiryPolicy.INFINITE);
+    }
+
+    private CacheConfiguration<Object, Object> build(String cacheName) {
+        return new com.boostclient.config.CacheConfiguration(jHipsterProperties, applicationProperties).ehcacheConfiguration(cacheName).build();
+    }
+
+    private void assertPool(SizedResourcePool pool, long size, Object unit) {
+        assertThat(pool.getSize()).isEqualTo(size);
+        assertThat(pool.getUnit()).isEqualTo(unit);
+    }
+}
@@ -0,0 +1,155 @@
+package com.boostclient.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Tests for {@link ReplicaRoutingDataSource}, with an H2 database for the primary and for each replica, each one
+ * holding its own name.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final List<HikariDataSource> databases = new ArrayList<>();
+
+    private HikariDataSource primary;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        databases.forEach(HikariDataSource::close);
+    }
+
+    @Test
+    void shouldRouteReadOnlyTransactionsToTheReplicasInTurn() {
+        Routing routing = new Routing(List.of(database("replica-1"), database("replica-2")), Duration.ZERO);
+
+        assertThat(routing.read()).isEqualTo("replica-1");
+        assertThat(routing.read()).isEqualTo("replica-2");
+        assertThat(routing.read()).isEqualTo("replica-1");
+        assertThat(routing.write()).isEqualTo("primary");
+        assertThat(routing.jdbcTemplate.queryForObject("select name from database_name", String.class)).isEqualTo("primary");
+    }
+
+    @Test
+    void shouldKeepReadOnlyTransactionsJoiningAReadWriteOneOnThePrimary() {
+        Routing routing = new Routing(List.of(database("replica-1")), Duration.ZERO);
+
+        String joined = routing.readWrite.execute(status -> routing.readOnly.execute(inner -> routing.name()));
+
+        assertThat(joined).isEqualTo("primary");
+    }
+
+    @Test
+    void shouldRouteEverythingToThePrimaryWithoutReplicas() {
+        Routing routing = new Routing(List.of(), Duration.ZERO);
+
+        assertThat(routing.read()).isEqualTo("primary");
+        assertThat(routing.write()).isEqualTo("primary");
+    }
+
+    @Test
+    void shouldReadTheWritesOfTheSameRequestFromThePrimary() {
+        Routing routing = new Routing(List.of(database("replica-1")), Duration.ofMinutes(1));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertThat(routing.read()).isEqualTo("replica-1");
+
+        routing.write();
+
+        assertThat(routing.read()).isEqualTo("primary");
+
+        // Another request
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertThat(routing.read()).isEqualTo("replica-1");
+    }
+
+    @Test
+    void shouldReadFromTheReplicasOnceTheWindowIsOver() throws InterruptedException {
+        Routing routing = new Routing(List.of(database("replica-1")), Duration.ofMillis(1));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        routing.write();
+        Thread.sleep(10);
+
+        assertThat(routing.read()).isEqualTo("replica-1");
+    }
+
+    @Test
+    void shouldNotKeepRolledBackRequestsOnThePrimary() {
+        Routing routing = new Routing(List.of(database("replica-1")), Duration.ofMinutes(1));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        routing.readWrite.executeWithoutResult(
+            status -> {
+                routing.name();
+                status.setRollbackOnly();
+            }
+        );
+
+        assertThat(routing.read()).isEqualTo("replica-1");
+    }
+
+    private HikariDataSource database(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+        databases.add(dataSource);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists database_name (name varchar(20))");
+        jdbcTemplate.execute("delete from database_name");
+        jdbcTemplate.update("insert into database_name (name) values (?)", name);
+        return dataSource;
+    }
+
+    /**
+     * A routing data source used as the application uses it: through a lazy connection proxy, in transactions.
+     */
+    private class Routing {
+
+        private final JdbcTemplate jdbcTemplate;
+
+        private final TransactionTemplate readWrite;
+
+        private final TransactionTemplate readOnly;
+
+        Routing(List<HikariDataSource> replicas, Duration readYourWritesWindow) {
+            LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replicas, readYourWritesWindow)
+            );
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+            jdbcTemplate = new JdbcTemplate(dataSource);
+            readWrite = new TransactionTemplate(transactionManager);
+            readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+        }
+
+        String read() {
+            return readOnly.execute(status -> name());
+        }
+
+        String write() {
+            return readWrite.execute(status -> name());
+        }
+
+        String name() {
+            return jdbcTemplate.queryForObject("select name from database_name", String.class);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.boostclient.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class VerifiedTokenCacheTest {
+
+    @Test
+    void testEntryExpiresWithItsToken() {
+        VerifiedTokenCache<String> cache = new VerifiedTokenCache<>(10);
+        cache.put("hash", "value", 2000, 1000);
+
+        assertThat(cache.get("hash", 1999)).isEqualTo("value");
+        assertThat(cache.get("hash", 2000)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void testExpiredEntriesAreRemovedFirstWhenFull() {
+        VerifiedTokenCache<String> cache = new VerifiedTokenCache<>(2);
+        cache.put("expired", "value", 1500, 1000);
+        cache.put("valid", "value", 5000, 1000);
+
+        cache.put("new", "value", 5000, 2000);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("valid", 2000)).isEqualTo("value");
+        assertThat(cache.get("new", 2000)).isEqualTo("value");
+    }
+
+    @Test
+    void testSizeIsBounded() {
+        VerifiedTokenCache<String> cache = new VerifiedTokenCache<>(3);
+        for (int i = 0; i < 10; i++) {
+            cache.put("hash-" + i, "value", 5000, 1000);
+        }
+
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(cache.get("hash-9", 1000)).isEqualTo("value");
+    }
+
+    @Test
+    void testEntriesExpiringFirstAreRemovedInBulkWhenFull() {
+        VerifiedTokenCache<String> cache = new VerifiedTokenCache<>(100);
+        for (int i = 0; i < 100; i++) {
+            cache.put("hash-" + i, "value", 2000 + i, 1000);
+        }
+
+        cache.put("new", "value", 5000, 1000);
+
+        assertThat(cache.size()).isEqualTo(91);
+        assertThat(cache.get("hash-9", 1000)).isNull();
+        assertThat(cache.get("hash-10", 1000)).isEqualTo("value");
+        assertThat(cache.get("new", 1000)).isEqualTo("value");
+    }
+}
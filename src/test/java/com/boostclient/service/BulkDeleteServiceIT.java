@@ -0,0 +1,169 @@
+package com.boostclient.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.boostclient.IntegrationTest;
+import com.boostclient.config.ApplicationProperties;
+import com.boostclient.domain.Employee;
+import com.boostclient.domain.Employer;
+import com.boostclient.domain.EntityChange;
+import com.boostclient.domain.Quote;
+import com.boostclient.domain.enumeration.EntityChangeAction;
+import com.boostclient.repository.EmployeeRepository;
+import com.boostclient.repository.EmployerRepository;
+import com.boostclient.repository.EntityChangeRepository;
+import com.boostclient.repository.QuoteRepository;
+import com.boostclient.service.dto.DeletedCountsDTO;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link BulkDeleteService}.
+ * <p>
+ * The change log and the search index are updated when the transactions commit, so the tests are not transactional and
+ * remove their entities afterwards. The batch size is lowered so that the deletions take several statements.
+ */
+@IntegrationTest
+@WithMockUser("bulkdeleter")
+class BulkDeleteServiceIT {
+
+    @Autowired
+    private BulkDeleteService bulkDeleteService;
+
+    @Autowired
+    private EmployerRepository employerRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private QuoteRepository quoteRepository;
+
+    @Autowired
+    private EntityChangeRepository entityChangeRepository;
+
+    @Autowired
+    private EntityChangeWriter entityChangeWriter;
+
+    @Autowired
+    private EmployerStatsService employerStatsService;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private int batchSize;
+
+    private Employer employer;
+
+    private final List<Long> employeeIds = new ArrayList<>();
+
+    private final List<Long> quoteIds = new ArrayList<>();
+
+    @BeforeEach
+    public void init() {
+        batchSize = applicationProperties.getBatch().getSize();
+        applicationProperties.getBatch().setSize(2);
+        employer = employerRepository.save(new Employer().name("Obliterati Zephyr Partners"));
+        for (int i = 0; i < 3; i++) {
+            employeeIds.add(
+                employeeRepository.save(new Employee().name("Zorba Quench " + i).dateOfBirth(LocalDate.of(1980, 1, 1)).employer(employer)).getId()
+            );
+        }
+        for (int i = 0; i < 5; i++) {
+            quoteIds.add(
+                quoteRepository.save(new Quote().name("Zephyr quote " + i).quoteDate(LocalDate.of(2021, 1, 1 + i)).employer(employer)).getId()
+            );
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> employerStatsService.recount(List.of(employer.getId())));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        applicationProperties.getBatch().setSize(batchSize);
+        quoteRepository.findAllById(quoteIds).forEach(quoteRepository::delete);
+        employeeRepository.findAllById(employeeIds).forEach(employeeRepository::delete);
+        employerRepository.findById(employer.getId()).ifPresent(employerRepository::delete);
+        entityChangeWriter.flush();
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+            status -> {
+                employerStatsService.delete(employer.getId());
+                jdbcTemplate.update("delete from jhi_entity_change where changed_by = ?", "bulkdeleter");
+            }
+        );
+    }
+
+    @Test
+    void assertThatQuotesAreDeletedAndTheStatsRecounted() {
+        DeletedCountsDTO result = bulkDeleteService.deleteQuotes(
+            List.of(quoteIds.get(0), quoteIds.get(1), quoteIds.get(0), quoteIds.get(4), Long.MAX_VALUE)
+        );
+
+        assertThat(result.getQuotes()).isEqualTo(3);
+        assertThat(quoteRepository.findAllById(quoteIds)).extracting(Quote::getId).containsExactlyInAnyOrder(quoteIds.get(2), quoteIds.get(3));
+        assertThat(employerStatsService.findOne(employer.getId()).orElseThrow().getQuoteCount()).isEqualTo(2);
+        assertThat(employerStatsService.findOne(employer.getId()).orElseThrow().getLatestQuoteDate()).isEqualTo(LocalDate.of(2021, 1, 4));
+    }
+
+    @Test
+    void assertThatDeletingOlderQuotesKeepsTheLatestQuoteDate() {
+        bulkDeleteService.deleteQuotes(List.of(quoteIds.get(0), quoteIds.get(2)));
+
+        assertThat(employerStatsService.findOne(employer.getId()).orElseThrow().getQuoteCount()).isEqualTo(3);
+        assertThat(employerStatsService.findOne(employer.getId()).orElseThrow().getLatestQuoteDate()).isEqualTo(LocalDate.of(2021, 1, 5));
+    }
+
+    @Test
+    void assertThatEmployeesAreDeletedAndTheStatsRecounted() {
+        DeletedCountsDTO result = bulkDeleteService.deleteEmployees(employeeIds.subList(0, 2));
+
+        assertThat(result.getEmployees()).isEqualTo(2);
+        assertThat(employeeRepository.findAllById(employeeIds)).extracting(Employee::getId).containsExactly(employeeIds.get(2));
+        assertThat(employerStatsService.findOne(employer.getId()).orElseThrow().getEmployeeCount()).isEqualTo(1);
+    }
+
+    @Test
+    void assertThatAnEmployerIsDeletedWithItsEmployeesAndQuotes() {
+        DeletedCountsDTO result = bulkDeleteService.deleteEmployer(employer.getId());
+
+        assertThat(result.getEmployers()).isEqualTo(1);
+        assertThat(result.getEmployees()).isEqualTo(3);
+        assertThat(result.getQuotes()).isEqualTo(5);
+        assertThat(employerRepository.existsById(employer.getId())).isFalse();
+        assertThat(employeeRepository.findAllById(employeeIds)).isEmpty();
+        assertThat(quoteRepository.findAllById(quoteIds)).isEmpty();
+        assertThat(employerStatsService.findOne(employer.getId())).isEmpty();
+
+        // The deletions are recorded and removed from the search index
+        entityChangeWriter.flush();
+        assertThat(entityChangeRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Employer", employer.getId()))
+            .extracting(EntityChange::getAction)
+            .containsExactly(EntityChangeAction.CREATE, EntityChangeAction.DELETE);
+        assertThat(entityChangeRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Quote", quoteIds.get(4)))
+            .extracting(EntityChange::getChangedBy)
+            .containsExactly("bulkdeleter", "bulkdeleter");
+        assertThat(searchService.searchEmployers("obliterati", PageRequest.of(0, 20))).isEmpty();
+        assertThat(searchService.searchEmployees("zorba quench", PageRequest.of(0, 20))).isEmpty();
+        assertThat(searchService.searchQuotes("zephyr quote", PageRequest.of(0, 20))).isEmpty();
+
+        assertThat(bulkDeleteService.deleteEmployer(employer.getId()).getEmployers()).isZero();
+    }
+}
@@ -0,0 +1,137 @@
+package com.boostclient.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.boostclient.IntegrationTest;
+import com.boostclient.domain.Employer;
+import com.boostclient.repository.EmployerRepository;
+import com.boostclient.service.dto.EmployerSummaryDTO;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link EmployerSuggestionService}.
+ * <p>
+ * The suggestions are updated when the transactions commit, so the tests are not transactional and remove their
+ * employers afterwards.
+ */
+@IntegrationTest
+@WithMockUser("suggester")
+class EmployerSuggestionServiceIT {
+
+    @Autowired
+    private EmployerSuggestionService employerSuggestionService;
+
+    @Autowired
+    private EmployerRepository employerRepository;
+
+    @Autowired
+    private EntityChangeWriter entityChangeWriter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Long> employerIds = new ArrayList<>();
+
+    @AfterEach
+    public void cleanup() {
+        employerRepository.findAllById(employerIds).forEach(employerRepository::delete);
+        entityChangeWriter.flush();
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+            status -> jdbcTemplate.update("delete from jhi_entity_change where changed_by = ?", "suggester")
+        );
+        employerSuggestionService.rebuild();
+    }
+
+    @Test
+    void assertThatAnyWordIsMatchedByItsFirstLetters() {
+        employer("Zanzibar Quokka Logistics");
+        employer("Zénith Quokka-Freight");
+        employer("Quokkas of Zanzibar");
+
+        assertThat(suggest("zan")).extracting(EmployerSummaryDTO::getName).containsExactly("Quokkas of Zanzibar", "Zanzibar Quokka Logistics");
+        assertThat(suggest("quokka"))
+            .extracting(EmployerSummaryDTO::getName)
+            .containsExactly("Zénith Quokka-Freight", "Zanzibar Quokka Logistics", "Quokkas of Zanzibar");
+        assertThat(suggest("ZENITH quokka f")).extracting(EmployerSummaryDTO::getName).containsExactly("Zénith Quokka-Freight");
+        assertThat(suggest("quokka-freight")).extracting(EmployerSummaryDTO::getName).containsExactly("Zénith Quokka-Freight");
+        assertThat(employerSuggestionService.suggest("quokka", 2)).hasSize(2);
+        assertThat(suggest("okka")).isEmpty();
+        assertThat(suggest(" - ")).isEmpty();
+    }
+
+    @Test
+    void assertThatCommittedWritesUpdateTheSuggestions() {
+        Employer employer = employer("Xylophone Quayside Ltd");
+        assertThat(suggest("xylo")).extracting(EmployerSummaryDTO::getId).containsExactly(employer.getId());
+
+        employer = employerRepository.save(employer.name("Xanadu Quayside Ltd"));
+        assertThat(suggest("xylo")).isEmpty();
+        assertThat(suggest("xana")).extracting(EmployerSummaryDTO::getName).containsExactly("Xanadu Quayside Ltd");
+
+        employerRepository.delete(employer);
+        assertThat(suggest("xana")).isEmpty();
+        assertThat(suggest("quaysid")).isEmpty();
+    }
+
+    @Test
+    void assertThatRolledBackWritesAreNotSuggested() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+            status -> {
+                employerIds.add(employerRepository.saveAndFlush(new Employer().name("Xerophyte Quarantine")).getId());
+                status.setRollbackOnly();
+            }
+        );
+
+        assertThat(suggest("xeroph")).isEmpty();
+    }
+
+    @Test
+    void assertThatEmployersWrittenWithoutHibernateAreSuggestedOnceRebuilt() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+            status -> jdbcTemplate.update("insert into employer (name) values (?)", "Xiphias Quorum")
+        );
+        employerIds.add(jdbcTemplate.queryForObject("select id from employer where name = ?", Long.class, "Xiphias Quorum"));
+        assertThat(suggest("xiph")).isEmpty();
+
+        employerSuggestionService.rebuild();
+
+        assertThat(suggest("xiphias quo")).extracting(EmployerSummaryDTO::getId).containsExactly(employerIds.get(0));
+    }
+
+    @Test
+    void assertThatRenamesWithoutHibernateAreSuggestedOnceCommitted() {
+        Employer employer = employer("Xenon Quadrant");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+            status -> {
+                jdbcTemplate.update("update employer set name = ? where id = ?", "Xystus Quadrant", employer.getId());
+                employerSuggestionService.writtenAfterCommit(employer.getId(), "Xystus Quadrant");
+                assertThat(suggest("xystus")).isEmpty();
+            }
+        );
+
+        assertThat(suggest("xenon")).isEmpty();
+        assertThat(suggest("xystus")).extracting(EmployerSummaryDTO::getId).containsExactly(employer.getId());
+    }
+
+    private Employer employer(String name) {
+        Employer employer = employerRepository.save(new Employer().name(name));
+        employerIds.add(employer.getId());
+        return employer;
+    }
+
+    private List<EmployerSummaryDTO> suggest(String prefix) {
+        return employerSuggestionService.suggest(prefix, 10);
+    }
+}
@@ -0,0 +1,86 @@
+package com.boostclient.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.boostclient.IntegrationTest;
+import com.boostclient.domain.Employer;
+import com.boostclient.domain.EntityChange;
+import com.boostclient.domain.enumeration.EntityChangeAction;
+import com.boostclient.repository.EmployerRepository;
+import com.boostclient.repository.EntityChangeRepository;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link EntityChangeListener}.
+ */
+@IntegrationTest
+@WithMockUser("auditor")
+class EntityChangeListenerIT {
+
+    @Autowired
+    private EmployerRepository employerRepository;
+
+    @Autowired
+    private EntityChangeRepository entityChangeRepository;
+
+    @Autowired
+    private EntityChangeWriter entityChangeWriter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long employerId;
+
+    @AfterEach
+    public void cleanup() {
+        if (employerId != null) {
+            employerRepository.findById(employerId).ifPresent(employerRepository::delete);
+        }
+        entityChangeWriter.flush();
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+            status -> jdbcTemplate.update("delete from jhi_entity_change where entity_type = ? and entity_id = ?", "Employer", employerId)
+        );
+    }
+
+    @Test
+    void assertThatCommittedChangesAreRecorded() {
+        Employer employer = employerRepository.save(new Employer().name("AAAAAAAAAA"));
+        employerId = employer.getId();
+        assertThat(employer.getCreatedBy()).isEqualTo("auditor");
+        employer = employerRepository.save(employer.name("BBBBBBBBBB"));
+        employerRepository.delete(employer);
+
+        entityChangeWriter.flush();
+
+        List<EntityChange> changes = entityChangeRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Employer", employerId);
+        assertThat(changes)
+            .extracting(EntityChange::getAction)
+            .containsExactly(EntityChangeAction.CREATE, EntityChangeAction.UPDATE, EntityChangeAction.DELETE);
+        assertThat(changes).extracting(EntityChange::getChangedBy).containsOnly("auditor");
+        assertThat(changes.get(1).getChangedFields()).isEqualTo("name");
+    }
+
+    @Test
+    void assertThatRolledBackChangesAreNotRecorded() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+            status -> {
+                employerId = employerRepository.saveAndFlush(new Employer().name("AAAAAAAAAA")).getId();
+                status.setRollbackOnly();
+            }
+        );
+
+        entityChangeWriter.flush();
+
+        assertThat(entityChangeRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Employer", employerId)).isEmpty();
+    }
+}
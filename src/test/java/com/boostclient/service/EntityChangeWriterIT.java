@@ -0,0 +1,80 @@
+package com.boostclient.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.boostclient.IntegrationTest;
+import com.boostclient.config.ApplicationProperties;
+import com.boostclient.domain.EntityChange;
+import com.boostclient.domain.enumeration.EntityChangeAction;
+import com.boostclient.repository.EntityChangeRepository;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link EntityChangeWriter}.
+ */
+@IntegrationTest
+class EntityChangeWriterIT {
+
+    private static final String ENTITY_TYPE = "TestEntity";
+
+    @Autowired
+    private EntityChangeRepository entityChangeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    public void cleanup() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+            status -> jdbcTemplate.update("delete from jhi_entity_change where entity_type = ?", ENTITY_TYPE)
+        );
+    }
+
+    @Test
+    void assertThatCallersWriteTheQueueWhenItIsFull() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getAudit().setQueueCapacity(2);
+        // Not started: only the callers write
+        EntityChangeWriter entityChangeWriter = new EntityChangeWriter(jdbcTemplate, transactionManager, applicationProperties);
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        for (long id = 1; id <= 5; id++) {
+            entityChangeWriter.append(change(id, now));
+        }
+
+        assertThat(countChanges()).isEqualTo(4);
+
+        entityChangeWriter.flush();
+
+        assertThat(countChanges()).isEqualTo(5);
+        EntityChange change = entityChangeRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc(ENTITY_TYPE, 5L).get(0);
+        assertThat(change.getAction()).isEqualTo(EntityChangeAction.UPDATE);
+        assertThat(change.getChangedBy()).isEqualTo("writer");
+        assertThat(change.getChangedDate()).isEqualTo(now);
+        assertThat(change.getChangedFields()).isEqualTo("name");
+    }
+
+    private long countChanges() {
+        return jdbcTemplate.queryForObject("select count(*) from jhi_entity_change where entity_type = ?", Long.class, ENTITY_TYPE);
+    }
+
+    private static EntityChange change(long id, Instant now) {
+        return new EntityChange()
+            .entityType(ENTITY_TYPE)
+            .entityId(id)
+            .action(EntityChangeAction.UPDATE)
+            .changedBy("writer")
+            .changedDate(now)
+            .changedFields("name");
+    }
+}
@@ -0,0 +1,96 @@
+package com.boostclient.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.boostclient.IntegrationTest;
+import com.boostclient.domain.Employee;
+import com.boostclient.domain.Employer;
+import com.boostclient.domain.Quote;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link ExportService}.
+ */
+@IntegrationTest
+@Transactional
+class ExportServiceIT {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManager em;
+
+    private Employer employer;
+
+    @BeforeEach
+    public void init() {
+        employer = new Employer().name("employer");
+        em.persist(employer);
+        for (int i = 0; i < 3; i++) {
+            em.persist(new Employee().name("employee-" + i).dateOfBirth(LocalDate.ofEpochDay(i)).employer(employer));
+            em.persist(new Quote().name("quote-" + i).quoteDate(LocalDate.ofEpochDay(i)).employer(employer));
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void assertThatQuotesAreExportedOnePerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = exportService.exportQuotes(out);
+
+        List<JsonNode> lines = readLines(out);
+        assertThat(lines).hasSize((int) count);
+        assertThat(lines).extracting(line -> line.get("name").asText()).contains("quote-0", "quote-1", "quote-2");
+        assertThat(lines).allSatisfy(line -> assertThat(line.get("employer").get("name").asText()).isNotEmpty());
+    }
+
+    @Test
+    void assertThatEmployeesAreExportedOnePerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = exportService.exportEmployees(out);
+
+        List<JsonNode> lines = readLines(out);
+        assertThat(lines).hasSize((int) count);
+        assertThat(lines).extracting(line -> line.get("name").asText()).contains("employee-0", "employee-1", "employee-2");
+    }
+
+    @Test
+    void assertThatEmployersAreExportedWithoutTheirEmployees() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = exportService.exportEmployers(out);
+
+        List<JsonNode> lines = readLines(out);
+        assertThat(lines).hasSize((int) count);
+        assertThat(lines).extracting(line -> line.get("id").asLong()).contains(employer.getId());
+        assertThat(lines).allSatisfy(line -> assertThat(line.has("employees")).isFalse());
+    }
+
+    private List<JsonNode> readLines(ByteArrayOutputStream out) throws Exception {
+        String content = out.toString(StandardCharsets.UTF_8);
+        assertThat(content).endsWith("\n");
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : content.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,113 @@
+package com.boostclient.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.boostclient.IntegrationTest;
+import com.boostclient.domain.JobLock;
+import com.boostclient.domain.JobRun;
+import com.boostclient.domain.enumeration.JobRunStatus;
+import com.boostclient.repository.JobLockRepository;
+import com.boostclient.repository.JobRunRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for {@link JobRunner}.
+ */
+@IntegrationTest
+class JobRunnerIT {
+
+    private static final String JOB_NAME = "testJob";
+
+    @Autowired
+    private JobRunner jobRunner;
+
+    @Autowired
+    private JobLockRepository jobLockRepository;
+
+    @Autowired
+    private JobRunRepository jobRunRepository;
+
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @AfterEach
+    public void cleanup() {
+        jobRunRepository.deleteAll();
+        jobLockRepository.deleteAll();
+    }
+
+    @Test
+    void assertThatJobIsRunOnceAndRecorded() {
+        Instant start = Instant.now();
+
+        assertThat(jobRunner.run(JOB_NAME, Duration.ofHours(1), Duration.ofMinutes(1), runs::incrementAndGet)).isTrue();
+        // Still locked for a minute, as if another instance fired the same schedule
+        assertThat(jobRunner.run(JOB_NAME, Duration.ofHours(1), Duration.ofMinutes(1), runs::incrementAndGet)).isFalse();
+
+        assertThat(runs.get()).isEqualTo(1);
+        List<JobRun> jobRuns = jobRunRepository.findAllByJobNameOrderByStartDateDesc(JOB_NAME);
+        assertThat(jobRuns).hasSize(1);
+        assertThat(jobRuns.get(0).getStatus()).isEqualTo(JobRunStatus.SUCCEEDED);
+        assertThat(jobRuns.get(0).getNode()).isNotEmpty();
+        assertThat(jobRuns.get(0).getEndDate()).isAfterOrEqualTo(jobRuns.get(0).getStartDate());
+        assertThat(jobRuns.get(0).getDurationMs()).isNotNegative();
+        JobLock jobLock = jobLockRepository.findById(JOB_NAME).orElseThrow();
+        assertThat(jobLock.getLockUntil()).isBetween(start.plus(Duration.ofMinutes(1)), Instant.now().plus(Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void assertThatJobIsNotRunWhileLockedByAnotherInstance() {
+        Instant now = Instant.now();
+        jobLockRepository.save(new JobLock().name(JOB_NAME).lockUntil(now.plus(1, ChronoUnit.HOURS)).lockedAt(now).lockedBy("other"));
+
+        assertThat(jobRunner.run(JOB_NAME, Duration.ofHours(1), Duration.ZERO, runs::incrementAndGet)).isFalse();
+        assertThat(runs.get()).isZero();
+        assertThat(jobRunRepository.findAllByJobNameOrderByStartDateDesc(JOB_NAME)).isEmpty();
+
+        // The other instance died: its lock expires
+        jobLockRepository.save(jobLockRepository.findById(JOB_NAME).orElseThrow().lockUntil(now.minusSeconds(1)));
+
+        assertThat(jobRunner.run(JOB_NAME, Duration.ofHours(1), Duration.ZERO, runs::incrementAndGet)).isTrue();
+        assertThat(runs.get()).isEqualTo(1);
+        assertThat(jobLockRepository.findById(JOB_NAME).orElseThrow().getLockedBy()).isNotEqualTo("other");
+    }
+
+    @Test
+    void assertThatFailedRunIsRecordedAndReleasesTheLock() {
+        Runnable failing = () -> {
+            throw new IllegalStateException("boom");
+        };
+
+        assertThatThrownBy(() -> jobRunner.run(JOB_NAME, Duration.ofHours(1), Duration.ZERO, failing))
+            .isInstanceOf(IllegalStateException.class);
+
+        JobRun failed = jobRunRepository.findAllByJobNameOrderByStartDateDesc(JOB_NAME).get(0);
+        assertThat(failed.getStatus()).isEqualTo(JobRunStatus.FAILED);
+        assertThat(failed.getError()).contains("boom");
+        assertThat(jobRunner.run(JOB_NAME, Duration.ofHours(1), Duration.ZERO, runs::incrementAndGet)).isTrue();
+        assertThat(runs.get()).isEqualTo(1);
+    }
+
+    @Test
+    void assertThatOldRunsAreRemoved() {
+        // As stored by the database, which does not keep nanoseconds
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        jobRunRepository.save(run(now.minus(40, ChronoUnit.DAYS)));
+        jobRunRepository.save(run(now));
+
+        assertThat(jobRunner.removeRunsBefore(now.minus(30, ChronoUnit.DAYS))).isEqualTo(1);
+
+        assertThat(jobRunRepository.findAllByJobNameOrderByStartDateDesc(JOB_NAME)).extracting(JobRun::getStartDate).containsExactly(now);
+    }
+
+    private static JobRun run(Instant startDate) {
+        return new JobRun().jobName(JOB_NAME).node("node").status(JobRunStatus.SUCCEEDED).startDate(startDate);
+    }
+}
@@ -0,0 +1,109 @@
+package com.boostclient.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.boostclient.IntegrationTest;
+import com.boostclient.config.ApplicationProperties;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link LoadTestDataGenerator}.
+ * <p>
+ * The generator commits its chunks, so the tests are not transactional and remove the generated rows afterwards.
+ */
+@IntegrationTest
+class LoadTestDataGeneratorIT {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EmployerStatsService employerStatsService;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private SearchService searchService;
+
+    private LoadTestDataGenerator generator;
+
+    private final List<Long> employerIds = new ArrayList<>();
+
+    @BeforeEach
+    public void init() {
+        // The generator is only a bean with the loadtest profile
+        generator = new LoadTestDataGenerator(jdbcTemplate, transactionManager, employerStatsService, applicationProperties, searchService);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        if (employerIds.isEmpty()) {
+            return;
+        }
+        NamedParameterJdbcTemplate named = new NamedParameterJdbcTemplate(jdbcTemplate);
+        MapSqlParameterSource ids = new MapSqlParameterSource("ids", employerIds);
+        new TransactionTemplate(transactionManager)
+            .executeWithoutResult(
+                status -> {
+                    named.update("delete from quote where employer_id in (:ids)", ids);
+                    named.update("delete from employee where employer_id in (:ids)", ids);
+                    named.update("delete from employer_stats where employer_id in (:ids)", ids);
+                    named.update("delete from employer where id in (:ids)", ids);
+                }
+            );
+        employerIds.clear();
+    }
+
+    @Test
+    void assertThatRowsAndStatsAreGenerated() {
+        employerIds.addAll(generator.generate(3, 40, 70, 1));
+
+        assertThat(employerIds).hasSize(3);
+        NamedParameterJdbcTemplate named = new NamedParameterJdbcTemplate(jdbcTemplate);
+        MapSqlParameterSource ids = new MapSqlParameterSource("ids", employerIds);
+        assertThat(named.queryForObject("select count(*) from employee where employer_id in (:ids)", ids, Long.class)).isEqualTo(40);
+        assertThat(named.queryForObject("select count(*) from quote where employer_id in (:ids)", ids, Long.class)).isEqualTo(70);
+
+        List<Map<String, Object>> stats = named.queryForList(
+            "select sum(employee_count) as employees, sum(quote_count) as quotes " +
+            "from employer_stats where employer_id in (:ids)",
+            ids
+        );
+        assertThat(((Number) stats.get(0).get("employees")).longValue()).isEqualTo(40);
+        assertThat(((Number) stats.get(0).get("quotes")).longValue()).isEqualTo(70);
+    }
+
+    @Test
+    void assertThatTheSameSeedGeneratesTheSameData() {
+        List<Long> first = generator.generate(2, 5, 5, 7);
+        employerIds.addAll(first);
+        List<Long> second = generator.generate(2, 5, 5, 7);
+        employerIds.addAll(second);
+
+        assertThat(employeeNames(second)).isEqualTo(employeeNames(first));
+    }
+
+    private List<String> employeeNames(List<Long> employers) {
+        return new NamedParameterJdbcTemplate(jdbcTemplate)
+            .queryForList(
+                "select name from employee where employer_id in (:ids) order by id",
+                new MapSqlParameterSource("ids", employers),
+                String.class
+            );
+    }
+}
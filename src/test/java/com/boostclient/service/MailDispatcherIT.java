@@ -0,0 +1,177 @@
+package com.boostclient.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.boostclient.IntegrationTest;
+import com.boostclient.config.ApplicationProperties;
+import com.boostclient.domain.OutboxMail;
+import com.boostclient.domain.enumeration.MailStatus;
+import com.boostclient.repository.OutboxMailRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Integration tests for {@link MailDispatcher}.
+ */
+@IntegrationTest
+class MailDispatcherIT {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private OutboxMailRepository outboxMailRepository;
+
+    @Autowired
+    private JHipsterProperties jHipsterProperties;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ApplicationProperties applicationProperties;
+
+    private CountingMailSender javaMailSender;
+
+    private final List<Runnable> submittedTasks = new ArrayList<>();
+
+    private MailDispatcher mailDispatcher;
+
+    @BeforeEach
+    public void setup() {
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getMail().setBatchSize(2);
+        applicationProperties.getMail().setConcurrency(2);
+        applicationProperties.getMail().setMaxAttempts(2);
+        javaMailSender = new CountingMailSender();
+        javaMailSender.setHost(greenMail.getSmtp().getBindTo());
+        javaMailSender.setPort(greenMail.getSmtp().getPort());
+        // Background drains are only recorded: the tests drain the outbox themselves
+        mailDispatcher =
+            new MailDispatcher(
+                outboxMailRepository,
+                javaMailSender,
+                jHipsterProperties,
+                applicationProperties,
+                transactionManager,
+                submittedTasks::add
+            );
+    }
+
+    @AfterEach
+    public void cleanup() {
+        outboxMailRepository.deleteAll();
+    }
+
+    @Test
+    void assertThatDueMailsAreSentInBatchesOverOneConnectionEach() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            queue("user" + i + "@example.com", Instant.now());
+        }
+        queue("later@example.com", Instant.now().plus(Duration.ofHours(1)));
+
+        int sent = mailDispatcher.drain();
+
+        assertThat(sent).isEqualTo(5);
+        assertThat(javaMailSender.connections.get()).isEqualTo(3);
+        assertThat(greenMail.getReceivedMessages()).hasSize(5);
+        assertThat(greenMail.getReceivedMessages()[0].getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
+        assertThat(outboxMailRepository.findAll()).extracting(OutboxMail::getRecipient).containsExactly("later@example.com");
+    }
+
+    @Test
+    void assertThatFailedMailsAreRetriedLaterThenGivenUp() {
+        greenMail.stop();
+        OutboxMail mail = queue("john.doe@example.com", Instant.now());
+
+        assertThat(mailDispatcher.drain()).isZero();
+
+        OutboxMail retried = outboxMailRepository.findById(mail.getId()).orElseThrow();
+        assertThat(retried.getStatus()).isEqualTo(MailStatus.PENDING);
+        assertThat(retried.getAttempts()).isEqualTo(1);
+        assertThat(retried.getLastError()).isNotEmpty();
+        assertThat(retried.getNextAttemptDate()).isAfter(Instant.now().plus(Duration.ofSeconds(20)));
+
+        // Not due yet
+        mailDispatcher.drain();
+        assertThat(outboxMailRepository.findById(mail.getId()).orElseThrow().getAttempts()).isEqualTo(1);
+
+        retried.setNextAttemptDate(Instant.now());
+        outboxMailRepository.save(retried);
+        mailDispatcher.drain();
+
+        OutboxMail failed = outboxMailRepository.findById(mail.getId()).orElseThrow();
+        assertThat(failed.getStatus()).isEqualTo(MailStatus.FAILED);
+        assertThat(failed.getAttempts()).isEqualTo(2);
+
+        // Failed mails are not sent again
+        mailDispatcher.drain();
+        assertThat(outboxMailRepository.findById(mail.getId()).orElseThrow().getAttempts()).isEqualTo(2);
+    }
+
+    @Test
+    void assertThatConcurrencyIsBounded() {
+        mailDispatcher.wakeUp();
+        mailDispatcher.wakeUp();
+        mailDispatcher.wakeUp();
+
+        assertThat(submittedTasks).hasSize(2);
+
+        // A finished drain frees its thread
+        submittedTasks.get(0).run();
+        mailDispatcher.wakeUp();
+        assertThat(submittedTasks).hasSize(3);
+    }
+
+    @Test
+    void assertThatRetryDelayDoublesUpToTheMaximum() {
+        ApplicationProperties.Mail properties = new ApplicationProperties.Mail();
+        properties.setRetryDelay(Duration.ofSeconds(30));
+        properties.setMaxRetryDelay(Duration.ofMinutes(5));
+
+        assertThat(MailDispatcher.retryDelay(1, properties)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(MailDispatcher.retryDelay(2, properties)).isEqualTo(Duration.ofSeconds(60));
+        assertThat(MailDispatcher.retryDelay(4, properties)).isEqualTo(Duration.ofSeconds(240));
+        assertThat(MailDispatcher.retryDelay(5, properties)).isEqualTo(Duration.ofMinutes(5));
+        assertThat(MailDispatcher.retryDelay(100, properties)).isEqualTo(Duration.ofMinutes(5));
+    }
+
+    private OutboxMail queue(String recipient, Instant nextAttemptDate) {
+        return outboxMailRepository.save(
+            new OutboxMail()
+                .recipient(recipient)
+                .subject("testSubject")
+                .content("testContent")
+                .status(MailStatus.PENDING)
+                .nextAttemptDate(nextAttemptDate)
+                .createdDate(Instant.now())
+        );
+    }
+
+    /**
+     * Counts the SMTP connections: {@link JavaMailSenderImpl} opens one per call of {@code doSend}.
+     */
+    private static class CountingMailSender extends JavaMailSenderImpl {
+
+        private final AtomicInteger connections = new AtomicInteger();
+
+        @Override
+        protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+            connections.incrementAndGet();
+            super.doSend(mimeMessages, originalMessages);
+        }
+    }
+}
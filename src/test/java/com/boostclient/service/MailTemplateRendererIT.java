@@ -0,0 +1,125 @@
+package com.boostclient.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.boostclient.IntegrationTest;
+import com.boostclient.domain.User;
+import com.boostclient.service.MailTemplateRenderer.RenderedMail;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafProperties;
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Integration tests for {@link MailTemplateRenderer}.
+ */
+@IntegrationTest
+class MailTemplateRendererIT {
+
+    @Autowired
+    private JHipsterProperties jHipsterProperties;
+
+    @Autowired
+    private MessageSource messageSource;
+
+    @Autowired
+    private SpringTemplateEngine templateEngine;
+
+    private CountingMessageSource countingMessageSource;
+
+    @BeforeEach
+    public void setup() {
+        countingMessageSource = new CountingMessageSource(messageSource);
+    }
+
+    @Test
+    void assertThatSubjectsAreResolvedOncePerLanguage() {
+        MailTemplateRenderer renderer = renderer(true);
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            users.add(user("user" + i, i % 2 == 0 ? "en" : null));
+        }
+
+        List<RenderedMail> mails = renderer.renderAll(users, "mail/testEmail", "email.test.title");
+        renderer.render(user("other", "en"), "mail/testEmail", "email.test.title");
+
+        assertThat(mails)
+            .extracting(RenderedMail::getTo)
+            .containsExactly("user0@example.com", "user1@example.com", "user2@example.com", "user3@example.com", "user4@example.com");
+        assertThat(mails).extracting(RenderedMail::getSubject).containsOnly("test title");
+        assertThat(mails.get(3).getContent()).isEqualToNormalizingNewlines("<html>test title, http://127.0.0.1:8080, user3</html>\n");
+        assertThat(countingMessageSource.lookups.get()).isEqualTo(1);
+    }
+
+    @Test
+    void assertThatUsersWithoutEmailAreSkipped() {
+        User user = user("john", "en");
+        user.setEmail(null);
+
+        assertThat(renderer(true).renderAll(List.of(user), "mail/testEmail", "email.test.title")).isEmpty();
+    }
+
+    @Test
+    void assertThatSubjectsAreResolvedEachTimeWithoutCache() {
+        MailTemplateRenderer renderer = renderer(false);
+
+        renderer.render(user("john", "en"), "mail/testEmail", "email.test.title");
+        renderer.render(user("jane", "en"), "mail/testEmail", "email.test.title");
+
+        assertThat(countingMessageSource.lookups.get()).isEqualTo(2);
+    }
+
+    private MailTemplateRenderer renderer(boolean cache) {
+        ThymeleafProperties thymeleafProperties = new ThymeleafProperties();
+        thymeleafProperties.setCache(cache);
+        return new MailTemplateRenderer(jHipsterProperties, countingMessageSource, templateEngine, thymeleafProperties);
+    }
+
+    private static User user(String login, String langKey) {
+        User user = new User();
+        user.setLogin(login);
+        user.setEmail(login + "@example.com");
+        user.setLangKey(langKey);
+        return user;
+    }
+
+    /**
+     * Counts the message lookups: the {@code getMessage} methods of the context message source are final.
+     */
+    private static class CountingMessageSource implements MessageSource {
+
+        private final MessageSource delegate;
+
+        private final AtomicInteger lookups = new AtomicInteger();
+
+        CountingMessageSource(MessageSource delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String getMessage(String code, Object[] args, String defaultMessage, Locale locale) {
+            lookups.incrementAndGet();
+            return delegate.getMessage(code, args, defaultMessage, locale);
+        }
+
+        @Override
+        public String getMessage(String code, Object[] args, Locale locale) {
+            lookups.incrementAndGet();
+            return delegate.getMessage(code, args, locale);
+        }
+
+        @Override
+        public String getMessage(MessageSourceResolvable resolvable, Locale locale) {
+            lookups.incrementAndGet();
+            return delegate.getMessage(resolvable, locale);
+        }
+    }
+}
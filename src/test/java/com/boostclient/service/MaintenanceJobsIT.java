@@ -0,0 +1,57 @@
+package com.boostclient.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.boostclient.IntegrationTest;
+import com.boostclient.domain.JobRun;
+import com.boostclient.domain.enumeration.JobRunStatus;
+import com.boostclient.repository.JobLockRepository;
+import com.boostclient.repository.JobRunRepository;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for {@link MaintenanceJobs}.
+ */
+@IntegrationTest
+class MaintenanceJobsIT {
+
+    @Autowired
+    private MaintenanceJobs maintenanceJobs;
+
+    @Autowired
+    private JobLockRepository jobLockRepository;
+
+    @Autowired
+    private JobRunRepository jobRunRepository;
+
+    @AfterEach
+    public void cleanup() {
+        jobRunRepository.deleteAll();
+        jobLockRepository.deleteAll();
+    }
+
+    @Test
+    void assertThatNotActivatedUsersAreRemovedThroughTheJobRunner() {
+        maintenanceJobs.removeNotActivatedUsers();
+        maintenanceJobs.removeNotActivatedUsers();
+
+        assertThat(jobRunRepository.findAllByJobNameOrderByStartDateDesc(MaintenanceJobs.REMOVE_NOT_ACTIVATED_USERS))
+            .extracting(JobRun::getStatus)
+            .containsExactly(JobRunStatus.SUCCEEDED);
+    }
+
+    @Test
+    void assertThatOldJobRunsAreRemoved() {
+        Instant old = Instant.now().minus(31, ChronoUnit.DAYS);
+        jobRunRepository.save(new JobRun().jobName("testJob").node("node").status(JobRunStatus.SUCCEEDED).startDate(old));
+
+        maintenanceJobs.removeOldJobRuns();
+
+        assertThat(jobRunRepository.findAllByJobNameOrderByStartDateDesc("testJob")).isEmpty();
+        assertThat(jobRunRepository.findAllByJobNameOrderByStartDateDesc(MaintenanceJobs.REMOVE_OLD_JOB_RUNS)).hasSize(1);
+    }
+}
@@ -0,0 +1,142 @@
+package com.boostclient.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.boostclient.IntegrationTest;
+import com.boostclient.domain.Employer;
+import com.boostclient.domain.EntityChange;
+import com.boostclient.domain.Quote;
+import com.boostclient.domain.Quote_;
+import com.boostclient.domain.enumeration.EntityChangeAction;
+import com.boostclient.repository.EmployerRepository;
+import com.boostclient.repository.EntityChangeRepository;
+import com.boostclient.repository.QuoteRepository;
+import com.boostclient.service.dto.QuoteSummaryDTO;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link PartialUpdateService}.
+ * <p>
+ * The change log and the search index are updated when the transactions commit, so the tests are not transactional and
+ * remove their entities afterwards.
+ */
+@IntegrationTest
+@WithMockUser("patcher")
+class PartialUpdateServiceIT {
+
+    @Autowired
+    private PartialUpdateService partialUpdateService;
+
+    @Autowired
+    private EmployerRepository employerRepository;
+
+    @Autowired
+    private QuoteRepository quoteRepository;
+
+    @Autowired
+    private EntityChangeRepository entityChangeRepository;
+
+    @Autowired
+    private EntityChangeWriter entityChangeWriter;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Employer employer;
+
+    private Quote quote;
+
+    @BeforeEach
+    public void init() {
+        employer = employerRepository.save(new Employer().name("Patchworth Quilts"));
+        quote = quoteRepository.save(new Quote().name("Zigzag quilt cover").quoteDate(LocalDate.of(2021, 5, 1)).employer(employer));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        quoteRepository.deleteById(quote.getId());
+        employerRepository.deleteById(employer.getId());
+        entityChangeWriter.flush();
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+            status -> jdbcTemplate.update("delete from jhi_entity_change where changed_by = ?", "patcher")
+        );
+    }
+
+    @Test
+    void assertThatOnlyThePatchedColumnsAreWritten() {
+        // Written by another transaction since the quote was read
+        write("update quote set quote_date = ? where id = ?", LocalDate.of(2021, 6, 1), quote.getId());
+
+        assertThat(update(quote.getId(), null, Map.of(Quote_.NAME, "Zigzag quilt policy"))).isTrue();
+
+        Quote updated = quoteRepository.findById(quote.getId()).orElseThrow();
+        assertThat(updated.getName()).isEqualTo("Zigzag quilt policy");
+        assertThat(updated.getQuoteDate()).isEqualTo(LocalDate.of(2021, 6, 1));
+        assertThat(updated.getVersion()).isEqualTo(1L);
+        assertThat(updated.getCreatedBy()).isEqualTo("patcher");
+        assertThat(updated.getLastModifiedBy()).isEqualTo("patcher");
+        assertThat(updated.getLastModifiedDate()).isAfterOrEqualTo(quote.getLastModifiedDate());
+    }
+
+    @Test
+    void assertThatTheUpdateIsRecordedAndIndexed() {
+        assertThat(update(quote.getId(), 0L, Map.of(Quote_.NAME, "Zigzag quilt policy"))).isTrue();
+        entityChangeWriter.flush();
+
+        List<EntityChange> changes = entityChangeRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Quote", quote.getId());
+        assertThat(changes).extracting(EntityChange::getAction).containsExactly(EntityChangeAction.CREATE, EntityChangeAction.UPDATE);
+        assertThat(changes.get(1).getChangedBy()).isEqualTo("patcher");
+        assertThat(changes.get(1).getChangedFields()).isEqualTo("name");
+        assertThat(searchService.searchQuotes("zigzag cover", PageRequest.of(0, 20))).isEmpty();
+        assertThat(searchService.searchQuotes("zigzag policy", PageRequest.of(0, 20)))
+            .extracting(QuoteSummaryDTO::getId)
+            .containsExactly(quote.getId());
+    }
+
+    @Test
+    void assertThatOtherVersionsAreNotUpdated() {
+        assertThat(update(quote.getId(), 1L, Map.of(Quote_.NAME, "Zigzag quilt policy"))).isFalse();
+        assertThat(update(Long.MAX_VALUE, null, Map.of(Quote_.NAME, "Zigzag quilt policy"))).isFalse();
+        assertThat(update(quote.getId(), 1L, Map.of())).isFalse();
+        assertThat(update(quote.getId(), 0L, Map.of())).isTrue();
+
+        Quote unchanged = quoteRepository.findById(quote.getId()).orElseThrow();
+        assertThat(unchanged.getName()).isEqualTo("Zigzag quilt cover");
+        assertThat(unchanged.getVersion()).isZero();
+    }
+
+    @Test
+    void assertThatOnlyBasicPropertiesCanBePatched() {
+        assertThatThrownBy(() -> update(quote.getId(), null, Map.of(Quote_.EMPLOYER, employer)))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> update(quote.getId(), null, Map.of(Quote_.VERSION, 7L))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> update(quote.getId(), null, Map.of("lastModifiedBy", "someone else")))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private boolean update(Long id, Long version, Map<String, Object> values) {
+        return partialUpdateService.update(Quote.class, id, version, values);
+    }
+
+    private void write(String sql, Object... args) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> jdbcTemplate.update(sql, args));
+    }
+}
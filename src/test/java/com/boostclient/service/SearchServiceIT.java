@@ -0,0 +1,207 @@
+package com.boostclient.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.boostclient.IntegrationTest;
+import com.boostclient.domain.Employee;
+import com.boostclient.domain.Employer;
+import com.boostclient.domain.EntityChange;
+import com.boostclient.domain.Quote;
+import com.boostclient.domain.enumeration.EntityChangeAction;
+import com.boostclient.repository.EmployeeRepository;
+import com.boostclient.repository.EmployerRepository;
+import com.boostclient.repository.QuoteRepository;
+import com.boostclient.service.dto.BatchItemResultDTO;
+import com.boostclient.service.dto.EmployeeSummaryDTO;
+import com.boostclient.service.dto.EmployerSummaryDTO;
+import com.boostclient.service.dto.QuoteSummaryDTO;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link SearchService}.
+ * <p>
+ * Entities are indexed when their transaction commits, so the tests are not transactional and remove their entities
+ * afterwards.
+ */
+@IntegrationTest
+@WithMockUser("searcher")
+class SearchServiceIT {
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private EmployerRepository employerRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private QuoteRepository quoteRepository;
+
+    @Autowired
+    private QuoteBatchService quoteBatchService;
+
+    @Autowired
+    private EmployerStatsService employerStatsService;
+
+    @Autowired
+    private EntityChangeWriter entityChangeWriter;
+
+    @Autowired
+    private SearchIndexCatchUp searchIndexCatchUp;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Employer employer;
+
+    private final List<Long> employeeIds = new ArrayList<>();
+
+    private final List<Long> quoteIds = new ArrayList<>();
+
+    @BeforeEach
+    public void init() {
+        employer = employerRepository.save(new Employer().name("Quarrington Zebra Works"));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        quoteRepository.findAllById(quoteIds).forEach(quoteRepository::delete);
+        employeeRepository.findAllById(employeeIds).forEach(employeeRepository::delete);
+        employerRepository.deleteById(employer.getId());
+        entityChangeWriter.flush();
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+            status -> {
+                employerStatsService.delete(employer.getId());
+                jdbcTemplate.update("delete from jhi_entity_change where changed_by = ?", "searcher");
+            }
+        );
+    }
+
+    @Test
+    void assertThatEveryWordMustStartAWordOfTheName() {
+        employee("Zebulon Quartermaine");
+        employee("Zébédée Quartz");
+        employee("Zelda Xanthopoulos");
+
+        assertThat(searchEmployees("zeb quart"))
+            .extracting(EmployeeSummaryDTO::getName)
+            .containsExactlyInAnyOrder("Zebulon Quartermaine", "Zébédée Quartz");
+        assertThat(searchEmployees("ZEBEDEE")).extracting(EmployeeSummaryDTO::getName).containsExactly("Zébédée Quartz");
+        assertThat(searchEmployees("quartermaine zebulon")).extracting(EmployeeSummaryDTO::getName).containsExactly("Zebulon Quartermaine");
+        assertThat(searchEmployees("zeb -quartz")).extracting(EmployeeSummaryDTO::getName).containsExactly("Zebulon Quartermaine");
+        assertThat(searchEmployees("ebulon")).isEmpty();
+    }
+
+    @Test
+    void assertThatResultsArePagedAndReadFromTheIndex() {
+        for (int i = 0; i < 5; i++) {
+            employee("Xerxes Quibble " + (char) ('e' - i));
+        }
+
+        Page<EmployeeSummaryDTO> page = searchService.searchEmployees("xerxes quibble", PageRequest.of(1, 2, Sort.by("name")));
+
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.getContent()).extracting(EmployeeSummaryDTO::getName).containsExactly("Xerxes Quibble c", "Xerxes Quibble d");
+        assertThat(page.getContent().get(0).getDateOfBirth()).isEqualTo(LocalDate.of(1980, 1, 1));
+        assertThat(page.getContent().get(0).getEmployer().getId()).isEqualTo(employer.getId());
+        assertThat(page.getContent().get(0).getEmployer().getName()).isEqualTo("Quarrington Zebra Works");
+    }
+
+    @Test
+    void assertThatWritesUpdateTheIndex() {
+        Employee employee = employee("Zacharias Quill");
+        employee = employeeRepository.save(employee.name("Zacharias Quimby"));
+        employer = employerRepository.save(employer.name("Quarrington Zebra Holdings"));
+
+        assertThat(searchEmployees("zacharias quill")).isEmpty();
+        assertThat(searchEmployees("zacharias quimby"))
+            .extracting(found -> found.getEmployer().getName())
+            .containsExactly("Quarrington Zebra Holdings");
+        assertThat(searchService.searchEmployers("quarrington hold", PageRequest.of(0, 20)))
+            .extracting(EmployerSummaryDTO::getId)
+            .containsExactly(employer.getId());
+
+        employeeRepository.delete(employee);
+
+        assertThat(searchEmployees("zacharias")).isEmpty();
+    }
+
+    @Test
+    void assertThatBatchWrittenQuotesAreIndexed() {
+        Quote quote = new Quote().name("Quixotic zebra cover").quoteDate(LocalDate.of(2021, 3, 1)).employer(employer);
+
+        List<BatchItemResultDTO> results = quoteBatchService.save(List.of(quote));
+        quoteIds.add(results.get(0).getId());
+
+        List<QuoteSummaryDTO> found = searchService.searchQuotes("quixotic zeb", PageRequest.of(0, 20)).getContent();
+        assertThat(found).extracting(QuoteSummaryDTO::getId).containsExactly(results.get(0).getId());
+        assertThat(found.get(0).getQuoteDate()).isEqualTo(LocalDate.of(2021, 3, 1));
+        assertThat(found.get(0).getEmployer().getName()).isEqualTo("Quarrington Zebra Works");
+
+        quoteBatchService.save(List.of(quote.id(results.get(0).getId()).version(0L).name("Quixotic yak cover")));
+
+        assertThat(searchService.searchQuotes("quixotic zeb", PageRequest.of(0, 20))).isEmpty();
+        assertThat(searchService.searchQuotes("quixotic yak", PageRequest.of(0, 20))).hasSize(1);
+    }
+
+    @Test
+    void assertThatTheChangesOfOtherInstancesAreCaughtUp() {
+        Employee employee = employee("Zoltan Quayle");
+        // As if written by another instance: not in the index of this one
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+            status -> searchService.purge(Employee.class, List.of(employee.getId()))
+        );
+        assertThat(searchEmployees("zoltan quayle")).isEmpty();
+
+        entityChangeWriter.flush();
+        searchIndexCatchUp.catchUp();
+
+        assertThat(searchEmployees("zoltan quayle")).extracting(EmployeeSummaryDTO::getId).containsExactly(employee.getId());
+
+        // Deleted by another instance
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+            status -> jdbcTemplate.update("delete from employee where id = ?", employee.getId())
+        );
+        entityChangeWriter.append(
+            new EntityChange()
+                .entityType(Employee.class.getSimpleName())
+                .entityId(employee.getId())
+                .action(EntityChangeAction.DELETE)
+                .changedBy("searcher")
+                .changedDate(Instant.now())
+        );
+        entityChangeWriter.flush();
+        searchIndexCatchUp.catchUp();
+
+        assertThat(searchEmployees("zoltan quayle")).isEmpty();
+    }
+
+    private Employee employee(String name) {
+        Employee employee = employeeRepository.save(new Employee().name(name).dateOfBirth(LocalDate.of(1980, 1, 1)).employer(employer));
+        employeeIds.add(employee.getId());
+        return employee;
+    }
+
+    private List<EmployeeSummaryDTO> searchEmployees(String query) {
+        return searchService.searchEmployees(query, PageRequest.of(0, 20)).getContent();
+    }
+}
@@ -4,24 +4,34 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 
 import com.boostclient.IntegrationTest;
+import com.boostclient.config.ApplicationProperties;
 import com.boostclient.config.Constants;
+import com.boostclient.domain.Authority;
 import com.boostclient.domain.User;
+import com.boostclient.repository.AuthorityRepository;
 import com.boostclient.repository.UserRepository;
+import com.boostclient.security.AuthoritiesConstants;
 import com.boostclient.service.dto.AdminUserDTO;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.auditing.AuditingHandler;
 import org.springframework.data.auditing.DateTimeProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.annotation.Transactional;
 import tech.jhipster.security.RandomUtil;
 
@@ -50,9 +60,24 @@ class UserServiceIT {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
     @Autowired
     private AuditingHandler auditingHandler;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @MockBean
     private DateTimeProvider dateTimeProvider;
 
@@ -166,6 +191,45 @@ class UserServiceIT {
         assertThat(users).isEmpty();
     }
 
+    @Test
+    @Transactional
+    void assertThatNotActivatedUsersArePurgedInChunks() {
+        Instant now = Instant.now();
+        when(dateTimeProvider.getNow()).thenReturn(Optional.of(now.minus(4, ChronoUnit.DAYS)));
+        Authority userAuthority = authorityRepository.findById(AuthoritiesConstants.USER).orElseThrow();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            User notActivated = new User();
+            notActivated.setLogin("purged" + i);
+            notActivated.setEmail("purged" + i + "@localhost");
+            notActivated.setPassword(RandomStringUtils.random(60));
+            notActivated.setActivated(false);
+            notActivated.setActivationKey(RandomStringUtils.random(20));
+            notActivated.setAuthorities(new HashSet<>(Set.of(userAuthority)));
+            ids.add(userRepository.saveAndFlush(notActivated).getId());
+            cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).put(notActivated.getLogin(), notActivated);
+        }
+        double deletedBefore = meterRegistry.counter("users.purge.deleted").count();
+        long purgesBefore = meterRegistry.timer("users.purge").count();
+
+        applicationProperties.getUserPurge().setChunkSize(2);
+        try {
+            userService.removeNotActivatedUsers();
+        } finally {
+            applicationProperties.getUserPurge().setChunkSize(500);
+        }
+
+        assertThat(userRepository.findAllById(ids)).isEmpty();
+        Long authorities = jdbcTemplate.queryForObject(
+            "select count(*) from jhi_user_authority where user_id in (" + ids.get(0) + ", " + ids.get(4) + ")",
+            Long.class
+        );
+        assertThat(authorities).isZero();
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get("purged0")).isNull();
+        assertThat(meterRegistry.counter("users.purge.deleted").count()).isEqualTo(deletedBefore + 5);
+        assertThat(meterRegistry.timer("users.purge").count()).isEqualTo(purgesBefore + 1);
+    }
+
     @Test
     @Transactional
     void assertThatNotActivatedUsersWithNullActivationKeyCreatedBefore3DaysAreNotDeleted() {
@@ -0,0 +1,279 @@
+package com.boostclient.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.boostclient.IntegrationTest;
+import com.boostclient.config.ApplicationProperties;
+import com.boostclient.domain.Employee;
+import com.boostclient.domain.EmployeeImport;
+import com.boostclient.domain.Employer;
+import com.boostclient.domain.enumeration.ImportStatus;
+import com.boostclient.repository.EmployeeImportRepository;
+import com.boostclient.repository.EmployeeRepository;
+import com.boostclient.repository.EmployerRepository;
+import com.boostclient.service.EmployeeImportService;
+import com.boostclient.service.EmployerStatsService;
+import com.boostclient.service.EntityChangeWriter;
+import com.boostclient.service.SearchService;
+import com.boostclient.service.dto.EmployeeSummaryDTO;
+import com.boostclient.service.dto.EmployerSummaryDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Integration tests for the {@link EmployeeImportResource} REST controller.
+ * <p>
+ * Imports commit their own transactions, so these tests are not transactional and clean up after themselves.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class EmployeeImportResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/employee-imports";
+    private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+
+    @Autowired
+    private EmployeeImportService employeeImportService;
+
+    @Autowired
+    private EmployeeImportRepository employeeImportRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployerRepository employerRepository;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private EmployerStatsService employerStatsService;
+
+    @Autowired
+    private EntityChangeWriter entityChangeWriter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("employeeImportTaskExecutor")
+    private Executor employeeImportTaskExecutor;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MockMvc restEmployeeImportMockMvc;
+
+    private Employer employer;
+
+    @BeforeEach
+    public void initTest() {
+        employer = employerRepository.saveAndFlush(new Employer().name("roster-employer"));
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        employeeRepository.deleteAll(employeeRepository.findAll(EmployeeRepository.employerIs(employer.getId())));
+        employerRepository.deleteById(employer.getId());
+        employeeImportRepository.deleteAll();
+    }
+
+    @Test
+    void importRoster() throws Exception {
+        String roster =
+            "id;name;date_of_birth;employer_id\n" +
+            "1;first;2021-05-23;" +
+            employer.getId() +
+            "\n" +
+            "2;\"second; quoted\";2021-05-24;roster-employer\n" +
+            "3;invalid date;23/05/2021;" +
+            employer.getId() +
+            "\n" +
+            "4;unknown employer;2021-05-24;nobody\n";
+        MockMultipartFile file = new MockMultipartFile("file", "roster.csv", "text/csv", roster.getBytes(StandardCharsets.UTF_8));
+
+        String response = restEmployeeImportMockMvc
+            .perform(multipart(ENTITY_API_URL).file(file))
+            .andExpect(status().isAccepted())
+            .andExpect(jsonPath("$.fileName").value("roster.csv"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        Long id = objectMapper.readValue(response, EmployeeImport.class).getId();
+
+        EmployeeImport employeeImport = awaitFinished(id);
+        assertThat(employeeImport.getStatus()).isEqualTo(ImportStatus.COMPLETED);
+        assertThat(employeeImport.getProcessedLines()).isEqualTo(4);
+        assertThat(employeeImport.getImportedRows()).isEqualTo(2);
+        assertThat(employeeImport.getFailedRows()).isEqualTo(2);
+        assertThat(employeeImport.getLastError()).startsWith("line 5:");
+        assertThat(importedNames()).containsExactlyInAnyOrder("first", "second; quoted");
+        assertThat(searchService.searchEmployees("second quot", PageRequest.of(0, 20)))
+            .extracting(EmployeeSummaryDTO::getEmployer)
+            .extracting(EmployerSummaryDTO::getName)
+            .containsExactly("roster-employer");
+
+        restEmployeeImportMockMvc
+            .perform(get(ENTITY_API_URL_ID, id))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("COMPLETED"))
+            .andExpect(jsonPath("$.importedRows").value(2));
+    }
+
+    @Test
+    void resumeImportAfterLastCommittedChunk() throws Exception {
+        String roster = "name;date_of_birth;employer\n" + "committed;2021-05-23;roster-employer\n" + "pending;2021-05-24;roster-employer\n";
+        EmployeeImport employeeImport = employeeImportService.create(
+            "roster.csv",
+            new ByteArrayInputStream(roster.getBytes(StandardCharsets.UTF_8))
+        );
+        // Simulate a crash after the first line was committed, long enough ago for the heartbeat to be stale
+        employeeImport.setStatus(ImportStatus.RUNNING);
+        employeeImport.setOwner("crashed");
+        employeeImport.setHeartbeat(Instant.now().minus(Duration.ofHours(1)));
+        employeeImport.setProcessedLines(1L);
+        employeeImportRepository.saveAndFlush(employeeImport);
+
+        employeeImportService.process(employeeImport.getId());
+
+        assertThat(employeeImportRepository.findById(employeeImport.getId()).get().getStatus()).isEqualTo(ImportStatus.COMPLETED);
+        assertThat(importedNames()).containsExactly("pending");
+    }
+
+    @Test
+    void runImportReceivedByAnotherNode() throws Exception {
+        String roster = "name;date_of_birth;employer\n" + "second node;2021-05-23;roster-employer\n";
+        EmployeeImport employeeImport = employeeImportService.create(
+            "roster.csv",
+            new ByteArrayInputStream(roster.getBytes(StandardCharsets.UTF_8))
+        );
+        EmployeeImportService secondNode = new EmployeeImportService(
+            employeeImportRepository,
+            employerStatsService,
+            entityChangeWriter,
+            jdbcTemplate,
+            transactionManager,
+            employeeImportTaskExecutor,
+            applicationProperties,
+            searchService
+        );
+
+        // The second node claims the import first, and reads the roster stored by the receiving node
+        secondNode.process(employeeImport.getId());
+        employeeImportService.process(employeeImport.getId());
+
+        EmployeeImport testImport = employeeImportRepository.findById(employeeImport.getId()).get();
+        assertThat(testImport.getStatus()).isEqualTo(ImportStatus.COMPLETED);
+        assertThat(testImport.getImportedRows()).isEqualTo(1);
+        assertThat(importedNames()).containsExactly("second node");
+        // The stored roster is removed with the completed import
+        Long storedFiles = jdbcTemplate.queryForObject(
+            "select count(*) from employee_import_file where employee_import_id = ?",
+            Long.class,
+            employeeImport.getId()
+        );
+        assertThat(storedFiles).isZero();
+    }
+
+    @Test
+    void doNotProcessImportRunningElsewhere() throws Exception {
+        EmployeeImport employeeImport = runningElsewhere();
+
+        employeeImportService.process(employeeImport.getId());
+
+        EmployeeImport testImport = employeeImportRepository.findById(employeeImport.getId()).get();
+        assertThat(testImport.getStatus()).isEqualTo(ImportStatus.RUNNING);
+        assertThat(testImport.getOwner()).isEqualTo("elsewhere");
+        assertThat(testImport.getProcessedLines()).isZero();
+        assertThat(importedNames()).isEmpty();
+    }
+
+    @Test
+    void resumeRunningImportIsConflict() throws Exception {
+        EmployeeImport employeeImport = runningElsewhere();
+
+        restEmployeeImportMockMvc
+            .perform(post(ENTITY_API_URL_ID + "/resume", employeeImport.getId()))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.message").value("error.importrunning"));
+    }
+
+    @Test
+    void importRosterWithoutRequiredColumns() throws Exception {
+        EmployeeImport employeeImport = employeeImportService.create(
+            "roster.csv",
+            new ByteArrayInputStream("id;name\n1;first\n".getBytes(StandardCharsets.UTF_8))
+        );
+
+        employeeImportService.process(employeeImport.getId());
+
+        EmployeeImport testImport = employeeImportRepository.findById(employeeImport.getId()).get();
+        assertThat(testImport.getStatus()).isEqualTo(ImportStatus.FAILED);
+        assertThat(testImport.getLastError()).contains("date_of_birth");
+    }
+
+    @Test
+    void getNonExistingEmployeeImport() throws Exception {
+        restEmployeeImportMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    private EmployeeImport runningElsewhere() {
+        String roster = "name;date_of_birth;employer\n" + "elsewhere;2021-05-23;roster-employer\n";
+        EmployeeImport employeeImport = employeeImportService.create(
+            "roster.csv",
+            new ByteArrayInputStream(roster.getBytes(StandardCharsets.UTF_8))
+        );
+        employeeImport.setStatus(ImportStatus.RUNNING);
+        employeeImport.setOwner("elsewhere");
+        employeeImport.setHeartbeat(Instant.now());
+        return employeeImportRepository.saveAndFlush(employeeImport);
+    }
+
+    private EmployeeImport awaitFinished(Long id) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            EmployeeImport employeeImport = employeeImportRepository.findById(id).get();
+            if (employeeImport.getStatus() == ImportStatus.COMPLETED || employeeImport.getStatus() == ImportStatus.FAILED) {
+                return employeeImport;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("EmployeeImport " + id + " did not finish");
+    }
+
+    private List<String> importedNames() {
+        return employeeRepository
+            .findAll(EmployeeRepository.employerIs(employer.getId()))
+            .stream()
+            .map(Employee::getName)
+            .collect(Collectors.toList());
+    }
+}
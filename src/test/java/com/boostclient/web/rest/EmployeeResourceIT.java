@@ -1,7 +1,9 @@
 package com.boostclient.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -9,19 +11,24 @@ import com.boostclient.IntegrationTest;
 import com.boostclient.domain.Employee;
 import com.boostclient.domain.Employer;
 import com.boostclient.repository.EmployeeRepository;
+import java.net.URI;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.persistence.EntityManager;
+import org.hibernate.search.mapper.orm.Search;
+import org.hibernate.search.mapper.orm.work.SearchIndexingPlan;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -184,7 +191,146 @@ class EmployeeResourceIT {
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(employee.getId().intValue())))
             .andExpect(jsonPath("$.[*].name").value(hasItem(DEFAULT_NAME)))
-            .andExpect(jsonPath("$.[*].dateOfBirth").value(hasItem(DEFAULT_DATE_OF_BIRTH.toString())));
+            .andExpect(jsonPath("$.[*].dateOfBirth").value(hasItem(DEFAULT_DATE_OF_BIRTH.toString())))
+            .andExpect(header().exists("X-Total-Count"));
+    }
+
+    @Test
+    @Transactional
+    void getAllEmployeesByEmployer() throws Exception {
+        // Initialize the database
+        employeeRepository.saveAndFlush(employee);
+        Employer otherEmployer = EmployerResourceIT.createUpdatedEntity(em);
+        em.persist(otherEmployer);
+        Employee otherEmployee = createEntity(em).employer(otherEmployer);
+        employeeRepository.saveAndFlush(otherEmployee);
+
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL + "?employerId={id}", employee.getEmployer().getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(employee.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(otherEmployee.getId().intValue()))));
+    }
+
+    @Test
+    @Transactional
+    void getAllEmployeesByNamePrefix() throws Exception {
+        // Initialize the database
+        employeeRepository.saveAndFlush(employee);
+
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL + "?namePrefix={prefix}", DEFAULT_NAME.substring(0, 3)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(employee.getId().intValue())));
+
+        // Wildcards in the prefix are matched literally
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL + "?namePrefix={prefix}", "%"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(employee.getId().intValue()))));
+    }
+
+    @Test
+    @Transactional
+    void getAllEmployeesByDateOfBirthRange() throws Exception {
+        // Initialize the database
+        employeeRepository.saveAndFlush(employee);
+
+        restEmployeeMockMvc
+            .perform(
+                get(ENTITY_API_URL + "?dateOfBirthFrom={from}&dateOfBirthTo={to}", DEFAULT_DATE_OF_BIRTH, DEFAULT_DATE_OF_BIRTH.plusDays(1))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(employee.getId().intValue())));
+
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL + "?dateOfBirthFrom={from}", DEFAULT_DATE_OF_BIRTH.plusDays(1)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(employee.getId().intValue()))));
+    }
+
+    @Test
+    @Transactional
+    void getAllEmployeesAfterKeyset() throws Exception {
+        // Initialize the database
+        employeeRepository.saveAndFlush(employee);
+        Employee nextEmployee = createEntity(em).name(UPDATED_NAME);
+        employeeRepository.saveAndFlush(nextEmployee);
+
+        restEmployeeMockMvc
+            .perform(
+                get(
+                    ENTITY_API_URL + "?employerId={employerId}&afterName={name}&afterId={id}",
+                    employee.getEmployer().getId(),
+                    DEFAULT_NAME,
+                    employee.getId()
+                )
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(nextEmployee.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(employee.getId().intValue()))))
+            .andExpect(header().doesNotExist("X-Total-Count"));
+
+        // A page of one has a next link pointing past its last employee
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL + "?size=1&employerId={employerId}&afterName=&afterId=0", employee.getEmployer().getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(employee.getId().intValue()))
+            .andExpect(header().string("Link", containsString("afterId=" + employee.getId())));
+    }
+
+    @Test
+    @Transactional
+    void getAllEmployeesAfterKeysetLinksTheNextPageEncodedOnce() throws Exception {
+        // Initialize the database
+        employeeRepository.saveAndFlush(createEntity(em).name("Zanzibar Ann"));
+        employeeRepository.saveAndFlush(createEntity(em).name("Zanzibar Bo+b"));
+        Employee last = employeeRepository.saveAndFlush(createEntity(em).name("Zanzibar Cy"));
+
+        String link = restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL + "?size=1&namePrefix={prefix}&afterName=&afterId=0", "Zanzibar "))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].name").value("Zanzibar Ann"))
+            .andReturn()
+            .getResponse()
+            .getHeader("Link");
+        assertThat(link).contains("namePrefix=Zanzibar%20&").contains("afterName=Zanzibar%20Ann&");
+
+        // Following the links pages through the filtered employees, names with reserved characters included
+        String next = link.substring(link.indexOf("/api/"), link.indexOf('>'));
+        next = restEmployeeMockMvc
+            .perform(get(URI.create(next)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].name").value("Zanzibar Bo+b"))
+            .andReturn()
+            .getResponse()
+            .getHeader("Link");
+        next = next.substring(next.indexOf("/api/"), next.indexOf('>'));
+        restEmployeeMockMvc
+            .perform(get(URI.create(next)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(last.getId().intValue()))
+            .andExpect(header().doesNotExist("Link"));
+    }
+
+    @Test
+    @Transactional
+    void getAllEmployeesWithIncompleteKeyset() throws Exception {
+        restEmployeeMockMvc.perform(get(ENTITY_API_URL + "?afterId=1")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void exportEmployees() throws Exception {
+        MvcResult result = restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL + "/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        restEmployeeMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
     }
 
     @Test
@@ -200,7 +346,8 @@ class EmployeeResourceIT {
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.id").value(employee.getId().intValue()))
             .andExpect(jsonPath("$.name").value(DEFAULT_NAME))
-            .andExpect(jsonPath("$.dateOfBirth").value(DEFAULT_DATE_OF_BIRTH.toString()));
+            .andExpect(jsonPath("$.dateOfBirth").value(DEFAULT_DATE_OF_BIRTH.toString()))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
     }
 
     @Test
@@ -240,11 +387,46 @@ class EmployeeResourceIT {
         assertThat(testEmployee.getDateOfBirth()).isEqualTo(UPDATED_DATE_OF_BIRTH);
     }
 
+    @Test
+    @Transactional
+    void putEmployeeWithStaleVersion() throws Exception {
+        // Initialize the database
+        employeeRepository.saveAndFlush(employee);
+        em.detach(employee);
+
+        restEmployeeMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, employee.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"0\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(employee.name(UPDATED_NAME)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+        em.clear();
+
+        restEmployeeMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, employee.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"0\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(employee.name(DEFAULT_NAME)))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        // Validate the Employee in the database
+        em.clear();
+        Employee testEmployee = employeeRepository.findById(employee.getId()).get();
+        assertThat(testEmployee.getName()).isEqualTo(UPDATED_NAME);
+        assertThat(testEmployee.getVersion()).isEqualTo(1L);
+    }
+
     @Test
     @Transactional
     void putNonExistingEmployee() throws Exception {
         int databaseSizeBeforeUpdate = employeeRepository.findAll().size();
         employee.setId(count.incrementAndGet());
+        employee.setVersion(0L);
 
         // If the entity doesn't have an ID, it will throw BadRequestAlertException
         restEmployeeMockMvc
@@ -253,7 +435,8 @@ class EmployeeResourceIT {
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(TestUtil.convertObjectToJsonBytes(employee))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.idnotfound"));
 
         // Validate the Employee in the database
         List<Employee> employeeList = employeeRepository.findAll();
@@ -429,4 +612,62 @@ class EmployeeResourceIT {
         List<Employee> employeeList = employeeRepository.findAll();
         assertThat(employeeList).hasSize(databaseSizeBeforeDelete - 1);
     }
+
+    @Test
+    @Transactional
+    void deleteEmployees() throws Exception {
+        // Initialize the database
+        Employee first = employeeRepository.saveAndFlush(createEntity(em));
+        Employee second = employeeRepository.saveAndFlush(createEntity(em));
+        Employee kept = employeeRepository.saveAndFlush(createEntity(em));
+
+        int databaseSizeBeforeDelete = employeeRepository.findAll().size();
+
+        // Delete the employees, ignoring the unknown id
+        restEmployeeMockMvc
+            .perform(delete(ENTITY_API_URL + "?ids=" + first.getId() + "," + second.getId() + "," + Long.MAX_VALUE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.employees").value(2));
+
+        // Validate the database contains two less items
+        List<Employee> employeeList = employeeRepository.findAll();
+        assertThat(employeeList).hasSize(databaseSizeBeforeDelete - 2);
+        assertThat(employeeList).extracting(Employee::getId).contains(kept.getId()).doesNotContain(first.getId(), second.getId());
+    }
+
+    @Test
+    @Transactional
+    void searchEmployees() throws Exception {
+        // Initialize the database
+        employeeRepository.saveAndFlush(employee.name("Zoltan Quimby"));
+        // The test transaction is rolled back: index now, and remove from the index afterwards
+        SearchIndexingPlan indexingPlan = Search.session(em).indexingPlan();
+        indexingPlan.execute();
+
+        try {
+            // Search the employees
+            restEmployeeMockMvc
+                .perform(get("/api/_search/employees?q=zol qui&sort=name,asc"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(header().string("X-Total-Count", "1"))
+                .andExpect(jsonPath("$.[*].id").value(hasItem(employee.getId().intValue())))
+                .andExpect(jsonPath("$.[*].name").value(hasItem("Zoltan Quimby")))
+                .andExpect(jsonPath("$.[*].dateOfBirth").value(hasItem(DEFAULT_DATE_OF_BIRTH.toString())))
+                .andExpect(jsonPath("$.[*].employer.id").value(hasItem(employee.getEmployer().getId().intValue())))
+                .andExpect(jsonPath("$.[*].employer.name").value(hasItem(employee.getEmployer().getName())));
+
+            restEmployeeMockMvc.perform(get("/api/_search/employees?q=quimbyz")).andExpect(header().string("X-Total-Count", "0"));
+        } finally {
+            indexingPlan.purge(Employee.class, employee.getId(), null);
+            indexingPlan.purge(Employer.class, employee.getEmployer().getId(), null);
+            indexingPlan.execute();
+        }
+    }
+
+    @Test
+    @Transactional
+    void searchEmployeesWithUnknownSort() throws Exception {
+        restEmployeeMockMvc.perform(get("/api/_search/employees?q=zol&sort=employer,asc")).andExpect(status().isBadRequest());
+    }
 }
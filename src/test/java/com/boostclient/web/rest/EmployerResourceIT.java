@@ -1,24 +1,39 @@
 package com.boostclient.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.boostclient.IntegrationTest;
+import com.boostclient.domain.Employee;
 import com.boostclient.domain.Employer;
+import com.boostclient.domain.Quote;
+import com.boostclient.repository.EmployeeRepository;
 import com.boostclient.repository.EmployerRepository;
+import com.boostclient.repository.QuoteRepository;
+import com.jayway.jsonpath.JsonPath;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.hibernate.search.mapper.orm.Search;
+import org.hibernate.search.mapper.orm.work.SearchIndexingPlan;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -41,6 +56,12 @@ class EmployerResourceIT {
     @Autowired
     private EmployerRepository employerRepository;
 
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private QuoteRepository quoteRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -138,10 +159,388 @@ class EmployerResourceIT {
             .perform(get(ENTITY_API_URL + "?sort=id,desc"))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().string("X-Total-Count", String.valueOf(employerRepository.count())))
+            .andExpect(jsonPath("$.[0].id").value(employer.getId().intValue()))
             .andExpect(jsonPath("$.[*].id").value(hasItem(employer.getId().intValue())))
             .andExpect(jsonPath("$.[*].name").value(hasItem(DEFAULT_NAME)));
     }
 
+    @Test
+    @Transactional
+    void getAllEmployersByPage() throws Exception {
+        // Initialize the database
+        employerRepository.saveAndFlush(employer);
+        Employer otherEmployer = employerRepository.saveAndFlush(createUpdatedEntity(em));
+        int page = (int) employerRepository.count() - 1;
+
+        restEmployerMockMvc
+            .perform(get(ENTITY_API_URL + "?page=" + page + "&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(otherEmployer.getId().intValue()))
+            .andExpect(jsonPath("$.[0].name").value(UPDATED_NAME))
+            .andExpect(jsonPath("$.[0].version").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void getAllEmployersSortedByName() throws Exception {
+        String name = "sorted-" + count.incrementAndGet();
+        employerRepository.saveAndFlush(createEntity(em).name(name));
+        Employer lastEmployer = employerRepository.saveAndFlush(createEntity(em).name(name));
+
+        restEmployerMockMvc
+            .perform(get(ENTITY_API_URL + "?name=" + name + "&sort=name&sort=id,desc&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "2"))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(lastEmployer.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getAllEmployersSortedByAnUnknownProperty() throws Exception {
+        restEmployerMockMvc.perform(get(ENTITY_API_URL + "?sort=version")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void exportEmployers() throws Exception {
+        MvcResult result = restEmployerMockMvc
+            .perform(get(ENTITY_API_URL + "/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        restEmployerMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+    }
+
+    @Test
+    void getAllEmployersIsCachedUntilAnEmployerIsWritten() throws Exception {
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        boolean statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        Long id = null;
+        try {
+            // Not in a test transaction: the query cache is only invalidated when the writes are committed
+            String response = restEmployerMockMvc
+                .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(employer)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+            id = ((Number) JsonPath.read(response, "$.id")).longValue();
+
+            restEmployerMockMvc.perform(get(ENTITY_API_URL)).andExpect(jsonPath("$.[*].id").value(hasItem(id.intValue())));
+            statistics.clear();
+            restEmployerMockMvc.perform(get(ENTITY_API_URL)).andExpect(jsonPath("$.[*].id").value(hasItem(id.intValue())));
+            assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+
+            // Update: the cached results are stale
+            Employer updatedEmployer = createUpdatedEntity(em).id(id).version(((Number) JsonPath.read(response, "$.version")).longValue());
+            restEmployerMockMvc
+                .perform(
+                    put(ENTITY_API_URL_ID, id).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(updatedEmployer))
+                )
+                .andExpect(status().isOk());
+            statistics.clear();
+            restEmployerMockMvc
+                .perform(get(ENTITY_API_URL))
+                .andExpect(jsonPath("$.[?(@.id == " + id + ")].name").value(hasItem(UPDATED_NAME)));
+            assertThat(statistics.getQueryCacheHitCount()).isZero();
+            restEmployerMockMvc
+                .perform(get(ENTITY_API_URL + "?name=" + UPDATED_NAME))
+                .andExpect(jsonPath("$.[*].id").value(hasItem(id.intValue())));
+            restEmployerMockMvc
+                .perform(get(ENTITY_API_URL + "?name=" + DEFAULT_NAME))
+                .andExpect(jsonPath("$.[*].id").value(not(hasItem(id.intValue()))));
+
+            // Partial update, not written through Hibernate: the cached results are stale too
+            restEmployerMockMvc
+                .perform(
+                    patch(ENTITY_API_URL_ID, id)
+                        .contentType("application/merge-patch+json")
+                        .content(TestUtil.convertObjectToJsonBytes(new Employer().id(id).name(DEFAULT_NAME)))
+                )
+                .andExpect(status().isOk());
+            statistics.clear();
+            restEmployerMockMvc
+                .perform(get(ENTITY_API_URL + "?name=" + DEFAULT_NAME))
+                .andExpect(jsonPath("$.[*].id").value(hasItem(id.intValue())));
+            assertThat(statistics.getQueryCacheHitCount()).isZero();
+            restEmployerMockMvc
+                .perform(
+                    patch(ENTITY_API_URL_ID, id)
+                        .contentType("application/merge-patch+json")
+                        .content(TestUtil.convertObjectToJsonBytes(new Employer().id(id).name(UPDATED_NAME)))
+                )
+                .andExpect(status().isOk());
+
+            // Delete
+            restEmployerMockMvc.perform(delete(ENTITY_API_URL_ID, id)).andExpect(status().isNoContent());
+            restEmployerMockMvc
+                .perform(get(ENTITY_API_URL + "?name=" + UPDATED_NAME))
+                .andExpect(jsonPath("$.[*].id").value(not(hasItem(id.intValue()))));
+        } finally {
+            statistics.setStatisticsEnabled(statisticsEnabled);
+            if (id != null && employerRepository.existsById(id)) {
+                employerRepository.deleteById(id);
+            }
+        }
+    }
+
+    @Test
+    void suggestEmployers() throws Exception {
+        Long id = null;
+        try {
+            // Not in a test transaction: the suggestions are only updated when the writes are committed
+            String response = restEmployerMockMvc
+                .perform(
+                    post(ENTITY_API_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TestUtil.convertObjectToJsonBytes(employer.name("Quillon Zephyr Partners")))
+                )
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+            id = ((Number) JsonPath.read(response, "$.id")).longValue();
+
+            restEmployerMockMvc
+                .perform(get(ENTITY_API_URL + "/suggest?prefix=zeph"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(jsonPath("$.[*].id").value(hasItem(id.intValue())))
+                .andExpect(jsonPath("$.[*].name").value(hasItem("Quillon Zephyr Partners")));
+            restEmployerMockMvc.perform(get(ENTITY_API_URL + "/suggest?prefix=zeph&size=0")).andExpect(status().isBadRequest());
+
+            restEmployerMockMvc.perform(delete(ENTITY_API_URL_ID, id)).andExpect(status().isNoContent());
+            restEmployerMockMvc
+                .perform(get(ENTITY_API_URL + "/suggest?prefix=zeph"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].id").value(not(hasItem(id.intValue()))));
+        } finally {
+            if (id != null && employerRepository.existsById(id)) {
+                employerRepository.deleteById(id);
+            }
+        }
+    }
+
+    @Test
+    @Transactional
+    void getAllEmployerStats() throws Exception {
+        // Initialize the database
+        employerRepository.saveAndFlush(employer);
+
+        // An employer without employees nor quotes has zero counts
+        restEmployerMockMvc
+            .perform(get(ENTITY_API_URL + "/stats?sort=id,desc&size=" + Integer.MAX_VALUE))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(jsonPath("$.[?(@.id == " + employer.getId() + ")].name").value(hasItem(DEFAULT_NAME)))
+            .andExpect(jsonPath("$.[?(@.id == " + employer.getId() + ")].employeeCount").value(hasItem(0)))
+            .andExpect(jsonPath("$.[?(@.id == " + employer.getId() + ")].quoteCount").value(hasItem(0)));
+    }
+
+    @Test
+    @Transactional
+    void getAllEmployerStatsWithUnknownSortProperty() throws Exception {
+        restEmployerMockMvc.perform(get(ENTITY_API_URL + "/stats?sort=quoteCount,desc")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getEmployerStatsFollowsWrites() throws Exception {
+        // Initialize the database
+        employerRepository.saveAndFlush(employer);
+        Employer otherEmployer = createUpdatedEntity(em);
+        employerRepository.saveAndFlush(otherEmployer);
+
+        Employee employee = EmployeeResourceIT.createEntity(em).employer(employer);
+        restEmployerMockMvc
+            .perform(post("/api/employees").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(employee)))
+            .andExpect(status().isCreated());
+        for (LocalDate quoteDate : List.of(LocalDate.of(2020, 1, 1), LocalDate.of(2021, 6, 1))) {
+            Quote quote = QuoteResourceIT.createEntity(em).quoteDate(quoteDate).employer(employer);
+            restEmployerMockMvc
+                .perform(post("/api/quotes").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(quote)))
+                .andExpect(status().isCreated());
+        }
+
+        restEmployerMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/stats", employer.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.employeeCount").value(1))
+            .andExpect(jsonPath("$.quoteCount").value(2))
+            .andExpect(jsonPath("$.latestQuoteDate").value("2021-06-01"));
+
+        // Moving the latest quote to the other employer updates both
+        Quote latestQuote = quoteRepository
+            .findAll()
+            .stream()
+            .filter(quote -> quote.getQuoteDate().equals(LocalDate.of(2021, 6, 1)))
+            .findFirst()
+            .orElseThrow();
+        em.detach(latestQuote);
+        latestQuote.setEmployer(otherEmployer);
+        restEmployerMockMvc
+            .perform(
+                put("/api/quotes/{id}", latestQuote.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(latestQuote))
+            )
+            .andExpect(status().isOk());
+
+        restEmployerMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/stats", employer.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.employeeCount").value(1))
+            .andExpect(jsonPath("$.quoteCount").value(1))
+            .andExpect(jsonPath("$.latestQuoteDate").value("2020-01-01"));
+        restEmployerMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/stats", otherEmployer.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.employeeCount").value(0))
+            .andExpect(jsonPath("$.quoteCount").value(1))
+            .andExpect(jsonPath("$.latestQuoteDate").value("2021-06-01"));
+
+        // Moving the employee, and changing only the date of the moved quote
+        em.clear();
+        Employee savedEmployee = employeeRepository
+            .findAll()
+            .stream()
+            .filter(found -> found.getEmployer().getId().equals(employer.getId()))
+            .findFirst()
+            .orElseThrow();
+        em.clear();
+        restEmployerMockMvc
+            .perform(
+                put("/api/employees/{id}", savedEmployee.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(savedEmployee.employer(otherEmployer)))
+            )
+            .andExpect(status().isOk());
+        restEmployerMockMvc
+            .perform(
+                put("/api/quotes/{id}", latestQuote.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(latestQuote.version(1L).quoteDate(LocalDate.of(2019, 1, 1))))
+            )
+            .andExpect(status().isOk());
+
+        restEmployerMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/stats", employer.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.employeeCount").value(0))
+            .andExpect(jsonPath("$.quoteCount").value(1));
+        restEmployerMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/stats", otherEmployer.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.employeeCount").value(1))
+            .andExpect(jsonPath("$.quoteCount").value(1))
+            .andExpect(jsonPath("$.latestQuoteDate").value("2019-01-01"));
+
+        // Deleting the remaining quote of the employer leaves it without latest quote date
+        Long remainingQuoteId = quoteRepository.findIdsByEmployerId(employer.getId(), Pageable.unpaged()).get(0);
+        restEmployerMockMvc.perform(delete("/api/quotes/{id}", remainingQuoteId)).andExpect(status().isNoContent());
+
+        restEmployerMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/stats", employer.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.quoteCount").value(0))
+            .andExpect(jsonPath("$.latestQuoteDate").isEmpty());
+    }
+
+    @Test
+    @Transactional
+    void getNonExistingEmployerStats() throws Exception {
+        restEmployerMockMvc.perform(get(ENTITY_API_URL_ID + "/stats", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void getEmployerEmployees() throws Exception {
+        // Initialize the database
+        employerRepository.saveAndFlush(employer);
+        Employer otherEmployer = createUpdatedEntity(em);
+        em.persist(otherEmployer);
+        for (int i = 0; i < 3; i++) {
+            em.persist(EmployeeResourceIT.createEntity(em).name("employee-" + i).employer(employer));
+        }
+        Employee otherEmployee = EmployeeResourceIT.createEntity(em).employer(otherEmployer);
+        em.persist(otherEmployee);
+        em.flush();
+
+        restEmployerMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/employees?page=0&size=2&sort=name,asc", employer.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "3"))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].name").value("employee-0"))
+            .andExpect(jsonPath("$.[0].employer.id").value(employer.getId().intValue()));
+        restEmployerMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/employees?page=1&size=2&sort=name,asc", employer.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].name").value(contains("employee-2")));
+    }
+
+    @Test
+    @Transactional
+    void getNonExistingEmployerEmployees() throws Exception {
+        restEmployerMockMvc.perform(get(ENTITY_API_URL_ID + "/employees", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void getEmployerQuotes() throws Exception {
+        // Initialize the database
+        employerRepository.saveAndFlush(employer);
+        Employer otherEmployer = createUpdatedEntity(em);
+        em.persist(otherEmployer);
+        for (int i = 0; i < 4; i++) {
+            em.persist(QuoteResourceIT.createEntity(em).name("quote-" + i).quoteDate(LocalDate.of(2021, 3, 1 + i)).employer(employer));
+        }
+        em.persist(QuoteResourceIT.createEntity(em).quoteDate(LocalDate.of(2021, 3, 2)).employer(otherEmployer));
+        em.flush();
+
+        restEmployerMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/quotes?from=2021-03-02&to=2021-03-04&size=2", employer.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "3"))
+            .andExpect(jsonPath("$.[*].name").value(contains("quote-1", "quote-2")))
+            .andExpect(jsonPath("$.[0].employer.id").value(employer.getId().intValue()));
+        restEmployerMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/quotes?from=2021-03-02&to=2021-03-04&sort=quoteDate,desc", employer.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].name").value(contains("quote-3", "quote-2", "quote-1")));
+    }
+
+    @Test
+    @Transactional
+    void getEmployerQuotesWithInvalidRange() throws Exception {
+        employerRepository.saveAndFlush(employer);
+
+        restEmployerMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/quotes?from=2021-03-02", employer.getId()))
+            .andExpect(status().isBadRequest());
+        restEmployerMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/quotes?from=2021-03-02&to=2021-03-01", employer.getId()))
+            .andExpect(status().isBadRequest());
+        restEmployerMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/quotes?from=2021-03-01&to=2021-03-02&sort=employer.name", employer.getId()))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getNonExistingEmployerQuotes() throws Exception {
+        restEmployerMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/quotes?from=2021-03-01&to=2021-03-02", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
     @Test
     @Transactional
     void getEmployer() throws Exception {
@@ -154,7 +553,9 @@ class EmployerResourceIT {
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.id").value(employer.getId().intValue()))
-            .andExpect(jsonPath("$.name").value(DEFAULT_NAME));
+            .andExpect(jsonPath("$.name").value(DEFAULT_NAME))
+            .andExpect(jsonPath("$.employees").doesNotExist())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
     }
 
     @Test
@@ -193,6 +594,129 @@ class EmployerResourceIT {
         assertThat(testEmployer.getName()).isEqualTo(UPDATED_NAME);
     }
 
+    @Test
+    @Transactional
+    void putEmployerWithIfMatchWithoutReadingFirst() throws Exception {
+        // Initialize the database
+        employerRepository.saveAndFlush(employer);
+        em.detach(employer);
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        boolean statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            // The version of the If-Match header prevails over the one of the body
+            restEmployerMockMvc
+                .perform(
+                    put(ENTITY_API_URL_ID, employer.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TestUtil.convertObjectToJsonBytes(employer.name(UPDATED_NAME).version(41L)))
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.version").value(1));
+
+            // The versioned update, then the read of the updated row returned: neither an existence check nor a merge first
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        } finally {
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
+
+        // Validate the Employer in the database
+        em.clear();
+        Employer testEmployer = employerRepository.findById(employer.getId()).get();
+        assertThat(testEmployer.getName()).isEqualTo(UPDATED_NAME);
+        assertThat(testEmployer.getVersion()).isEqualTo(1L);
+        assertThat(testEmployer.getLastModifiedBy()).isEqualTo("user");
+    }
+
+    @Test
+    @Transactional
+    void putEmployerWithStaleVersion() throws Exception {
+        // Initialize the database
+        employerRepository.saveAndFlush(employer.name(UPDATED_NAME));
+        employerRepository.saveAndFlush(employer.name(DEFAULT_NAME));
+        em.detach(employer);
+
+        restEmployerMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, employer.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(employer.name(UPDATED_NAME).version(0L)))
+            )
+            .andExpect(status().isPreconditionFailed());
+        restEmployerMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, employer.getId())
+                    .header(HttpHeaders.IF_MATCH, "W/\"1\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(employer))
+            )
+            .andExpect(status().isPreconditionFailed());
+        restEmployerMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, employer.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(employer.version(null)))
+            )
+            .andExpect(status().isBadRequest());
+
+        // Validate the Employer in the database
+        Employer testEmployer = employerRepository.findById(employer.getId()).get();
+        assertThat(testEmployer.getName()).isEqualTo(DEFAULT_NAME);
+        assertThat(testEmployer.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void putKeepsTheAuditFieldsAndReferencesOfTheDatabase() throws Exception {
+        // Not transactional: each request commits, so the second-level cache is involved
+        Employer savedEmployer = employerRepository.saveAndFlush(employer);
+        Employee savedEmployee = employeeRepository.saveAndFlush(
+            new Employee().name(DEFAULT_NAME).dateOfBirth(LocalDate.of(1980, 1, 1)).employer(savedEmployer)
+        );
+        try {
+            em.getEntityManagerFactory().getCache().evictAll();
+            Employer storedEmployer = employerRepository.findById(savedEmployer.getId()).orElseThrow();
+            Employee storedEmployee = employeeRepository.findById(savedEmployee.getId()).orElseThrow();
+
+            restEmployerMockMvc
+                .perform(
+                    put(ENTITY_API_URL_ID, savedEmployer.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TestUtil.convertObjectToJsonBytes(new Employer().id(savedEmployer.getId()).version(0L).name(UPDATED_NAME)))
+                )
+                .andExpect(status().isOk());
+            // The request sends the employer of the employee with another name, and without its version
+            restEmployerMockMvc
+                .perform(
+                    put("/api/employees/{id}", savedEmployee.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(
+                            TestUtil.convertObjectToJsonBytes(
+                                storedEmployee.version(0L).employer(new Employer().id(savedEmployer.getId()).name(DEFAULT_NAME))
+                            )
+                        )
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employer.name").value(UPDATED_NAME))
+                .andExpect(jsonPath("$.employer.version").value(1));
+
+            Employer testEmployer = employerRepository.findById(savedEmployer.getId()).orElseThrow();
+            assertThat(testEmployer.getName()).isEqualTo(UPDATED_NAME);
+            assertThat(testEmployer.getCreatedBy()).isNotNull().isEqualTo(storedEmployer.getCreatedBy());
+            assertThat(testEmployer.getCreatedDate()).isEqualTo(storedEmployer.getCreatedDate());
+            Employee testEmployee = employeeRepository.findById(savedEmployee.getId()).orElseThrow();
+            assertThat(testEmployee.getCreatedBy()).isNotNull().isEqualTo(storedEmployee.getCreatedBy());
+            assertThat(testEmployee.getCreatedDate()).isEqualTo(storedEmployee.getCreatedDate());
+            assertThat(testEmployee.getVersion()).isEqualTo(1L);
+        } finally {
+            employeeRepository.deleteById(savedEmployee.getId());
+            employerRepository.deleteById(savedEmployer.getId());
+        }
+    }
+
     @Test
     @Transactional
     void putNonExistingEmployer() throws Exception {
@@ -278,6 +802,49 @@ class EmployerResourceIT {
         assertThat(testEmployer.getName()).isEqualTo(UPDATED_NAME);
     }
 
+    @Test
+    @Transactional
+    void partialUpdateEmployerWithIfMatch() throws Exception {
+        // Initialize the database
+        employerRepository.saveAndFlush(employer);
+
+        Employer partialUpdatedEmployer = new Employer().id(employer.getId()).name(UPDATED_NAME);
+        restEmployerMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, employer.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"0\"")
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedEmployer))
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+            .andExpect(jsonPath("$.name").value(UPDATED_NAME))
+            .andExpect(jsonPath("$.version").value(1));
+
+        // Stale versions, in If-Match or in the body
+        restEmployerMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, employer.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"0\"")
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedEmployer.name(DEFAULT_NAME)))
+            )
+            .andExpect(status().isPreconditionFailed());
+        restEmployerMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, employer.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedEmployer.version(0L)))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        // Validate the Employer in the database
+        Employer testEmployer = employerRepository.findById(employer.getId()).get();
+        assertThat(testEmployer.getName()).isEqualTo(UPDATED_NAME);
+        assertThat(testEmployer.getVersion()).isEqualTo(1L);
+        assertThat(testEmployer.getLastModifiedBy()).isEqualTo("user");
+    }
+
     @Test
     @Transactional
     void fullUpdateEmployerWithPatch() throws Exception {
@@ -380,4 +947,52 @@ class EmployerResourceIT {
         List<Employer> employerList = employerRepository.findAll();
         assertThat(employerList).hasSize(databaseSizeBeforeDelete - 1);
     }
+
+    @Test
+    @Transactional
+    void deleteEmployerWithEmployeesAndQuotes() throws Exception {
+        // Initialize the database
+        employerRepository.saveAndFlush(employer);
+        Employee employee = employeeRepository.saveAndFlush(EmployeeResourceIT.createEntity(em).employer(employer));
+        Quote quote = quoteRepository.saveAndFlush(QuoteResourceIT.createEntity(em).employer(employer));
+        quoteRepository.saveAndFlush(QuoteResourceIT.createEntity(em).employer(employer));
+
+        // Delete the employer with its employees and quotes
+        restEmployerMockMvc
+            .perform(delete(ENTITY_API_URL_ID + "?cascade=true", employer.getId()).accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.employers").value(1))
+            .andExpect(jsonPath("$.employees").value(1))
+            .andExpect(jsonPath("$.quotes").value(2));
+
+        // Validate the employer, its employees and its quotes are gone
+        em.clear();
+        assertThat(employerRepository.existsById(employer.getId())).isFalse();
+        assertThat(employeeRepository.existsById(employee.getId())).isFalse();
+        assertThat(quoteRepository.existsById(quote.getId())).isFalse();
+    }
+
+    @Test
+    @Transactional
+    void searchEmployers() throws Exception {
+        // Initialize the database
+        employerRepository.saveAndFlush(employer.name("Quimby Zoltan Holdings"));
+        // The test transaction is rolled back: index now, and remove from the index afterwards
+        SearchIndexingPlan indexingPlan = Search.session(em).indexingPlan();
+        indexingPlan.execute();
+
+        try {
+            // Search the employers
+            restEmployerMockMvc
+                .perform(get("/api/_search/employers?q=quim hold&sort=id,desc"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(header().string("X-Total-Count", "1"))
+                .andExpect(jsonPath("$.[*].id").value(hasItem(employer.getId().intValue())))
+                .andExpect(jsonPath("$.[*].name").value(hasItem("Quimby Zoltan Holdings")));
+        } finally {
+            indexingPlan.purge(Employer.class, employer.getId(), null);
+            indexingPlan.execute();
+        }
+    }
 }
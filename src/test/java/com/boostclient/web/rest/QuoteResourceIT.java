@@ -1,7 +1,10 @@
 package com.boostclient.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -9,19 +12,27 @@ import com.boostclient.IntegrationTest;
 import com.boostclient.domain.Employer;
 import com.boostclient.domain.Quote;
 import com.boostclient.repository.QuoteRepository;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.hibernate.search.mapper.orm.Search;
+import org.hibernate.search.mapper.orm.work.SearchIndexingPlan;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -117,6 +128,8 @@ class QuoteResourceIT {
         Quote testQuote = quoteList.get(quoteList.size() - 1);
         assertThat(testQuote.getName()).isEqualTo(DEFAULT_NAME);
         assertThat(testQuote.getQuoteDate()).isEqualTo(DEFAULT_QUOTE_DATE);
+        assertThat(testQuote.getCreatedBy()).isEqualTo("user");
+        assertThat(testQuote.getLastModifiedBy()).isEqualTo("user");
     }
 
     @Test
@@ -137,6 +150,58 @@ class QuoteResourceIT {
         assertThat(quoteList).hasSize(databaseSizeBeforeCreate);
     }
 
+    @Test
+    @Transactional
+    void saveQuotesInBatch() throws Exception {
+        // Initialize the database
+        quoteRepository.saveAndFlush(quote);
+        int databaseSizeBeforeCreate = quoteRepository.findAll().size();
+
+        Quote newQuote = createEntity(em);
+        Quote updatedQuote = createEntity(em)
+            .id(quote.getId())
+            .version(quote.getVersion())
+            .name(UPDATED_NAME)
+            .quoteDate(UPDATED_QUOTE_DATE);
+        Quote invalidQuote = createEntity(em).name(null);
+        Quote nonExistingQuote = createEntity(em).id(count.incrementAndGet()).version(0L);
+        Quote otherNewQuote = createEntity(em).name(UPDATED_NAME);
+        // Of the version the previous update replaced
+        Quote staleQuote = createEntity(em).id(quote.getId()).version(quote.getVersion());
+
+        restQuoteMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(newQuote, updatedQuote, invalidQuote, nonExistingQuote, otherNewQuote, staleQuote)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].status").value("CREATED"))
+            .andExpect(jsonPath("$.[0].id").isNumber())
+            .andExpect(jsonPath("$.[1].status").value("UPDATED"))
+            .andExpect(jsonPath("$.[1].id").value(quote.getId().intValue()))
+            .andExpect(jsonPath("$.[2].status").value("FAILED"))
+            .andExpect(jsonPath("$.[2].message").value(containsString("name")))
+            .andExpect(jsonPath("$.[3].status").value("FAILED"))
+            .andExpect(jsonPath("$.[3].message").value(containsString("id")))
+            .andExpect(jsonPath("$.[4].status").value("CREATED"))
+            .andExpect(jsonPath("$.[4].id").isNumber())
+            .andExpect(jsonPath("$.[5].status").value("FAILED"))
+            .andExpect(jsonPath("$.[5].message").value(containsString("version")));
+
+        // Validate the Quotes in the database
+        em.clear();
+        assertThat(quoteRepository.findAll()).hasSize(databaseSizeBeforeCreate + 2);
+        Quote testQuote = quoteRepository.findById(quote.getId()).get();
+        assertThat(testQuote.getName()).isEqualTo(UPDATED_NAME);
+        assertThat(testQuote.getQuoteDate()).isEqualTo(UPDATED_QUOTE_DATE);
+        assertThat(testQuote.getLastModifiedBy()).isEqualTo("user");
+        assertThat(testQuote.getLastModifiedDate()).isCloseTo(Instant.now(), within(1, ChronoUnit.MINUTES));
+        Quote createdQuote = quoteRepository.findAll().get(databaseSizeBeforeCreate);
+        assertThat(createdQuote.getCreatedBy()).isEqualTo("user");
+        assertThat(createdQuote.getCreatedDate()).isCloseTo(Instant.now(), within(1, ChronoUnit.MINUTES));
+    }
+
     @Test
     @Transactional
     void checkNameIsRequired() throws Exception {
@@ -184,7 +249,120 @@ class QuoteResourceIT {
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(quote.getId().intValue())))
             .andExpect(jsonPath("$.[*].name").value(hasItem(DEFAULT_NAME)))
-            .andExpect(jsonPath("$.[*].quoteDate").value(hasItem(DEFAULT_QUOTE_DATE.toString())));
+            .andExpect(jsonPath("$.[*].quoteDate").value(hasItem(DEFAULT_QUOTE_DATE.toString())))
+            .andExpect(header().exists("X-Total-Count"));
+    }
+
+    @Test
+    @Transactional
+    void getAllQuotesReadsEmployersInTheSameStatement() throws Exception {
+        // Initialize the database with quotes of several employers
+        Employer employer = null;
+        for (int i = 0; i < 3; i++) {
+            employer = EmployerResourceIT.createEntity(em);
+            em.persist(employer);
+            em.persist(createEntity(em).employer(employer));
+        }
+        em.flush();
+        em.clear();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        boolean statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            restQuoteMockMvc
+                .perform(get(ENTITY_API_URL + "?size=20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].employer.id").value(hasItem(employer.getId().intValue())));
+
+            // A single statement whatever the number of employers: the page is not full, so no count query is needed either
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        } finally {
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
+    }
+
+    @Test
+    @Transactional
+    void getAllQuotesWithUnknownSortProperty() throws Exception {
+        restQuoteMockMvc.perform(get(ENTITY_API_URL + "?sort=employer.name,asc")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllQuotesAfterKeyset() throws Exception {
+        // Initialize the database
+        quoteRepository.saveAndFlush(quote);
+        Quote laterQuote = createEntity(em).quoteDate(UPDATED_QUOTE_DATE);
+        quoteRepository.saveAndFlush(laterQuote);
+
+        // Get the quotes after the first one
+        restQuoteMockMvc
+            .perform(get(ENTITY_API_URL + "?afterQuoteDate={date}&afterId={id}", DEFAULT_QUOTE_DATE, quote.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(laterQuote.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(quote.getId().intValue()))))
+            .andExpect(header().doesNotExist("X-Total-Count"));
+
+        // A page of one has a next link pointing past its last quote
+        restQuoteMockMvc
+            .perform(get(ENTITY_API_URL + "?size=1&afterQuoteDate={date}&afterId={id}", DEFAULT_QUOTE_DATE.minusDays(1), 0))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(quote.getId().intValue()))
+            .andExpect(header().string("Link", containsString("afterId=" + quote.getId())));
+    }
+
+    @Test
+    @Transactional
+    void getAllQuotesWithIncompleteKeyset() throws Exception {
+        restQuoteMockMvc.perform(get(ENTITY_API_URL + "?afterId=1")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllQuotesInDateRange() throws Exception {
+        // Initialize the database
+        quoteRepository.saveAndFlush(quote);
+        Quote laterQuote = createEntity(em).quoteDate(DEFAULT_QUOTE_DATE.plusDays(1));
+        quoteRepository.saveAndFlush(laterQuote);
+        Quote lastQuote = createEntity(em).quoteDate(DEFAULT_QUOTE_DATE.plusDays(2));
+        quoteRepository.saveAndFlush(lastQuote);
+
+        // Get the quotes of the first two days
+        restQuoteMockMvc
+            .perform(get(ENTITY_API_URL + "?from={from}&to={to}", DEFAULT_QUOTE_DATE, DEFAULT_QUOTE_DATE.plusDays(1)))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(quote.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(laterQuote.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(lastQuote.getId().intValue()))))
+            .andExpect(header().exists("X-Total-Count"));
+    }
+
+    @Test
+    @Transactional
+    void getAllQuotesWithInvalidDateRange() throws Exception {
+        restQuoteMockMvc.perform(get(ENTITY_API_URL + "?to=2021-03-01")).andExpect(status().isBadRequest());
+        restQuoteMockMvc.perform(get(ENTITY_API_URL + "?from=2021-03-02&to=2021-03-01")).andExpect(status().isBadRequest());
+        restQuoteMockMvc
+            .perform(get(ENTITY_API_URL + "?from=2021-03-01&to=2021-03-02&afterQuoteDate=2021-03-01&afterId=1"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void exportQuotes() throws Exception {
+        MvcResult result = restQuoteMockMvc
+            .perform(get(ENTITY_API_URL + "/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        restQuoteMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
     }
 
     @Test
@@ -200,7 +378,8 @@ class QuoteResourceIT {
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.id").value(quote.getId().intValue()))
             .andExpect(jsonPath("$.name").value(DEFAULT_NAME))
-            .andExpect(jsonPath("$.quoteDate").value(DEFAULT_QUOTE_DATE.toString()));
+            .andExpect(jsonPath("$.quoteDate").value(DEFAULT_QUOTE_DATE.toString()))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
     }
 
     @Test
@@ -240,11 +419,46 @@ class QuoteResourceIT {
         assertThat(testQuote.getQuoteDate()).isEqualTo(UPDATED_QUOTE_DATE);
     }
 
+    @Test
+    @Transactional
+    void putQuoteWithStaleVersion() throws Exception {
+        // Initialize the database
+        quoteRepository.saveAndFlush(quote);
+        em.detach(quote);
+
+        restQuoteMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, quote.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"0\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(quote.name(UPDATED_NAME)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+        em.clear();
+
+        restQuoteMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, quote.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"0\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(quote.name(DEFAULT_NAME)))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        // Validate the Quote in the database
+        em.clear();
+        Quote testQuote = quoteRepository.findById(quote.getId()).get();
+        assertThat(testQuote.getName()).isEqualTo(UPDATED_NAME);
+        assertThat(testQuote.getVersion()).isEqualTo(1L);
+    }
+
     @Test
     @Transactional
     void putNonExistingQuote() throws Exception {
         int databaseSizeBeforeUpdate = quoteRepository.findAll().size();
         quote.setId(count.incrementAndGet());
+        quote.setVersion(0L);
 
         // If the entity doesn't have an ID, it will throw BadRequestAlertException
         restQuoteMockMvc
@@ -253,7 +467,8 @@ class QuoteResourceIT {
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(TestUtil.convertObjectToJsonBytes(quote))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.idnotfound"));
 
         // Validate the Quote in the database
         List<Quote> quoteList = quoteRepository.findAll();
@@ -427,4 +642,53 @@ class QuoteResourceIT {
         List<Quote> quoteList = quoteRepository.findAll();
         assertThat(quoteList).hasSize(databaseSizeBeforeDelete - 1);
     }
+
+    @Test
+    @Transactional
+    void deleteQuotes() throws Exception {
+        // Initialize the database
+        Quote first = quoteRepository.saveAndFlush(createEntity(em));
+        Quote second = quoteRepository.saveAndFlush(createEntity(em));
+        Quote kept = quoteRepository.saveAndFlush(createEntity(em));
+
+        int databaseSizeBeforeDelete = quoteRepository.findAll().size();
+
+        // Delete the quotes, ignoring the unknown id
+        restQuoteMockMvc
+            .perform(delete(ENTITY_API_URL + "?ids=" + first.getId() + "," + second.getId() + "," + Long.MAX_VALUE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.quotes").value(2));
+
+        // Validate the database contains two less items
+        List<Quote> quoteList = quoteRepository.findAll();
+        assertThat(quoteList).hasSize(databaseSizeBeforeDelete - 2);
+        assertThat(quoteList).extracting(Quote::getId).contains(kept.getId()).doesNotContain(first.getId(), second.getId());
+    }
+
+    @Test
+    @Transactional
+    void searchQuotes() throws Exception {
+        // Initialize the database
+        quoteRepository.saveAndFlush(quote.name("Zoltan dental cover"));
+        // The test transaction is rolled back: index now, and remove from the index afterwards
+        SearchIndexingPlan indexingPlan = Search.session(em).indexingPlan();
+        indexingPlan.execute();
+
+        try {
+            // Search the quotes
+            restQuoteMockMvc
+                .perform(get("/api/_search/quotes?q=zoltan dent&sort=quoteDate,desc"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(header().string("X-Total-Count", "1"))
+                .andExpect(jsonPath("$.[*].id").value(hasItem(quote.getId().intValue())))
+                .andExpect(jsonPath("$.[*].name").value(hasItem("Zoltan dental cover")))
+                .andExpect(jsonPath("$.[*].quoteDate").value(hasItem(DEFAULT_QUOTE_DATE.toString())))
+                .andExpect(jsonPath("$.[*].employer.id").value(hasItem(quote.getEmployer().getId().intValue())));
+        } finally {
+            indexingPlan.purge(Quote.class, quote.getId(), null);
+            indexingPlan.purge(Employer.class, quote.getEmployer().getId(), null);
+            indexingPlan.execute();
+        }
+    }
 }